@@ -0,0 +1,185 @@
+package com.example.y_eng_backend.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Limit on requests in flight that follows latency (a gradient limiter). Latencies are averaged
+// over short windows and each window is compared with a baseline, the lowest window average seen:
+// what a request costs when it does not queue. While a window stays within tolerance x the baseline
+// the limit grows by about sqrt(limit); once it rises past that the limit is scaled down by
+// tolerance x baseline / latency (at most halved per window). Queueing inside the service, for
+// example for database connections, shows up as latency long before threads or the pool run out.
+//
+// Under steady overload every window is queued, so the baseline can't simply be re-learned from
+// recent windows. Once a probe period has passed in which some window ran over tolerance, the
+// limit is halved for two windows instead: the first lets the queue drain, the second measures the
+// new baseline, then the limit goes back. That is how a service that got slower for good (bigger
+// tables, a slower database) gets a higher baseline. While every window stays within tolerance
+// there is nothing to re-learn and no probe: halving a limit that healthy traffic fills would shed
+// the low-share classes for nothing.
+//
+// Thread safe. Acquire and release are lock free; the window is closed by whichever release
+// crosses its end.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int PROBE_WINDOWS = 2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final long probeNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    private final ReentrantLock windowLock = new ReentrantLock();
+    private final AtomicLong windowEnd;
+    private final LongAdder windowLatencyNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowPeakInFlight = new AtomicInteger();
+
+    // Guarded by windowLock
+    private long nextProbe;
+    private int probeWindowsLeft;
+    private double limitBeforeProbe;
+    private boolean overToleranceSinceProbe;
+
+    private volatile double baseline;
+    private volatile double lastWindow;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double smoothing, long windowMillis, long probeMillis, int minWindowSamples) {
+        this(initialLimit, minLimit, maxLimit, tolerance, smoothing, windowMillis, probeMillis, minWindowSamples,
+                System.nanoTime());
+    }
+
+    // startNanos on the System.nanoTime() scale; tests pass their own clock
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                               long windowMillis, long probeMillis, int minWindowSamples, long startNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits need 1 <= min-limit <= max-limit");
+        }
+        if (tolerance < 1 || smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Concurrency limiter needs tolerance >= 1 and smoothing in (0, 1]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.probeNanos = TimeUnit.MILLISECONDS.toNanos(probeMillis);
+        this.minWindowSamples = minWindowSamples;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.windowEnd = new AtomicLong(startNanos + windowNanos);
+        this.nextProbe = startNanos + probeNanos;
+    }
+
+    // Takes a slot if fewer than share x limit requests are in flight
+    public boolean tryAcquire(double share) {
+        int allowed = limitFor(share);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowPeakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    // Gives the slot back; latencyNanos < 0 when the request should not count as a sample
+    public void release(long latencyNanos) {
+        release(latencyNanos, System.nanoTime());
+    }
+
+    public void release(long latencyNanos, long now) {
+        inFlight.decrementAndGet();
+        if (latencyNanos < 0) {
+            return;
+        }
+        windowLatencyNanos.add(latencyNanos);
+        windowSamples.increment();
+        if (now - windowEnd.get() >= 0 && windowSamples.sum() >= minWindowSamples && windowLock.tryLock()) {
+            try {
+                if (now - windowEnd.get() >= 0) {
+                    closeWindow(now);
+                }
+            } finally {
+                windowLock.unlock();
+            }
+        }
+    }
+
+    public int limitFor(double share) {
+        return Math.max(1, (int) (limit * share));
+    }
+
+    private void closeWindow(long now) {
+        long samples = windowSamples.sumThenReset();
+        long latency = windowLatencyNanos.sumThenReset();
+        int peak = windowPeakInFlight.getAndSet(inFlight.get());
+        windowEnd.set(now + windowNanos);
+        if (samples == 0) {
+            return;
+        }
+        double windowAverage = (double) latency / samples;
+        lastWindow = windowAverage;
+
+        if (probeWindowsLeft > 0) {
+            if (--probeWindowsLeft == 0) {
+                baseline = windowAverage;
+                limit = limitBeforeProbe;
+                nextProbe = now + probeNanos;
+            }
+            return;
+        }
+        if (baseline == 0 || windowAverage < baseline) {
+            baseline = windowAverage;
+        }
+        double gradient = Math.clamp(tolerance * baseline / windowAverage, 0.5, 1.0);
+        overToleranceSinceProbe |= gradient < 1.0;
+        if (now - nextProbe >= 0) {
+            nextProbe = now + probeNanos;
+            if (overToleranceSinceProbe) {
+                overToleranceSinceProbe = false;
+                limitBeforeProbe = limit;
+                limit = Math.max(minLimit, limit / 2);
+                probeWindowsLeft = PROBE_WINDOWS;
+                return;
+            }
+        }
+
+        double current = limit;
+        double target = current * gradient + Math.sqrt(current);
+        // Traffic that stayed well below the limit says nothing about whether a higher one would be
+        // safe: don't let the limit run further ahead of what was actually used
+        if (target > current) {
+            target = Math.max(current, Math.min(target, 2.0 * peak));
+        }
+        limit = Math.clamp(current * (1 - smoothing) + target * smoothing, minLimit, maxLimit);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public double getBaselineMillis() {
+        return baseline / 1_000_000.0;
+    }
+
+    public double getLastWindowMillis() {
+        return lastWindow / 1_000_000.0;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.y_eng_backend.concurrency;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Sheds /api requests with a fast 503 once the adaptive concurrency limit is reached, before they
+// get to security, the controllers or the connection pool. Each request belongs to the first
+// priority class whose paths match (concurrency.classes and concurrency.class.<name>.* in
+// application.properties) and is only let in while fewer than share x limit requests are in
+// flight, so as the limit drops under load the low-share classes are turned away first.
+// Runs right after CorrelationIdFilter so rejections still carry a request id.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private Environment environment;
+
+    private boolean enabled;
+    private AdaptiveConcurrencyLimiter limiter;
+    private List<PriorityClass> classes = List.of();
+    private PriorityClass defaultClass;
+
+    @PostConstruct
+    void init() {
+        enabled = environment.getProperty("concurrency.enabled", Boolean.class, true);
+        limiter = new AdaptiveConcurrencyLimiter(
+                environment.getProperty("concurrency.initial-limit", Integer.class, 100),
+                environment.getProperty("concurrency.min-limit", Integer.class, 10),
+                environment.getProperty("concurrency.max-limit", Integer.class, 1000),
+                environment.getProperty("concurrency.tolerance", Double.class, 1.5),
+                environment.getProperty("concurrency.smoothing", Double.class, 0.2),
+                environment.getProperty("concurrency.window-ms", Long.class, 500L),
+                environment.getProperty("concurrency.probe-ms", Long.class, 30_000L),
+                environment.getProperty("concurrency.min-window-samples", Integer.class, 20));
+
+        List<PriorityClass> configured = new ArrayList<>();
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        for (String name : environment.getProperty("concurrency.classes", String[].class, new String[0])) {
+            String prefix = "concurrency.class." + name.trim() + ".";
+            List<PathPattern> patterns = new ArrayList<>();
+            for (String path : environment.getRequiredProperty(prefix + "paths", String[].class)) {
+                patterns.add(parser.parse(path.trim()));
+            }
+            Set<String> methods = new HashSet<>();
+            for (String method : environment.getProperty(prefix + "methods", String[].class, new String[0])) {
+                methods.add(method.trim().toUpperCase());
+            }
+            configured.add(new PriorityClass(name.trim(), patterns, methods,
+                    environment.getRequiredProperty(prefix + "share", Double.class)));
+        }
+        classes = Collections.unmodifiableList(configured);
+        defaultClass = new PriorityClass("default", List.of(), Set.of(),
+                environment.getProperty("concurrency.default-share", Double.class, 0.8));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Preflights and anything outside the API (actuator probes, static files) are never shed
+        return !enabled || "OPTIONS".equals(request.getMethod()) || !apiPath(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        PriorityClass priorityClass = findClass(request);
+        if (!limiter.tryAcquire(priorityClass.getShare())) {
+            priorityClass.recordRejected();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Server is busy, please retry\",\"retryAfterSeconds\":1}");
+            return;
+        }
+
+        priorityClass.recordAccepted();
+        long start = System.nanoTime();
+        long latency = -1;
+        try {
+            filterChain.doFilter(request, response);
+            // An event stream returns here once it is set up; how long it then stays open is not latency
+            if (!request.isAsyncStarted()) {
+                latency = System.nanoTime() - start;
+            }
+        } finally {
+            limiter.release(latency);
+        }
+    }
+
+    private PriorityClass findClass(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(apiPath(request));
+        String method = request.getMethod();
+        for (PriorityClass priorityClass : classes) {
+            if (priorityClass.matches(method, path)) {
+                return priorityClass;
+            }
+        }
+        return defaultClass;
+    }
+
+    private static String apiPath(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (!contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            uri = uri.substring(contextPath.length());
+        }
+        return uri;
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    // The configured classes followed by the default class
+    public List<PriorityClass> getClasses() {
+        List<PriorityClass> all = new ArrayList<>(classes);
+        all.add(defaultClass);
+        return all;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.y_eng_backend.concurrency;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+// A set of routes that may fill a share of the adaptive concurrency limit. Classes with a smaller
+// share are turned away first as the limit comes down.
+public class PriorityClass {
+
+    private final String name;
+    private final List<PathPattern> patterns;
+    private final Set<String> methods;
+    private final double share;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PriorityClass(String name, List<PathPattern> patterns, Set<String> methods, double share) {
+        if (share <= 0 || share > 1) {
+            throw new IllegalArgumentException("Priority class " + name + " needs a share in (0, 1]");
+        }
+        this.name = name;
+        this.patterns = patterns;
+        this.methods = methods;
+        this.share = share;
+    }
+
+    public boolean matches(String method, PathContainer path) {
+        if (!methods.isEmpty() && !methods.contains(method)) {
+            return false;
+        }
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void recordAccepted() {
+        accepted.increment();
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getShare() {
+        return share;
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
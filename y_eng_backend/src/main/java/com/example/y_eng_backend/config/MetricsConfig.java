@@ -0,0 +1,261 @@
+package com.example.y_eng_backend.config;
+
+import com.example.y_eng_backend.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.y_eng_backend.concurrency.ConcurrencyLimitFilter;
+import com.example.y_eng_backend.concurrency.PriorityClass;
+import com.example.y_eng_backend.datasource.ReadReplicaRoutingDataSource;
+import com.example.y_eng_backend.logging.AsyncJsonAppender;
+import com.example.y_eng_backend.security.jwt.JwtUtil;
+import com.example.y_eng_backend.security.ratelimit.RateLimitFilter;
+import com.example.y_eng_backend.security.ratelimit.RateLimitGroup;
+import com.example.y_eng_backend.security.revocation.TokenRevocationService;
+import com.example.y_eng_backend.service.dispatch.RepairDispatchService;
+import com.example.y_eng_backend.service.CategoryService;
+import com.example.y_eng_backend.service.ProductService;
+import com.example.y_eng_backend.service.events.ChangeEventBus;
+import com.example.y_eng_backend.service.invalidation.CacheInvalidationBus;
+import com.example.y_eng_backend.service.singleflight.SingleFlight;
+import com.example.y_eng_backend.service.sla.SlaMonitorService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Application meters next to what Actuator binds on its own (http.server.requests per route,
+// hikaricp.*, hibernate.*, jvm.*). Everything here reads counters the components already keep,
+// so scrapes never touch the database or take more than a short lock.
+@Configuration
+public class MetricsConfig {
+
+    // Verified-JWT cache: hit ratio = hits / (hits + misses)
+    @Bean
+    public MeterBinder jwtCacheMetrics(JwtUtil jwtUtil) {
+        return registry -> {
+            FunctionCounter.builder("jwt.verify.cache", jwtUtil, JwtUtil::getCacheHits)
+                    .description("Token verifications answered from the verified-claims cache")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("jwt.verify.cache", jwtUtil, JwtUtil::getCacheMisses)
+                    .description("Token verifications that needed a signature check")
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("jwt.verify.cache.size", jwtUtil, JwtUtil::getCacheSize)
+                    .description("Verified tokens currently cached")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenRevocationMetrics(TokenRevocationService tokenRevocationService) {
+        return registry -> {
+            Gauge.builder("jwt.revocation.entries", tokenRevocationService, s -> s.getStats().get("revokedTokens"))
+                    .tag("kind", "token")
+                    .register(registry);
+            Gauge.builder("jwt.revocation.entries", tokenRevocationService, s -> s.getStats().get("revokedUsers"))
+                    .tag("kind", "user")
+                    .register(registry);
+            FunctionCounter.builder("jwt.revocation.filter.positives", tokenRevocationService, s -> s.getStats().get("filterPositives"))
+                    .description("Bloom filter hits that were checked against the exact set")
+                    .register(registry);
+            FunctionCounter.builder("jwt.revocation.rejected", tokenRevocationService, s -> s.getStats().get("rejected"))
+                    .description("Requests carrying a revoked token")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder slaMetrics(SlaMonitorService slaMonitorService) {
+        return registry -> {
+            Gauge.builder("sla.timers.active", slaMonitorService, s -> s.getStats().get("activeTimers"))
+                    .register(registry);
+            Gauge.builder("sla.breaches.open", slaMonitorService, s -> s.getStats().get("openBreaches"))
+                    .register(registry);
+            FunctionCounter.builder("sla.breaches", slaMonitorService, s -> s.getStats().get("breached"))
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder dispatchMetrics(RepairDispatchService repairDispatchService) {
+        return registry -> {
+            Gauge.builder("dispatch.jobs", repairDispatchService, RepairDispatchService::queuedCount)
+                    .tag("state", "queued")
+                    .register(registry);
+            Gauge.builder("dispatch.jobs", repairDispatchService, RepairDispatchService::claimedCount)
+                    .tag("state", "claimed")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder changeEventMetrics(ChangeEventBus changeEventBus) {
+        return registry -> {
+            Gauge.builder("events.subscribers", changeEventBus, b -> b.getStats().get("userSubscribers"))
+                    .description("Open server-sent event streams")
+                    .tag("kind", "user")
+                    .register(registry);
+            Gauge.builder("events.subscribers", changeEventBus, b -> b.getStats().get("adminSubscribers"))
+                    .tag("kind", "admin")
+                    .register(registry);
+            FunctionCounter.builder("events.published", changeEventBus, b -> b.getStats().get("published"))
+                    .description("Order and repair changes fanned out to the streams")
+                    .register(registry);
+            FunctionCounter.builder("events.slow.disconnects", changeEventBus, b -> b.getStats().get("slowDisconnects"))
+                    .description("Streams closed because their buffer was full")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimitFilter rateLimitFilter) {
+        return registry -> {
+            for (RateLimitGroup group : rateLimitFilter.getGroups()) {
+                FunctionCounter.builder("ratelimit.rejected", group, RateLimitGroup::getRejected)
+                        .description("Requests answered with 429")
+                        .tag("group", group.getName())
+                        .register(registry);
+                Gauge.builder("ratelimit.keys", group, RateLimitGroup::getTrackedKeys)
+                        .tag("group", group.getName())
+                        .register(registry);
+            }
+        };
+    }
+
+    // Cross-node invalidation: traffic both ways and resyncs after missed messages
+    @Bean
+    public MeterBinder invalidationMetrics(CacheInvalidationBus cacheInvalidationBus) {
+        return registry -> {
+            FunctionCounter.builder("invalidation.messages", cacheInvalidationBus, s -> s.getStats().get("sentMessages"))
+                    .description("Invalidation messages sent and received (heartbeats included)")
+                    .tag("direction", "sent")
+                    .register(registry);
+            FunctionCounter.builder("invalidation.messages", cacheInvalidationBus, s -> s.getStats().get("receivedMessages"))
+                    .tag("direction", "received")
+                    .register(registry);
+            FunctionCounter.builder("invalidation.ids", cacheInvalidationBus, s -> s.getStats().get("sentIds"))
+                    .description("Record ids announced to and applied from other nodes")
+                    .tag("direction", "sent")
+                    .register(registry);
+            FunctionCounter.builder("invalidation.ids", cacheInvalidationBus, s -> s.getStats().get("receivedIds"))
+                    .tag("direction", "received")
+                    .register(registry);
+            FunctionCounter.builder("invalidation.resyncs", cacheInvalidationBus, s -> s.getStats().get("resyncs"))
+                    .description("Full reloads of local caches after missed messages or a reconnect")
+                    .register(registry);
+            Gauge.builder("invalidation.nodes", cacheInvalidationBus, s -> s.getStats().get("remoteNodes"))
+                    .description("Other nodes heard from within the last three heartbeats")
+                    .register(registry);
+        };
+    }
+
+    // Adaptive concurrency limit: the limit against requests in flight, and what each class may use
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(ConcurrencyLimitFilter concurrencyLimitFilter) {
+        return registry -> {
+            AdaptiveConcurrencyLimiter limiter = concurrencyLimitFilter.getLimiter();
+            Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive limit on API requests in flight")
+                    .register(registry);
+            Gauge.builder("concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .register(registry);
+            Gauge.builder("concurrency.latency", limiter, AdaptiveConcurrencyLimiter::getLastWindowMillis)
+                    .description("Average latency of the last closed window")
+                    .baseUnit("milliseconds")
+                    .tag("window", "last")
+                    .register(registry);
+            Gauge.builder("concurrency.latency", limiter, AdaptiveConcurrencyLimiter::getBaselineMillis)
+                    .description("Long-term latency the windows are compared with")
+                    .baseUnit("milliseconds")
+                    .tag("window", "baseline")
+                    .register(registry);
+            for (PriorityClass priorityClass : concurrencyLimitFilter.getClasses()) {
+                Gauge.builder("concurrency.class.limit", limiter, l -> l.limitFor(priorityClass.getShare()))
+                        .tag("class", priorityClass.getName())
+                        .register(registry);
+                FunctionCounter.builder("concurrency.requests", priorityClass, PriorityClass::getAccepted)
+                        .description("Requests let in or shed with 503")
+                        .tag("class", priorityClass.getName())
+                        .tag("result", "accepted")
+                        .register(registry);
+                FunctionCounter.builder("concurrency.requests", priorityClass, PriorityClass::getRejected)
+                        .tag("class", priorityClass.getName())
+                        .tag("result", "rejected")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder loggingMetrics() {
+        return registry -> {
+            FunctionCounter.builder("logging.async.events", AsyncJsonAppender.class, c -> AsyncJsonAppender.getWrittenCount())
+                    .tag("result", "written")
+                    .register(registry);
+            FunctionCounter.builder("logging.async.events", AsyncJsonAppender.class, c -> AsyncJsonAppender.getDroppedCount())
+                    .tag("result", "dropped")
+                    .register(registry);
+            FunctionCounter.builder("logging.async.events", AsyncJsonAppender.class, c -> AsyncJsonAppender.getSampledOutCount())
+                    .tag("result", "sampled_out")
+                    .register(registry);
+            Gauge.builder("logging.async.buffered", AsyncJsonAppender.class, c -> AsyncJsonAppender.getBufferedCount())
+                    .register(registry);
+        };
+    }
+
+    // Read routing (only when replicas are configured); per-pool numbers are under hikaricp.* by pool name
+    @Bean
+    public MeterBinder readReplicaMetrics(ObjectProvider<ReadReplicaRoutingDataSource> readReplicaRoutingDataSource) {
+        return registry -> readReplicaRoutingDataSource.ifAvailable(router -> {
+            FunctionCounter.builder("datasource.reads", router, ReadReplicaRoutingDataSource::getReplicaReads)
+                    .description("Read-only transactions served by a replica")
+                    .tag("target", "replica")
+                    .register(registry);
+            FunctionCounter.builder("datasource.reads", router, ReadReplicaRoutingDataSource::getStickyReads)
+                    .description("Read-only transactions kept on the primary after the user's own write")
+                    .tag("target", "primary_sticky")
+                    .register(registry);
+            FunctionCounter.builder("datasource.reads", router, ReadReplicaRoutingDataSource::getFallbackReads)
+                    .description("Read-only transactions sent to the primary because no replica was usable")
+                    .tag("target", "primary_fallback")
+                    .register(registry);
+            for (ReadReplicaRoutingDataSource.Replica replica : router.getReplicas()) {
+                Gauge.builder("datasource.replica.lag", replica, ReadReplicaRoutingDataSource.Replica::getLagMillis)
+                        .description("Last measured replication lag in milliseconds, -1 when unreachable")
+                        .tag("replica", replica.getName())
+                        .register(registry);
+                Gauge.builder("datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                        .tag("replica", replica.getName())
+                        .register(registry);
+            }
+        });
+    }
+
+    // Single-flight reads: coalesced / (leader + coalesced) is the share of calls that did not query
+    @Bean
+    public MeterBinder singleFlightMetrics(ProductService productService, CategoryService categoryService) {
+        return registry -> {
+            Map<String, SingleFlight<?, ?>> flights = new LinkedHashMap<>(productService.getSingleFlights());
+            flights.putAll(categoryService.getSingleFlights());
+            flights.forEach((name, flight) -> {
+                FunctionCounter.builder("singleflight.calls", flight, SingleFlight::getLeaders)
+                        .description("Calls that ran the load")
+                        .tag("name", name)
+                        .tag("result", "leader")
+                        .register(registry);
+                FunctionCounter.builder("singleflight.calls", flight, SingleFlight::getCoalesced)
+                        .description("Calls that shared a load already in flight")
+                        .tag("name", name)
+                        .tag("result", "coalesced")
+                        .register(registry);
+                Gauge.builder("singleflight.inflight", flight, SingleFlight::getInFlight)
+                        .tag("name", name)
+                        .register(registry);
+            });
+        };
+    }
+}
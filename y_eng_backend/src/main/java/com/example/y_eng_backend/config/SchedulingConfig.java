@@ -0,0 +1,14 @@
+package com.example.y_eng_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs (token revocation refresh and purge, rate-limit sweeps) and @Async methods.
+// Both use Boot's task executor/scheduler, which run on virtual threads when
+// spring.threads.virtual.enabled=true.
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
@@ -0,0 +1,71 @@
+package com.example.y_eng_backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+// In-process Caffeine caches behind Hibernate's second-level cache. Every region is created here
+// from cache.l2.regions and cache.l2.region.<name>.* in application.properties; Hibernate is set
+// to fail on any region it cannot find, so an entity or query pointing at an unconfigured region
+// stops startup instead of getting an unbounded cache.
+//
+// The Hibernate cache settings are applied here rather than as spring.jpa.properties.*: Spring
+// Data's AOT processing builds an entity manager factory from those properties alone, without
+// this cache manager, and would fail on the missing regions.
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Hibernate's record of when each table was last written; query results older than that are
+    // ignored, so this region must never evict or expire
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Autowired
+    private Environment environment;
+
+    // A provider instance of our own, so every application context (tests keep several) gets its own
+    // cache manager instead of sharing the JVM-wide default one
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        for (String name : environment.getProperty("cache.l2.regions", String[].class, new String[0])) {
+            String prefix = "cache.l2.region." + name.trim() + ".";
+            cacheManager.createCache(name.trim(), regionConfiguration(
+                    OptionalLong.of(environment.getRequiredProperty(prefix + "max-entries", Long.class)),
+                    OptionalLong.of(environment.getRequiredProperty(prefix + "ttl", Duration.class).toNanos())));
+        }
+        cacheManager.createCache(TIMESTAMPS_REGION, regionConfiguration(OptionalLong.empty(), OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        boolean enabled = environment.getProperty("cache.l2.enabled", Boolean.class, true);
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+                properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(OptionalLong maxEntries, OptionalLong ttlNanos) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(maxEntries)
+                .setExpireAfterWrite(ttlNanos)
+                // Hibernate already stores disassembled copies; copying them again buys nothing
+                .setStoreByValue(false);
+    }
+}
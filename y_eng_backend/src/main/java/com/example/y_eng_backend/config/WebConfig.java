@@ -0,0 +1,27 @@
+package com.example.y_eng_backend.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+// Binary representations for every controller: "Accept: application/cbor" or
+// "Accept: application/x-jackson-smile" (and the same Content-Type on requests). They are
+// registered after the JSON converter, so requests without an Accept header, or with */*, still
+// get JSON. The CBOR mapper is Boot's (spring.jackson.cbor.*).
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private CBORMapper cborMapper;
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(SmileMapper.builder().build()));
+    }
+}
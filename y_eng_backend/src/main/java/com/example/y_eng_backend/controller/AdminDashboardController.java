@@ -0,0 +1,38 @@
+package com.example.y_eng_backend.controller;
+
+import com.example.y_eng_backend.service.dashboard.AdminDashboardService;
+import com.example.y_eng_backend.service.dashboard.DashboardTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/dashboard")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AdminDashboardController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminDashboardController.class);
+
+    @Autowired
+    private AdminDashboardService adminDashboardService;
+
+    // Products, categories, orders, repairs and KPIs for the admin dashboard in one response (ROLE_ADMIN, enforced in SecurityConfig).
+    // 503 when the queries do not finish within dashboard.deadline.
+    @GetMapping
+    public ResponseEntity<?> getDashboard() {
+        try {
+            return ResponseEntity.ok(adminDashboardService.getDashboard());
+        } catch (DashboardTimeoutException e) {
+            log.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Error loading the admin dashboard", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
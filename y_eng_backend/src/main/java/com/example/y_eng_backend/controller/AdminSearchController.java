@@ -0,0 +1,32 @@
+package com.example.y_eng_backend.controller;
+
+import com.example.y_eng_backend.service.search.AdminSearchService;
+import com.example.y_eng_backend.service.search.SearchPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/search")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AdminSearchController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private AdminSearchService adminSearchService;
+
+    // Search orders and repairs by customer name, phone, order number, brand or issue text (ROLE_ADMIN, enforced in SecurityConfig)
+    @GetMapping
+    public ResponseEntity<SearchPage> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        int boundedSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(adminSearchService.search(q, type, Math.max(0, page), boundedSize));
+    }
+}
@@ -2,6 +2,8 @@ package com.example.y_eng_backend.controller;
 
 import com.example.y_eng_backend.entity.Category;
 import com.example.y_eng_backend.service.CategoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +16,8 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class CategoryController {
 
+    private static final Logger log = LoggerFactory.getLogger(CategoryController.class);
+
     @Autowired
     private CategoryService categoryService;
 
@@ -36,12 +40,12 @@ public class CategoryController {
     @PostMapping
     public ResponseEntity<Category> createCategory(@RequestBody Category category) {
         try {
-            System.out.println("📝 Creating new category: " + category.getName());
+            log.info("Creating new category {}", category.getName());
             Category created = categoryService.createCategory(category);
-            System.out.println("✅ Category created with ID: " + created.getId());
+            log.info("Category created with id {}", created.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(created);
         } catch (Exception e) {
-            System.err.println("❌ Error creating category: " + e.getMessage());
+            log.error("Error creating category", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -0,0 +1,54 @@
+package com.example.y_eng_backend.controller;
+
+import com.example.y_eng_backend.service.events.ChangeEventBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ChangeEventController {
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    // Server-sent events for the signed-in user's orders and repairs (401 without a token)
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamUserEvents(Authentication authentication) {
+        String userId = signedInUser(authentication);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return stream(changeEventBus.subscribeUser(userId));
+    }
+
+    // Server-sent events for every order and repair change (ROLE_ADMIN, enforced in SecurityConfig)
+    @GetMapping(path = "/admin/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAdminEvents() {
+        return stream(changeEventBus.subscribeAdmin());
+    }
+
+    // 429 when the user or the server has no stream left
+    private ResponseEntity<SseEmitter> stream(Optional<SseEmitter> emitter) {
+        return emitter
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "30").build());
+    }
+
+    private String signedInUser(Authentication authentication) {
+        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)
+                && authentication.getPrincipal() instanceof String principal) {
+            return principal;
+        }
+        return null;
+    }
+}
@@ -4,10 +4,13 @@ import com.example.y_eng_backend.entity.CartItem;
 import com.example.y_eng_backend.entity.Order;
 import com.example.y_eng_backend.service.CartService;
 import com.example.y_eng_backend.service.OrderService;
+import com.example.y_eng_backend.service.sync.DeltaSyncService;
+import com.example.y_eng_backend.service.sync.WatermarkExpiredException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.DateTimeException;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -23,12 +26,30 @@ public class OrderController {
     @Autowired
     private CartService cartService;
 
+    @Autowired
+    private DeltaSyncService deltaSyncService;
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Order>> getUserOrders(@PathVariable UUID userId) {
         List<Order> orders = orderService.getUserOrders(userId);
         return ResponseEntity.ok(orders);
     }
 
+    // Orders changed since a watermark plus ids of deleted ones (omit since for the first load).
+    // 410 when since is older than the tombstones kept: reload without it.
+    @GetMapping("/changes")
+    public ResponseEntity<?> getOrderChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        try {
+            return ResponseEntity.ok(deltaSyncService.getOrderChanges(DeltaSyncService.parseWatermark(since), limit));
+        } catch (WatermarkExpiredException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of("error", e.getMessage()));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "since must be an ISO-8601 timestamp with offset, e.g. 2026-01-31T09:30:00.123456Z"));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
         return orderService.getOrderById(id)
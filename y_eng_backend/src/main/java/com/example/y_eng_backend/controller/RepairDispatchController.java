@@ -0,0 +1,110 @@
+package com.example.y_eng_backend.controller;
+
+import com.example.y_eng_backend.service.dispatch.DispatchJob;
+import com.example.y_eng_backend.service.dispatch.RepairDispatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/repair-dispatch")
+@CrossOrigin(origins = "http://localhost:3000")
+public class RepairDispatchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private RepairDispatchService repairDispatchService;
+
+    // Get the next N jobs in priority order (urgent, preferred date, age)
+    @GetMapping("/next")
+    public ResponseEntity<List<DispatchJob>> getNextJobs(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String serviceType) {
+        int bounded = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(repairDispatchService.nextJobs(bounded, serviceType));
+    }
+
+    // Get jobs currently claimed by a technician
+    @GetMapping("/claimed/{technicianId}")
+    public ResponseEntity<List<DispatchJob>> getClaimedJobs(@PathVariable String technicianId) {
+        return ResponseEntity.ok(repairDispatchService.claimedJobs(technicianId));
+    }
+
+    // Claim a job for the signed-in technician (409 if someone else got it first)
+    @PostMapping("/{id}/claim")
+    public ResponseEntity<DispatchJob> claimJob(
+            @PathVariable String id,
+            @RequestBody(required = false) Map<String, String> request,
+            Authentication authentication) {
+        if (signedInUser(authentication) == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        String technicianId = resolveTechnician(request, authentication);
+        if (technicianId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return repairDispatchService.claim(UUID.fromString(id), technicianId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Release a claimed job back to the board
+    @PostMapping("/{id}/release")
+    public ResponseEntity<Void> releaseJob(
+            @PathVariable String id,
+            @RequestBody(required = false) Map<String, String> request,
+            Authentication authentication) {
+        if (signedInUser(authentication) == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        String technicianId = resolveTechnician(request, authentication);
+        if (technicianId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            boolean released = repairDispatchService.release(UUID.fromString(id), technicianId);
+            return released ? ResponseEntity.noContent().build() : ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Queue sizes per service type plus claimed count
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Integer>> getStats() {
+        return ResponseEntity.ok(repairDispatchService.stats());
+    }
+
+    // The signed-in technician. Only an admin may name another one in the body (a dispatcher
+    // assigning or taking back a job); anyone else naming someone else gets null.
+    private String resolveTechnician(Map<String, String> request, Authentication authentication) {
+        String principal = signedInUser(authentication);
+        String requested = request != null ? request.get("technicianId") : null;
+        if (requested == null || requested.isBlank() || requested.equals(principal)) {
+            return principal;
+        }
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        return admin ? requested : null;
+    }
+
+    private String signedInUser(Authentication authentication) {
+        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)
+                && authentication.getPrincipal() instanceof String principal) {
+            return principal;
+        }
+        return null;
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.y_eng_backend.controller;
 
 import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.logging.LogMarkers;
 import com.example.y_eng_backend.service.RepairRequestService;
+import com.example.y_eng_backend.service.booking.SlotUnavailableException;
+import com.example.y_eng_backend.service.sync.DeltaSyncService;
+import com.example.y_eng_backend.service.sync.WatermarkExpiredException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.DateTimeException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -16,20 +26,26 @@ import java.util.UUID;
 @CrossOrigin(origins = "http://localhost:3000")
 public class RepairRequestController {
 
+    private static final Logger log = LoggerFactory.getLogger(RepairRequestController.class);
+
     @Autowired
     private RepairRequestService repairRequestService;
 
+    @Autowired
+    private DeltaSyncService deltaSyncService;
+
     // Create new repair request
     @PostMapping
-    public ResponseEntity<RepairRequest> createRepairRequest(@RequestBody RepairRequest repairRequest) {
+    public ResponseEntity<?> createRepairRequest(@RequestBody RepairRequest repairRequest) {
         try {
-            System.out.println("📝 Creating repair request: " + repairRequest.getEquipmentType());
+            log.info("Creating repair request for {}", repairRequest.getEquipmentType());
             RepairRequest created = repairRequestService.createRepairRequest(repairRequest);
-            System.out.println("✅ Repair request created with ID: " + created.getId());
+            log.info("Repair request created with id {}", created.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (SlotUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
-            System.err.println("❌ Error creating repair request: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating repair request", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -38,16 +54,31 @@ public class RepairRequestController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<RepairRequest>> getUserRepairs(@PathVariable String userId) {  // ✅ Changed to String
         try {
-            System.out.println("📋 Fetching repairs for user: " + userId);
+            log.info(LogMarkers.SAMPLED, "Fetching repairs for user {}", userId);
             List<RepairRequest> repairs = repairRequestService.getUserRepairRequests(UUID.fromString(userId));
-            System.out.println("✅ Found " + repairs.size() + " repairs");
+            log.info(LogMarkers.SAMPLED, "Found {} repairs for user {}", repairs.size(), userId);
             return ResponseEntity.ok(repairs);
         } catch (Exception e) {
-            System.err.println("❌ Error fetching user repairs: " + e.getMessage());
+            log.error("Error fetching repairs for user {}: {}", userId, e.getMessage());
             return ResponseEntity.ok(List.of());  // Return empty list instead of error
         }
     }
 
+    // Repair requests changed since a watermark plus ids of deleted ones (omit since for the first load).
+    // 410 when since is older than the tombstones kept: reload without it.
+    @GetMapping("/changes")
+    public ResponseEntity<?> getRepairChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        try {
+            return ResponseEntity.ok(deltaSyncService.getRepairChanges(DeltaSyncService.parseWatermark(since), limit));
+        } catch (WatermarkExpiredException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of("error", e.getMessage()));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "since must be an ISO-8601 timestamp with offset, e.g. 2026-01-31T09:30:00.123456Z"));
+        }
+    }
+
     // Get repair request by ID
     @GetMapping("/{id}")
     public ResponseEntity<RepairRequest> getRepairById(@PathVariable String id) {  // ✅ Changed to String
@@ -64,12 +95,12 @@ public class RepairRequestController {
     @GetMapping
     public ResponseEntity<List<RepairRequest>> getAllRepairs() {
         try {
-            System.out.println("📋 Fetching all repair requests...");
+            log.info(LogMarkers.SAMPLED, "Fetching all repair requests");
             List<RepairRequest> repairs = repairRequestService.getAllRepairRequests();
-            System.out.println("✅ Found " + repairs.size() + " total repairs");
+            log.info(LogMarkers.SAMPLED, "Found {} repair requests in total", repairs.size());
             return ResponseEntity.ok(repairs);
         } catch (Exception e) {
-            System.err.println("❌ Error fetching all repairs: " + e.getMessage());
+            log.error("Error fetching all repairs: {}", e.getMessage());
             return ResponseEntity.ok(List.of());  // Return empty list
         }
     }
@@ -87,30 +118,58 @@ public class RepairRequestController {
 
     // Update repair status (admin only)
     @PatchMapping("/{id}/status")
-    public ResponseEntity<RepairRequest> updateRepairStatus(
+    public ResponseEntity<?> updateRepairStatus(
             @PathVariable String id,  // ✅ Changed to String
             @RequestBody Map<String, String> updates) {
         try {
             String status = updates.get("status");
             String adminNotes = updates.get("adminNotes");
-            System.out.println("🔄 Updating repair " + id + " to status: " + status);
+            log.info("Updating repair {} to status {}", id, status);
             RepairRequest updated = repairRequestService.updateRepairStatus(UUID.fromString(id), status, adminNotes);
-            System.out.println("✅ Repair status updated");
+            log.info("Repair {} status updated", id);
             return ResponseEntity.ok(updated);
+        } catch (SlotUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
-            System.err.println("❌ Error updating repair status: " + e.getMessage());
+            log.warn("Error updating repair {} status: {}", id, e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
 
     // Update entire repair request
     @PutMapping("/{id}")
-    public ResponseEntity<RepairRequest> updateRepairRequest(
+    public ResponseEntity<?> updateRepairRequest(
             @PathVariable String id,  // ✅ Changed to String
             @RequestBody RepairRequest repairRequest) {
         try {
             RepairRequest updated = repairRequestService.updateRepairRequest(UUID.fromString(id), repairRequest);
             return ResponseEntity.ok(updated);
+        } catch (SlotUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Partial update (JSON Merge Patch): only the supplied fields are written.
+    // Send the expected version in If-Match or as "version" to get a 409 instead of overwriting someone else's edit.
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchRepairRequest(
+            @PathVariable String id,
+            @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        try {
+            Map<String, Object> fields = new LinkedHashMap<>(patch);
+            Object bodyVersion = fields.remove("version");
+            Long expectedVersion = parseVersion(ifMatch != null ? ifMatch : bodyVersion);
+            Map<String, Object> changed = repairRequestService.patchRepairRequest(UUID.fromString(id), fields, expectedVersion);
+            return ResponseEntity.ok()
+                    .eTag(String.valueOf(changed.get("version")))
+                    .body(changed);
+        } catch (OptimisticLockingFailureException | SlotUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -126,4 +185,16 @@ public class RepairRequestController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // Accepts 3, "3", "\"3\"" and W/"3"
+    private Long parseVersion(Object version) {
+        if (version == null) {
+            return null;
+        }
+        String value = version.toString().trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        return Long.valueOf(value.replace("\"", ""));
+    }
 }
\ No newline at end of file
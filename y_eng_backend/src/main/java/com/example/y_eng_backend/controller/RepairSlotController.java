@@ -0,0 +1,48 @@
+package com.example.y_eng_backend.controller;
+
+import com.example.y_eng_backend.service.booking.SlotCalendarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/repair-slots")
+@CrossOrigin(origins = "http://localhost:3000")
+public class RepairSlotController {
+
+    @Autowired
+    private SlotCalendarService slotCalendarService;
+
+    // Free pickup/drop-off capacity per day and time window (next 30 days by default)
+    @GetMapping("/availability")
+    public ResponseEntity<Map<LocalDate, Map<String, Map<String, Integer>>>> getAvailability(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(required = false) String serviceType) {
+        return ResponseEntity.ok(slotCalendarService.availability(Math.max(1, days), serviceType));
+    }
+
+    // Bookable time windows
+    @GetMapping("/windows")
+    public ResponseEntity<List<String>> getTimeWindows() {
+        return ResponseEntity.ok(slotCalendarService.getTimeWindows());
+    }
+
+    // Set capacity for one day / window / service type (ROLE_ADMIN, enforced in SecurityConfig)
+    @PutMapping("/capacity")
+    public ResponseEntity<?> setCapacity(@RequestBody Map<String, Object> request) {
+        try {
+            LocalDate date = LocalDate.parse((String) request.get("date"));
+            String timeWindow = (String) request.get("timeWindow");
+            String serviceType = (String) request.get("serviceType");
+            int capacity = Integer.parseInt(request.get("capacity").toString());
+            slotCalendarService.setCapacity(date, timeWindow, serviceType, capacity);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.y_eng_backend.controller;
+
+import com.example.y_eng_backend.service.sla.SlaBreach;
+import com.example.y_eng_backend.service.sla.SlaMonitorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/sla")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SlaController {
+
+    @Autowired
+    private SlaMonitorService slaMonitorService;
+
+    // Orders and repairs currently past their SLA deadline (ROLE_ADMIN, enforced in SecurityConfig)
+    @GetMapping("/breaches")
+    public ResponseEntity<List<SlaBreach>> getOpenBreaches() {
+        return ResponseEntity.ok(slaMonitorService.getOpenBreaches());
+    }
+
+    // Timer and breach counters (ROLE_ADMIN, enforced in SecurityConfig)
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Long>> getStats() {
+        return ResponseEntity.ok(slaMonitorService.getStats());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.y_eng_backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Replaces Boot's single DataSource when datasource.replica.urls is set: a Hikari pool for the
+// primary (still configured through spring.datasource.*), one pool per replica, and the routing
+// data source in front of them. Without replica URLs none of this is created.
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Value("${datasource.replica.urls}")
+    private String urls;
+
+    @Value("${datasource.replica.username:}")
+    private String username;
+
+    @Value("${datasource.replica.password:}")
+    private String password;
+
+    @Value("${datasource.replica.pool-size:10}")
+    private int poolSize;
+
+    @Value("${datasource.replica.connection-timeout-ms:2000}")
+    private long connectionTimeoutMs;
+
+    @Value("${datasource.replica.services}")
+    private List<String> services;
+
+    @Value("${datasource.replica.sticky-ms:5000}")
+    private long stickyMs;
+
+    @Value("${datasource.replica.max-lag-ms:2000}")
+    private long maxLagMs;
+
+    @Value("${datasource.replica.lag-query}")
+    private String lagQuery;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                     DataSourceProperties properties,
+                                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<String> replicaUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(StringUtils::hasText).toList();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicaUrls.get(i));
+            replica.setDriverClassName(properties.determineDriverClassName());
+            // Primary credentials unless a replica user is configured
+            replica.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            replica.setPassword(StringUtils.hasText(username) ? password : properties.determinePassword());
+            replica.setMaximumPoolSize(poolSize);
+            // A dead replica should cost a read two seconds, not the default thirty
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas, services, stickyMs, maxLagMs, lagQuery);
+    }
+
+    // What JPA, JdbcTemplate and the transaction manager use
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+}
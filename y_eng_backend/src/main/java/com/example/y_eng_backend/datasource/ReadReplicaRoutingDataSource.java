@@ -0,0 +1,265 @@
+package com.example.y_eng_backend.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Sends read-only transactions of the configured services to a replica and everything else to the
+// primary. Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a
+// connection before the read-only flag and transaction name are bound, the proxy defers that
+// until the first statement.
+//
+// A user who committed a write in the last stickyMillis reads from the primary, so they see their
+// own changes. Replicas whose lag is above maxLagMillis, or that fail the lag check or a connect,
+// are skipped until the next successful check; with none left, reads go to the primary.
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final List<String> eligibleServices;
+    private final long stickyNanos;
+    private final long maxLagMillis;
+    private final String lagQuery;
+
+    // Stickiness key -> nanoTime of the user's last committed write
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, List<String> eligibleServices,
+                                        long stickyMillis, long maxLagMillis, String lagQuery) {
+        this.primary = primary;
+        List<Replica> list = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> list.add(new Replica(name, dataSource)));
+        this.replicas = Collections.unmodifiableList(list);
+        this.eligibleServices = List.copyOf(eligibleServices);
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(stickyMillis);
+        this.maxLagMillis = maxLagMillis;
+        this.lagQuery = lagQuery;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    // Routed like getConnection(); the target decides whether it takes explicit credentials (Hikari pools do not)
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return connector.open(primary);
+        }
+        try {
+            return connector.open(replica.dataSource);
+        } catch (SQLFeatureNotSupportedException e) {
+            throw e; // the call, not the replica, is at fault
+        } catch (SQLException e) {
+            markDown(replica, e);
+            fallbackReads.increment();
+            return connector.open(primary);
+        }
+    }
+
+    // null means the primary
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        lastWrites.put(user, System.nanoTime());
+                    }
+                });
+            }
+            return null;
+        }
+        if (!isEligible(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            return null;
+        }
+        if (user != null) {
+            Long lastWrite = lastWrites.get(user);
+            if (lastWrite != null && System.nanoTime() - lastWrite < stickyNanos) {
+                stickyReads.increment();
+                return null;
+            }
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                replicaReads.increment();
+                return replica;
+            }
+        }
+        fallbackReads.increment();
+        return null;
+    }
+
+    // Transaction names are the qualified method names of the outermost @Transactional method
+    private boolean isEligible(String transactionName) {
+        if (transactionName == null) {
+            return false;
+        }
+        for (String service : eligibleServices) {
+            if (transactionName.startsWith(service + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Whether the current user committed a write within the sticky window, so their reads go to the primary
+    public boolean isSticky() {
+        String user = currentUser();
+        Long lastWrite = user == null ? null : lastWrites.get(user);
+        return lastWrite != null && System.nanoTime() - lastWrite < stickyNanos;
+    }
+
+    // Authenticated user, else client address; the same keys the rate limiter uses
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "u:" + authentication.getName();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return "ip:" + servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    // Measure replica lag and drop expired stickiness entries
+    @Scheduled(fixedDelayString = "${datasource.replica.check-ms:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(2);
+                try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                    long lag = rs.next() ? Math.round(rs.getDouble(1)) : 0;
+                    replica.lagMillis = lag;
+                    boolean healthy = lag <= maxLagMillis;
+                    if (healthy != replica.healthy) {
+                        if (healthy) {
+                            log.info("Replica {} back in rotation, lag {} ms", replica.name, lag);
+                        } else {
+                            log.warn("Replica {} out of rotation, lag {} ms over {} ms", replica.name, lag, maxLagMillis);
+                        }
+                    }
+                    replica.healthy = healthy;
+                }
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= stickyNanos);
+    }
+
+    private void markDown(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            log.warn("Replica {} out of rotation: {}", replica.name, e.getMessage());
+        }
+        replica.healthy = false;
+        replica.lagMillis = -1;
+    }
+
+    // Replica pools are not beans of their own; called by Spring on shutdown
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Closing replica {} failed: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getStickyReads() {
+        return stickyReads.sum();
+    }
+
+    public long getFallbackReads() {
+        return fallbackReads.sum();
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // Out of rotation until the first successful lag check
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        // -1 while unreachable
+        public long getLagMillis() {
+            return lagMillis;
+        }
+    }
+}
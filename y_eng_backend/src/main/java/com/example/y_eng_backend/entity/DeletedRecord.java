@@ -0,0 +1,65 @@
+package com.example.y_eng_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+// Tombstone of a deleted order or repair, read by the delta sync endpoints
+@Entity
+@Table(name = "deleted_records", schema = "public")
+public class DeletedRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // "order" or "repair"
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private String entityType;
+
+    // Id of the deleted row as a string (orders have numeric ids, repairs UUIDs)
+    @Column(name = "record_id", nullable = false, length = 64)
+    private String recordId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private OffsetDateTime deletedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (deletedAt == null) {
+            deletedAt = OffsetDateTime.now();
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getRecordId() {
+        return recordId;
+    }
+
+    public void setRecordId(String recordId) {
+        this.recordId = recordId;
+    }
+
+    public OffsetDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(OffsetDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
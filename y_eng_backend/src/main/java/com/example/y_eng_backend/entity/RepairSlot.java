@@ -0,0 +1,78 @@
+package com.example.y_eng_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "repair_slots", schema = "public",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"slot_date", "time_window", "service_type"}))
+public class RepairSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate slotDate;
+
+    @Column(name = "time_window", nullable = false)
+    private String timeWindow; // e.g. "8:00 AM - 10:00 AM"
+
+    @Column(name = "service_type", nullable = false)
+    private String serviceType; // pickup, dropoff
+
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(nullable = false)
+    private Integer reserved = 0;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getSlotDate() {
+        return slotDate;
+    }
+
+    public void setSlotDate(LocalDate slotDate) {
+        this.slotDate = slotDate;
+    }
+
+    public String getTimeWindow() {
+        return timeWindow;
+    }
+
+    public void setTimeWindow(String timeWindow) {
+        this.timeWindow = timeWindow;
+    }
+
+    public String getServiceType() {
+        return serviceType;
+    }
+
+    public void setServiceType(String serviceType) {
+        this.serviceType = serviceType;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public Integer getReserved() {
+        return reserved;
+    }
+
+    public void setReserved(Integer reserved) {
+        this.reserved = reserved;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.y_eng_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "revoked_tokens", schema = "public")
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Set when a single token is revoked (logout)
+    @Column(name = "token_id")
+    private String tokenId;
+
+    // Set with revokedBefore when all of a user's tokens are revoked (role change)
+    @Column(name = "user_id")
+    private String userId;
+
+    // Tokens of userId issued before this instant are rejected
+    @Column(name = "revoked_before")
+    private OffsetDateTime revokedBefore;
+
+    @Column(name = "revoked_at", nullable = false)
+    private OffsetDateTime revokedAt;
+
+    // After this the revoked token(s) would have expired anyway and the row can be purged
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (revokedAt == null) {
+            revokedAt = OffsetDateTime.now();
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public OffsetDateTime getRevokedBefore() {
+        return revokedBefore;
+    }
+
+    public void setRevokedBefore(OffsetDateTime revokedBefore) {
+        this.revokedBefore = revokedBefore;
+    }
+
+    public OffsetDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(OffsetDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(OffsetDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
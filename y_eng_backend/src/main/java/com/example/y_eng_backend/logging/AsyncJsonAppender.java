@@ -0,0 +1,169 @@
+package com.example.y_eng_backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import com.example.y_eng_backend.util.RingBuffer;
+import org.slf4j.Marker;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logback appender that hands events to a bounded ring buffer and writes them as JSON lines
+ * to stdout from one dedicated thread, in 64 KB batches. Request threads never block and never
+ * touch the stdout lock: when the buffer is full the event is dropped and counted, and the
+ * writer reports the drop count in-band once per second. INFO-and-below events marked
+ * {@link LogMarkers#SAMPLED} are kept at {@code sampleRate}. Configured from logback-spring.xml.
+ */
+public class AsyncJsonAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long DROP_REPORT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final LongAdder dropped = new LongAdder();
+    private static final LongAdder sampledOut = new LongAdder();
+    private static final LongAdder written = new LongAdder();
+    private static volatile AsyncJsonAppender active;
+
+    private int capacity = 8192;
+    private double sampleRate = 1.0;
+
+    private RingBuffer<ILoggingEvent> buffer;
+    private Thread writer;
+    private volatile boolean running;
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        buffer = new RingBuffer<>(capacity);
+        running = true;
+        writer = Thread.ofPlatform().name("log-writer").daemon(true).start(this::drain);
+        active = this;
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (active == this) {
+            active = null;
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (sampleRate < 1.0 && isSampled(event) && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        // Capture MDC, thread name and the formatted message before leaving this thread
+        event.prepareForDeferredProcessing();
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private static boolean isSampled(ILoggingEvent event) {
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            return false;
+        }
+        List<Marker> markers = event.getMarkerList();
+        if (markers == null) {
+            return false;
+        }
+        for (Marker marker : markers) {
+            if (marker == LogMarkers.SAMPLED || marker.contains(LogMarkers.SAMPLED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain() {
+        JsonLineLayout layout = new JsonLineLayout();
+        OutputStream out = new BufferedOutputStream(System.out, 64 * 1024);
+        long reportedDrops = dropped.sum();
+        long lastReport = System.nanoTime();
+        while (true) {
+            ILoggingEvent event = buffer.poll();
+            if (event != null) {
+                write(out, layout.format(event));
+                written.increment();
+                continue;
+            }
+            long drops = dropped.sum();
+            long now = System.nanoTime();
+            if (drops != reportedDrops && now - lastReport >= DROP_REPORT_NANOS) {
+                write(out, layout.formatInternal("WARN", "Log buffer full, events dropped", "droppedEvents", drops - reportedDrops));
+                reportedDrops = drops;
+                lastReport = now;
+            }
+            flush(out);
+            if (!running) {
+                return;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    private void write(OutputStream out, String line) {
+        try {
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            addError("Could not write log line", e);
+        }
+    }
+
+    private void flush(OutputStream out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            addError("Could not flush log output", e);
+        }
+    }
+
+    public static long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public static long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    public static long getWrittenCount() {
+        return written.sum();
+    }
+
+    public static int getBufferedCount() {
+        AsyncJsonAppender appender = active;
+        return appender == null ? 0 : appender.buffer.size();
+    }
+}
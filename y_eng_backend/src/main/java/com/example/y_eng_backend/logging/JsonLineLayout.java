@@ -0,0 +1,107 @@
+package com.example.y_eng_backend.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import org.slf4j.event.KeyValuePair;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+// Renders one logging event as a single JSON line:
+// {"ts":..,"level":..,"logger":..,"thread":..,"correlationId":..,"msg":..,<mdc and key/values>,"stack":..}
+// Only called from the appender's writer thread, so the builder is reused.
+class JsonLineLayout {
+
+    private final StringBuilder sb = new StringBuilder(512);
+
+    String format(ILoggingEvent event) {
+        sb.setLength(0);
+        sb.append('{');
+        field("ts", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+        sb.append(',');
+        field("level", event.getLevel().toString());
+        sb.append(',');
+        field("logger", event.getLoggerName());
+        sb.append(',');
+        field("thread", event.getThreadName());
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                sb.append(',');
+                field(entry.getKey(), entry.getValue());
+            }
+        }
+
+        sb.append(',');
+        field("msg", event.getFormattedMessage());
+
+        List<KeyValuePair> pairs = event.getKeyValuePairs();
+        if (pairs != null) {
+            for (KeyValuePair pair : pairs) {
+                sb.append(',');
+                field(pair.key, pair.value == null ? null : String.valueOf(pair.value));
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            sb.append(',');
+            field("stack", ThrowableProxyUtil.asString(throwable));
+        }
+        sb.append('}').append('\n');
+        return sb.toString();
+    }
+
+    // Synthetic line the appender writes about itself (drop reports)
+    String formatInternal(String level, String message, String key, long value) {
+        sb.setLength(0);
+        sb.append('{');
+        field("ts", Instant.now().toString());
+        sb.append(',');
+        field("level", level);
+        sb.append(',');
+        field("logger", AsyncJsonAppender.class.getName());
+        sb.append(',');
+        field("msg", message);
+        sb.append(',');
+        string(key);
+        sb.append(':').append(value);
+        sb.append('}').append('\n');
+        return sb.toString();
+    }
+
+    private void field(String key, String value) {
+        string(key);
+        sb.append(':');
+        if (value == null) {
+            sb.append("null");
+        } else {
+            string(value);
+        }
+    }
+
+    private void string(String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
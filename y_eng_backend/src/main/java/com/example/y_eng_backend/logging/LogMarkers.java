@@ -0,0 +1,15 @@
+package com.example.y_eng_backend.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+// Markers understood by AsyncJsonAppender
+public final class LogMarkers {
+
+    // High-volume success logs (per-request INFO lines). Kept at logging.async.success-sample-rate;
+    // WARN and ERROR events are never sampled even when they carry this marker.
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogMarkers() {
+    }
+}
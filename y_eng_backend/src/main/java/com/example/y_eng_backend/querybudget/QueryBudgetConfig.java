@@ -0,0 +1,38 @@
+package com.example.y_eng_backend.querybudget;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import java.util.Map;
+
+// Puts QueryCountingStatementInspector into Hibernate. It is added to the entity manager factory's
+// final properties rather than through a HibernatePropertiesCustomizer, so an inspector another
+// customizer sets (RepositoryQueryPlanTest captures SQL that way) is wrapped whatever the order the
+// customizers ran in, instead of one replacing the other.
+@Configuration
+public class QueryBudgetConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingInspectorPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean factory) {
+                    Map<String, Object> properties = factory.getJpaPropertyMap();
+                    Object configured = properties.get(AvailableSettings.STATEMENT_INSPECTOR);
+                    if (configured != null && !(configured instanceof StatementInspector)) {
+                        throw new IllegalStateException("Configure " + AvailableSettings.STATEMENT_INSPECTOR
+                                + " with an instance so query counting can wrap it: " + configured);
+                    }
+                    properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                            new QueryCountingStatementInspector((StatementInspector) configured));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.y_eng_backend.querybudget;
+
+// Thrown in querybudget.mode=fail by the statement that takes a request over its budget
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
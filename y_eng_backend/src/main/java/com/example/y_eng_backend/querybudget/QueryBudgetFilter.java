@@ -0,0 +1,176 @@
+package com.example.y_eng_backend.querybudget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Counts the SQL statements each /api request runs and holds them against a budget: the first
+// route budget whose paths match (querybudget.routes and querybudget.route.<name>.* in
+// application.properties), otherwise querybudget.max-statements and querybudget.max-repeats. The
+// repeat limit is what catches N+1 loads: one statement run again for every row of a list.
+//
+// Every request records its count as http.server.requests.statements by method and route pattern.
+// Requests over budget are logged with their most repeated statement and counted in
+// querybudget.exceeded; with querybudget.mode=fail (for development and CI) the statement that goes
+// over throws QueryBudgetExceededException instead.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private boolean enabled;
+    private boolean fail;
+    private List<RouteBudget> budgets = List.of();
+    private RouteBudget defaultBudget;
+
+    @PostConstruct
+    void init() {
+        enabled = environment.getProperty("querybudget.enabled", Boolean.class, true);
+        String mode = environment.getProperty("querybudget.mode", "log");
+        if (!mode.equals("log") && !mode.equals("fail")) {
+            throw new IllegalStateException("querybudget.mode must be log or fail: " + mode);
+        }
+        fail = mode.equals("fail");
+        int maxRepeats = environment.getProperty("querybudget.max-repeats", Integer.class, 5);
+
+        List<RouteBudget> configured = new ArrayList<>();
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        for (String name : environment.getProperty("querybudget.routes", String[].class, new String[0])) {
+            String prefix = "querybudget.route." + name.trim() + ".";
+            List<PathPattern> patterns = new ArrayList<>();
+            for (String path : environment.getRequiredProperty(prefix + "paths", String[].class)) {
+                patterns.add(parser.parse(path.trim()));
+            }
+            Set<String> methods = new HashSet<>();
+            for (String method : environment.getProperty(prefix + "methods", String[].class, new String[0])) {
+                methods.add(method.trim().toUpperCase());
+            }
+            configured.add(new RouteBudget(name.trim(), patterns, methods,
+                    environment.getRequiredProperty(prefix + "max-statements", Integer.class),
+                    environment.getProperty(prefix + "max-repeats", Integer.class, maxRepeats)));
+        }
+        budgets = List.copyOf(configured);
+        defaultBudget = new RouteBudget("default", List.of(), Set.of(),
+                environment.getProperty("querybudget.max-statements", Integer.class, 20), maxRepeats);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equals(request.getMethod()) || !apiPath(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RouteBudget budget = findBudget(request);
+        QueryCounter counter = QueryCounter.open(request.getMethod() + " " + apiPath(request),
+                budget.getMaxStatements(), budget.getMaxRepeats(), fail);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            counter.close();
+            report(request, budget, counter);
+        }
+    }
+
+    private void report(HttpServletRequest request, RouteBudget budget, QueryCounter counter) {
+        // The route pattern, known once a handler was picked, keeps the meters to one per route
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            DistributionSummary.builder("http.server.requests.statements")
+                    .description("SQL statements run per request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(counter.getStatements());
+        }
+
+        boolean overStatements = counter.getStatements() > budget.getMaxStatements();
+        boolean overRepeats = counter.getMaxRepeats() > budget.getMaxRepeats();
+        if (!overStatements && !overRepeats) {
+            return;
+        }
+        log.warn("{} {} ran {} statements (budget {}), the most repeated {} times (budget {}): {}",
+                method, uri, counter.getStatements(), budget.getMaxStatements(),
+                counter.getMaxRepeats(), budget.getMaxRepeats(), QueryCounter.abbreviate(counter.getMostRepeated()));
+        if (registry != null) {
+            if (overStatements) {
+                exceeded(registry, method, uri, "statements");
+            }
+            if (overRepeats) {
+                exceeded(registry, method, uri, "repeats");
+            }
+        }
+    }
+
+    private static void exceeded(MeterRegistry registry, String method, String uri, String kind) {
+        Counter.builder("querybudget.exceeded")
+                .description("Requests over their statement budget or repeating one statement too often")
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("kind", kind)
+                .register(registry)
+                .increment();
+    }
+
+    private RouteBudget findBudget(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(apiPath(request));
+        String method = request.getMethod();
+        for (RouteBudget budget : budgets) {
+            if (budget.matches(method, path)) {
+                return budget;
+            }
+        }
+        return defaultBudget;
+    }
+
+    private static String apiPath(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (!contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            uri = uri.substring(contextPath.length());
+        }
+        return uri;
+    }
+
+    public List<RouteBudget> getBudgets() {
+        List<RouteBudget> all = new ArrayList<>(budgets);
+        all.add(defaultBudget);
+        return all;
+    }
+}
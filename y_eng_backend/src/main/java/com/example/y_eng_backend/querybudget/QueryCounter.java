@@ -0,0 +1,138 @@
+package com.example.y_eng_backend.querybudget;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+// Counts the SQL statements Hibernate prepares while it is open: on the thread that opened it and on
+// threads started from there (the admin dashboard runs its queries on virtual threads of its own).
+// Statements are grouped by their SQL with whitespace and IN lists collapsed, so the same statement
+// run once per row of an earlier result, the N+1 pattern, shows up as one statement with a high count.
+//
+// Counters nest: a statement counts for the innermost open counter and for every counter around it,
+// so a test can count around a MockMvc call while QueryBudgetFilter counts the request inside it.
+public final class QueryCounter implements AutoCloseable {
+
+    // Threads started while a counter is open inherit it. A pool thread that happens to be started
+    // then keeps the reference after the request is over; closed counters ignore what they are given.
+    private static final InheritableThreadLocal<QueryCounter> CURRENT = new InheritableThreadLocal<>();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+    private final QueryCounter parent;
+    private final String route;
+    private final int maxStatements;
+    private final int maxRepeats;
+    private final boolean fail;
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private QueryCounter(QueryCounter parent, String route, int maxStatements, int maxRepeats, boolean fail) {
+        this.parent = parent;
+        this.route = route;
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+        this.fail = fail;
+    }
+
+    // A counter without a budget
+    public static QueryCounter open() {
+        return open("unnamed", Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+    }
+
+    // With fail set, the statement that goes over maxStatements, or that repeats one statement more
+    // than maxRepeats times, throws QueryBudgetExceededException instead of reaching the database
+    public static QueryCounter open(String route, int maxStatements, int maxRepeats, boolean fail) {
+        QueryCounter counter = new QueryCounter(CURRENT.get(), route, maxStatements, maxRepeats, fail);
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    // Called by QueryCountingStatementInspector for every statement Hibernate prepares
+    static void record(String sql) {
+        QueryCounter counter = CURRENT.get();
+        if (counter == null) {
+            return;
+        }
+        String statement = normalize(sql);
+        QueryBudgetExceededException exceeded = null;
+        for (; counter != null; counter = counter.parent) {
+            if (!counter.closed) {
+                QueryBudgetExceededException e = counter.add(statement);
+                exceeded = exceeded != null ? exceeded : e;
+            }
+        }
+        // Every counter counts the statement before it fails
+        if (exceeded != null) {
+            throw exceeded;
+        }
+    }
+
+    static String normalize(String sql) {
+        String statement = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return statement.indexOf('?') >= 0 ? IN_LIST.matcher(statement).replaceAll("?...") : statement;
+    }
+
+    // The exception to throw when this statement takes a failing counter over its budget
+    private QueryBudgetExceededException add(String statement) {
+        int total = statements.incrementAndGet();
+        int repeats = counts.computeIfAbsent(statement, s -> new AtomicInteger()).incrementAndGet();
+        if (!fail) {
+            return null;
+        }
+        // Only the statement that goes over fails, so whatever the caller does to handle it can still query
+        if (total == maxStatements + 1) {
+            return new QueryBudgetExceededException(route + " ran more than " + maxStatements + " statements");
+        }
+        if (repeats == maxRepeats + 1) {
+            return new QueryBudgetExceededException(route + " ran the same statement more than " + maxRepeats
+                    + " times: " + abbreviate(statement));
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (CURRENT.get() == this) {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    // Statement -> times run, most frequent first
+    public Map<String, Integer> getCounts() {
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, AtomicInteger>comparingByValue(Comparator.comparingInt(AtomicInteger::get)).reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue().get()));
+        return sorted;
+    }
+
+    // How often the most frequent statement ran
+    public int getMaxRepeats() {
+        return counts.values().stream().mapToInt(AtomicInteger::get).max().orElse(0);
+    }
+
+    // The most frequent statement, or null when nothing ran
+    public String getMostRepeated() {
+        return getCounts().keySet().stream().findFirst().orElse(null);
+    }
+
+    static String abbreviate(String statement) {
+        return statement.length() <= 200 ? statement : statement.substring(0, 200) + "...";
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.y_eng_backend.querybudget;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hands every statement Hibernate prepares to the open QueryCounters, after the inspector that was
+// configured before this one, if any, had its say
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    private final StatementInspector delegate;
+
+    public QueryCountingStatementInspector(StatementInspector delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        String inspected = delegate != null ? delegate.inspect(sql) : sql;
+        QueryCounter.record(inspected);
+        return inspected;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.y_eng_backend.querybudget;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.List;
+import java.util.Set;
+
+// The most statements requests to a set of routes may run, in total and of any one statement
+public class RouteBudget {
+
+    private final String name;
+    private final List<PathPattern> patterns;
+    private final Set<String> methods;
+    private final int maxStatements;
+    private final int maxRepeats;
+
+    public RouteBudget(String name, List<PathPattern> patterns, Set<String> methods, int maxStatements, int maxRepeats) {
+        if (maxStatements < 0 || maxRepeats < 1) {
+            throw new IllegalArgumentException("Query budget " + name + " needs max-statements >= 0 and max-repeats >= 1");
+        }
+        this.name = name;
+        this.patterns = patterns;
+        this.methods = methods;
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+    }
+
+    public boolean matches(String method, PathContainer path) {
+        if (!methods.isEmpty() && !methods.contains(method)) {
+            return false;
+        }
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public int getMaxRepeats() {
+        return maxRepeats;
+    }
+}
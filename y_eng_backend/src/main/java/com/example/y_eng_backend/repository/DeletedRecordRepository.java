@@ -0,0 +1,25 @@
+package com.example.y_eng_backend.repository;
+
+import com.example.y_eng_backend.entity.DeletedRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface DeletedRecordRepository extends JpaRepository<DeletedRecord, Long> {
+
+    // Tombstones of one entity type recorded in (since, upTo]
+    List<DeletedRecord> findByEntityTypeAndDeletedAtGreaterThanAndDeletedAtLessThanEqualOrderByDeletedAtAsc(
+            String entityType, OffsetDateTime since, OffsetDateTime upTo);
+
+    // Drop tombstones past the retention window
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DeletedRecord d WHERE d.deletedAt < :before")
+    int deleteOlderThan(OffsetDateTime before);
+}
@@ -0,0 +1,62 @@
+package com.example.y_eng_backend.repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+// Order columns the admin dashboard shows (items are read separately in one query)
+public class OrderDashboardView {
+
+    private final Long id;
+    private final String orderNumber;
+    private final String customerName;
+    private final String customerPhone;
+    private final BigDecimal totalAmount;
+    private final String paymentMethod;
+    private final String status;
+    private final OffsetDateTime createdAt;
+
+    public OrderDashboardView(Long id, String orderNumber, String customerName, String customerPhone,
+            BigDecimal totalAmount, String paymentMethod, String status, OffsetDateTime createdAt) {
+        this.id = id;
+        this.orderNumber = orderNumber;
+        this.customerName = customerName;
+        this.customerPhone = customerPhone;
+        this.totalAmount = totalAmount;
+        this.paymentMethod = paymentMethod;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
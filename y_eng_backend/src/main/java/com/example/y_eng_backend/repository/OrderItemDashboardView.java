@@ -0,0 +1,46 @@
+package com.example.y_eng_backend.repository;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+
+// Order item columns the admin dashboard shows
+public class OrderItemDashboardView {
+
+    private final Long id;
+    private final Long orderId;
+    private final String productName;
+    private final Integer quantity;
+    private final BigDecimal priceAtPurchase;
+
+    public OrderItemDashboardView(Long id, Long orderId, String productName, Integer quantity,
+            BigDecimal priceAtPurchase) {
+        this.id = id;
+        this.orderId = orderId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.priceAtPurchase = priceAtPurchase;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    @JsonIgnore
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getPriceAtPurchase() {
+        return priceAtPurchase;
+    }
+}
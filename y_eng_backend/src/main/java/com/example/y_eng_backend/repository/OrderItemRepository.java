@@ -2,10 +2,16 @@ package com.example.y_eng_backend.repository;
 
 import com.example.y_eng_backend.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
+
+    // Admin dashboard: every order's items in one query
+    @Query("SELECT new com.example.y_eng_backend.repository.OrderItemDashboardView(i.id, i.orderId, i.productName,"
+            + " i.quantity, i.priceAtPurchase) FROM OrderItem i ORDER BY i.orderId, i.id")
+    List<OrderItemDashboardView> findDashboardViews();
 }
\ No newline at end of file
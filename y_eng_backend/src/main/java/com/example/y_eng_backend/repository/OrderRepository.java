@@ -1,8 +1,11 @@
 package com.example.y_eng_backend.repository;
 
 import com.example.y_eng_backend.entity.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,4 +14,15 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserIdOrderByCreatedAtDesc(UUID userId);
     List<Order> findAllByOrderByCreatedAtDesc();
     List<Order> findByStatus(String status);
+    List<OrderSearchView> findAllBy();
+    List<OrderSearchView> findProjectedByStatus(String status);
+    // Delta sync: orders changed in (since, upTo], oldest change first
+    List<Order> findByUpdatedAtGreaterThanAndUpdatedAtLessThanEqualOrderByUpdatedAtAscIdAsc(
+            OffsetDateTime since, OffsetDateTime upTo, Limit limit);
+    // Admin dashboard order list, newest first
+    @Query("SELECT new com.example.y_eng_backend.repository.OrderDashboardView(o.id, o.orderNumber, o.customerName,"
+            + " o.customerPhone, o.totalAmount, o.paymentMethod, o.status, o.createdAt) FROM Order o ORDER BY o.createdAt DESC")
+    List<OrderDashboardView> findDashboardViews();
+    // Admin dashboard KPI
+    long countByStatus(String status);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.y_eng_backend.repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+// Closed projection of the order columns the admin search index needs (no items, no TEXT columns)
+public interface OrderSearchView {
+    Long getId();
+    String getOrderNumber();
+    String getCustomerName();
+    String getCustomerPhone();
+    BigDecimal getTotalAmount();
+    String getStatus();
+    OffsetDateTime getCreatedAt();
+}
@@ -0,0 +1,61 @@
+package com.example.y_eng_backend.repository;
+
+import java.math.BigDecimal;
+
+// Product columns the admin dashboard lists and edits, with the category name joined in
+public class ProductDashboardView {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final Integer stockQty;
+    private final String imageUrl;
+    private final Long categoryId;
+    private final String categoryName;
+
+    public ProductDashboardView(Long id, String name, String description, BigDecimal price, Integer stockQty,
+            String imageUrl, Long categoryId, String categoryName) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.stockQty = stockQty;
+        this.imageUrl = imageUrl;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public Integer getStockQty() {
+        return stockQty;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+}
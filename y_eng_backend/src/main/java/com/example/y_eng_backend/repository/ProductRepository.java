@@ -1,7 +1,11 @@
 package com.example.y_eng_backend.repository;
 
 import com.example.y_eng_backend.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +13,12 @@ import java.util.List;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    // Find products by category
+    // Find products by category; the id lists are cached and dropped whenever the products table is
+    // written through Hibernate
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "product-by-category")
+    })
     List<Product> findByCategoryId(Long categoryId);
 
     // Search products by name (case-insensitive)
@@ -17,4 +26,10 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     // Find products with stock greater than 0
     List<Product> findByStockQtyGreaterThan(Integer qty);
+
+    // Admin dashboard product list. A constructor expression rather than an interface projection:
+    // plain objects are far cheaper to serialize at this row count.
+    @Query("SELECT new com.example.y_eng_backend.repository.ProductDashboardView(p.id, p.name, p.description, p.price,"
+            + " p.stockQty, p.imageUrl, p.categoryId, c.name) FROM Product p LEFT JOIN p.category c ORDER BY p.id")
+    List<ProductDashboardView> findDashboardViews();
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.example.y_eng_backend.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// Repair request columns the admin dashboard shows
+public class RepairDashboardView {
+
+    private final UUID id;
+    private final String customerName;
+    private final String customerPhone;
+    private final String equipmentType;
+    private final String brand;
+    private final String issueDescription;
+    private final String status;
+    private final String urgency;
+    private final String serviceType;
+    private final String adminNotes;
+    private final OffsetDateTime createdAt;
+
+    public RepairDashboardView(UUID id, String customerName, String customerPhone, String equipmentType,
+            String brand, String issueDescription, String status, String urgency, String serviceType,
+            String adminNotes, OffsetDateTime createdAt) {
+        this.id = id;
+        this.customerName = customerName;
+        this.customerPhone = customerPhone;
+        this.equipmentType = equipmentType;
+        this.brand = brand;
+        this.issueDescription = issueDescription;
+        this.status = status;
+        this.urgency = urgency;
+        this.serviceType = serviceType;
+        this.adminNotes = adminNotes;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public String getEquipmentType() {
+        return equipmentType;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getIssueDescription() {
+        return issueDescription;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getUrgency() {
+        return urgency;
+    }
+
+    public String getServiceType() {
+        return serviceType;
+    }
+
+    public String getAdminNotes() {
+        return adminNotes;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
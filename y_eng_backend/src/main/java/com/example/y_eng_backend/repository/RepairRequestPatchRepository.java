@@ -0,0 +1,144 @@
+package com.example.y_eng_backend.repository;
+
+import com.example.y_eng_backend.entity.RepairRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// Column-level writes for repair requests that bypass entity load + full-row save.
+// Only whitelisted fields can be patched; everything else is rejected.
+@Repository
+public class RepairRequestPatchRepository {
+
+    // JSON field -> column
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+    private static final Set<String> NOT_NULL = Set.of("status", "urgency", "serviceType");
+
+    static {
+        COLUMNS.put("customerName", "customer_name");
+        COLUMNS.put("customerPhone", "customer_phone");
+        COLUMNS.put("customerEmail", "customer_email");
+        COLUMNS.put("equipmentType", "equipment_type");
+        COLUMNS.put("brand", "brand");
+        COLUMNS.put("issueDescription", "issue_description");
+        COLUMNS.put("status", "status");
+        COLUMNS.put("adminNotes", "admin_notes");
+        COLUMNS.put("estimatedCost", "estimated_cost");
+        COLUMNS.put("urgency", "urgency");
+        COLUMNS.put("serviceType", "service_type");
+        COLUMNS.put("pickupAddress", "pickup_address");
+        COLUMNS.put("preferredDate", "preferred_date");
+        COLUMNS.put("preferredTime", "preferred_time");
+    }
+
+    // Columns the in-memory dispatch board and search index need after a write (no admin notes / address).
+    // issue_description is TEXT and only comes back when the patch set it; the search index keeps its own copy.
+    private static final String RETURNING = " RETURNING id, user_id, customer_name, customer_phone, equipment_type, brand, " +
+            "status, urgency, service_type, preferred_date, preferred_time, created_at, updated_at, version";
+
+    private static final RowMapper<RepairRequest> RETURNED_ROW = (rs, rowNum) -> {
+        RepairRequest repair = new RepairRequest();
+        repair.setId(rs.getObject("id", UUID.class));
+        repair.setUserId(rs.getObject("user_id", UUID.class));
+        repair.setCustomerName(rs.getString("customer_name"));
+        repair.setCustomerPhone(rs.getString("customer_phone"));
+        repair.setEquipmentType(rs.getString("equipment_type"));
+        repair.setBrand(rs.getString("brand"));
+        repair.setStatus(rs.getString("status"));
+        repair.setUrgency(rs.getString("urgency"));
+        repair.setServiceType(rs.getString("service_type"));
+        repair.setPreferredDate(rs.getObject("preferred_date", LocalDate.class));
+        repair.setPreferredTime(rs.getString("preferred_time"));
+        repair.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class));
+        repair.setUpdatedAt(rs.getObject("updated_at", OffsetDateTime.class));
+        repair.setVersion(rs.getLong("version"));
+        return repair;
+    };
+
+    private static final RowMapper<RepairRequest> RETURNED_ROW_WITH_ISSUE = (rs, rowNum) -> {
+        RepairRequest repair = RETURNED_ROW.mapRow(rs, rowNum);
+        repair.setIssueDescription(rs.getString("issue_description"));
+        return repair;
+    };
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Small columns only: version plus the fields that decide the booking slot
+    public Optional<RepairRequest> findSlotState(UUID id) {
+        List<RepairRequest> rows = jdbcTemplate.query(
+                "SELECT version, status, service_type, preferred_date, preferred_time FROM public.repair_requests WHERE id = :id",
+                new MapSqlParameterSource("id", id),
+                (rs, rowNum) -> {
+                    RepairRequest repair = new RepairRequest();
+                    repair.setId(id);
+                    repair.setVersion(rs.getLong("version"));
+                    repair.setStatus(rs.getString("status"));
+                    repair.setServiceType(rs.getString("service_type"));
+                    repair.setPreferredDate(rs.getObject("preferred_date", LocalDate.class));
+                    repair.setPreferredTime(rs.getString("preferred_time"));
+                    return repair;
+                });
+        return rows.stream().findFirst();
+    }
+
+    // Validate a merge patch and convert its values to column types (JSON null clears the column)
+    public Map<String, Object> convert(Map<String, Object> patch) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            String field = entry.getKey();
+            Object value = entry.getValue();
+            if (!COLUMNS.containsKey(field)) {
+                throw new IllegalArgumentException("Field cannot be patched: " + field);
+            }
+            if (value == null) {
+                if (NOT_NULL.contains(field)) {
+                    throw new IllegalArgumentException("Field cannot be null: " + field);
+                }
+                values.put(field, null);
+            } else if (field.equals("estimatedCost")) {
+                values.put(field, new BigDecimal(value.toString()));
+            } else if (field.equals("preferredDate")) {
+                values.put(field, LocalDate.parse(value.toString()));
+            } else if (value instanceof String) {
+                values.put(field, value);
+            } else {
+                throw new IllegalArgumentException("Field must be a string: " + field);
+            }
+        }
+        return values;
+    }
+
+    // One UPDATE of just the supplied columns, guarded by the expected version; empty if the version moved on.
+    // The returned row carries the issue description only if the patch included it.
+    public Optional<RepairRequest> applyPatch(UUID id, long expectedVersion, Map<String, Object> values) {
+        StringBuilder sql = new StringBuilder("UPDATE public.repair_requests SET ");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("expectedVersion", expectedVersion);
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            String column = COLUMNS.get(entry.getKey());
+            sql.append(column).append(" = :").append(entry.getKey()).append(", ");
+            params.addValue(entry.getKey(), entry.getValue());
+        }
+        sql.append("updated_at = now(), version = version + 1 WHERE id = :id AND version = :expectedVersion");
+        sql.append(RETURNING);
+        if (values.containsKey("issueDescription")) {
+            sql.append(", issue_description");
+            return jdbcTemplate.query(sql.toString(), params, RETURNED_ROW_WITH_ISSUE).stream().findFirst();
+        }
+        return jdbcTemplate.query(sql.toString(), params, RETURNED_ROW).stream().findFirst();
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.y_eng_backend.repository;
 
 import com.example.y_eng_backend.entity.RepairRequest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,9 +20,22 @@ public interface RepairRequestRepository extends JpaRepository<RepairRequest, UU
     // Find repairs by status
     List<RepairRequest> findByStatus(String status);
 
+    // Find repairs in any of the given statuses
+    List<RepairRequest> findByStatusIn(Collection<String> statuses);
+
     // Find repairs by user and status
     List<RepairRequest> findByUserIdAndStatus(UUID userId, String status);
 
     // Find all repairs ordered by creation date
     List<RepairRequest> findAllByOrderByCreatedAtDesc();
+
+    // Delta sync: repairs changed in (since, upTo], oldest change first
+    List<RepairRequest> findByUpdatedAtGreaterThanAndUpdatedAtLessThanEqualOrderByUpdatedAtAscIdAsc(
+            OffsetDateTime since, OffsetDateTime upTo, Limit limit);
+
+    // Admin dashboard: newest first
+    @Query("SELECT new com.example.y_eng_backend.repository.RepairDashboardView(r.id, r.customerName, r.customerPhone,"
+            + " r.equipmentType, r.brand, r.issueDescription, r.status, r.urgency, r.serviceType, r.adminNotes, r.createdAt)"
+            + " FROM RepairRequest r ORDER BY r.createdAt DESC")
+    List<RepairDashboardView> findDashboardViews();
 }
\ No newline at end of file
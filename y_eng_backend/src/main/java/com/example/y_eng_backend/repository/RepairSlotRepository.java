@@ -0,0 +1,63 @@
+package com.example.y_eng_backend.repository;
+
+import com.example.y_eng_backend.entity.RepairSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RepairSlotRepository extends JpaRepository<RepairSlot, Long> {
+
+    // All slots in a date range (availability calendar)
+    List<RepairSlot> findBySlotDateBetween(LocalDate from, LocalDate to);
+
+    Optional<RepairSlot> findBySlotDateAndTimeWindowAndServiceType(LocalDate slotDate, String timeWindow, String serviceType);
+
+    // Create the slot row with the default capacity unless it already exists
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO public.repair_slots (slot_date, time_window, service_type, capacity, reserved) " +
+            "VALUES (:slotDate, :timeWindow, :serviceType, :capacity, 0) " +
+            "ON CONFLICT (slot_date, time_window, service_type) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("slotDate") LocalDate slotDate,
+                       @Param("timeWindow") String timeWindow,
+                       @Param("serviceType") String serviceType,
+                       @Param("capacity") int capacity);
+
+    // Take one unit of capacity; returns 0 when the slot is already full
+    @Transactional
+    @Modifying
+    @Query("UPDATE RepairSlot s SET s.reserved = s.reserved + 1 " +
+            "WHERE s.slotDate = :slotDate AND s.timeWindow = :timeWindow AND s.serviceType = :serviceType " +
+            "AND s.reserved < s.capacity")
+    int tryReserve(@Param("slotDate") LocalDate slotDate,
+                   @Param("timeWindow") String timeWindow,
+                   @Param("serviceType") String serviceType);
+
+    // Give back one unit of capacity
+    @Transactional
+    @Modifying
+    @Query("UPDATE RepairSlot s SET s.reserved = s.reserved - 1 " +
+            "WHERE s.slotDate = :slotDate AND s.timeWindow = :timeWindow AND s.serviceType = :serviceType " +
+            "AND s.reserved > 0")
+    int release(@Param("slotDate") LocalDate slotDate,
+                @Param("timeWindow") String timeWindow,
+                @Param("serviceType") String serviceType);
+
+    // Change capacity (admin)
+    @Transactional
+    @Modifying
+    @Query("UPDATE RepairSlot s SET s.capacity = :capacity " +
+            "WHERE s.slotDate = :slotDate AND s.timeWindow = :timeWindow AND s.serviceType = :serviceType")
+    int updateCapacity(@Param("slotDate") LocalDate slotDate,
+                       @Param("timeWindow") String timeWindow,
+                       @Param("serviceType") String serviceType,
+                       @Param("capacity") int capacity);
+}
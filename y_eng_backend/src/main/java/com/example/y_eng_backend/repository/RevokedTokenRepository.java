@@ -0,0 +1,27 @@
+package com.example.y_eng_backend.repository;
+
+import com.example.y_eng_backend.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // Rows revoked since the given instant that still matter
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(OffsetDateTime since, OffsetDateTime now);
+
+    // Every row that still matters
+    List<RevokedToken> findByExpiresAtAfter(OffsetDateTime now);
+
+    // Drop rows whose tokens would have expired anyway
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(OffsetDateTime now);
+}
@@ -1,22 +1,33 @@
 package com.example.y_eng_backend.security;
 
+import com.example.y_eng_backend.logging.LogMarkers;
+import com.example.y_eng_backend.security.jwt.JwtPrincipal;
 import com.example.y_eng_backend.security.jwt.JwtResponse;
 import com.example.y_eng_backend.security.jwt.JwtUtil;
+import com.example.y_eng_backend.security.revocation.TokenRevocationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:3000")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> loginRequest) {
         try {
@@ -24,30 +35,23 @@ public class AuthController {
             String email = loginRequest.get("email");
             String role = loginRequest.get("role");
 
-            System.out.println("----------------");
-            System.out.println(" Login request received:");
-            System.out.println("   User ID: " + userId);
-            System.out.println("   Email: " + email);
-            System.out.println("   Role: " + role);
+            log.info(LogMarkers.SAMPLED, "Login request for user {} with role {}", userId, role);
 
             if (userId == null || email == null || role == null) {
-                System.err.println(" Missing required fields");
+                log.warn("Login request missing required fields");
                 return ResponseEntity.badRequest().body(Map.of(
                         "error", "Missing required fields"
                 ));
             }
 
             String token = jwtUtil.generateToken(userId, email, role);
-            System.out.println("JWT token generated successfully");
-            System.out.println("   Token preview: " + token.substring(0, Math.min(50, token.length())) + "...");
-            System.out.println("--------------");
+            log.info(LogMarkers.SAMPLED, "JWT issued for user {}", userId);
 
             JwtResponse jwtResponse = new JwtResponse(token, userId, email, role);
             return ResponseEntity.ok(jwtResponse);
 
         } catch (Exception e) {
-            System.err.println("❌ Login error: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Login error", e);
             return ResponseEntity.status(500).body(Map.of(
                     "error", "Error generating token",
                     "message", e.getMessage()
@@ -64,18 +68,15 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(Map.of("valid", false));
             }
 
-            boolean isValid = jwtUtil.validateToken(token) && !jwtUtil.isTokenExpired(token);
-
-            if (isValid) {
-                String userId = jwtUtil.getUserIdFromToken(token);
-                String email = jwtUtil.getEmailFromToken(token);
-                String role = jwtUtil.getRoleFromToken(token);
+            Optional<JwtPrincipal> principal = jwtUtil.verify(token)
+                    .filter(p -> !tokenRevocationService.isRevoked(p));
 
+            if (principal.isPresent()) {
                 return ResponseEntity.ok(Map.of(
                         "valid", true,
-                        "userId", userId,
-                        "email", email,
-                        "role", role
+                        "userId", principal.get().getUserId(),
+                        "email", principal.get().getEmail(),
+                        "role", principal.get().getRole()
                 ));
             } else {
                 return ResponseEntity.ok(Map.of("valid", false));
@@ -95,15 +96,14 @@ public class AuthController {
 
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token) && !jwtUtil.isTokenExpired(token)) {
-                String userId = jwtUtil.getUserIdFromToken(token);
-                String email = jwtUtil.getEmailFromToken(token);
-                String role = jwtUtil.getRoleFromToken(token);
+            Optional<JwtPrincipal> principal = jwtUtil.verify(token)
+                    .filter(p -> !tokenRevocationService.isRevoked(p));
 
+            if (principal.isPresent()) {
                 return ResponseEntity.ok(Map.of(
-                        "userId", userId,
-                        "email", email,
-                        "role", role
+                        "userId", principal.get().getUserId(),
+                        "email", principal.get().getEmail(),
+                        "role", principal.get().getRole()
                 ));
             } else {
                 return ResponseEntity.status(401).body(Map.of("error", "Invalid token"));
@@ -113,4 +113,44 @@ public class AuthController {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
     }
+
+    // Revoke the caller's token
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        try {
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return ResponseEntity.status(401).body(Map.of("error", "No token provided"));
+            }
+
+            Optional<JwtPrincipal> principal = jwtUtil.verify(authHeader.substring(7));
+            if (principal.isEmpty()) {
+                return ResponseEntity.noContent().build(); // already unusable
+            }
+            if (principal.get().getTokenId() != null) {
+                tokenRevocationService.revokeToken(principal.get());
+            } else {
+                tokenRevocationService.revokeUser(principal.get().getUserId()); // legacy token without jti
+            }
+            return ResponseEntity.noContent().build();
+
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Revoke all tokens issued to a user so far, e.g. after a role change (ROLE_ADMIN, enforced in SecurityConfig)
+    @PostMapping("/revoke-user")
+    public ResponseEntity<?> revokeUser(@RequestBody Map<String, String> request) {
+        try {
+            String userId = request.get("userId");
+            if (userId == null || userId.isBlank()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Missing userId"));
+            }
+            tokenRevocationService.revokeUser(userId);
+            return ResponseEntity.noContent().build();
+
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
+        }
+    }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.example.y_eng_backend.security.jwt;
 
+import com.example.y_eng_backend.logging.LogMarkers;
+import com.example.y_eng_backend.security.revocation.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -14,43 +18,41 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
+
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         // Get JWT from Authorization header
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String userId = null;
-
-        // Extract token from "Bearer <token>"
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            try {
-                userId = jwtUtil.getUserIdFromToken(token);
-            } catch (Exception e) {
-                System.out.println("Error extracting user from token: " + e.getMessage());
-            }
-        }
 
-        // Validate token and set authentication
-        if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(token) && !jwtUtil.isTokenExpired(token)) {
+        // Extract token from "Bearer <token>" and verify it once
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = authHeader.substring(7);
+            Optional<JwtPrincipal> verified = jwtUtil.verify(token);
 
-                // Extract role from token
-                String role = jwtUtil.getRoleFromToken(token);
+            if (verified.isPresent() && verified.get().getUserId() != null
+                    && !tokenRevocationService.isRevoked(verified.get())) {
+                JwtPrincipal principal = verified.get();
+                String role = principal.getRole() != null ? principal.getRole() : "user";
 
                 // Create authentication with role
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
-                                userId,
+                                principal.getUserId(),
                                 null,
                                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
                         );
@@ -58,7 +60,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                System.out.println("✅ JWT validated for user: " + userId + " with role: " + role);
+                log.info(LogMarkers.SAMPLED, "JWT validated for user {} with role {}", principal.getUserId(), role);
             }
         }
 
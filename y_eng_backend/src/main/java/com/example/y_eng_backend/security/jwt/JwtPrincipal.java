@@ -0,0 +1,50 @@
+package com.example.y_eng_backend.security.jwt;
+
+// Claims of a verified token, extracted once per request
+public class JwtPrincipal {
+
+    private final String tokenId;
+    private final String userId;
+    private final String email;
+    private final String role;
+    private final long issuedAtMillis;
+    private final long expiresAtMillis;
+
+    public JwtPrincipal(String tokenId, String userId, String email, String role, long issuedAtMillis, long expiresAtMillis) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.issuedAtMillis = issuedAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    // Getters
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long getIssuedAtMillis() {
+        return issuedAtMillis;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+}
@@ -2,26 +2,47 @@ package com.example.y_eng_backend.security.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtUtil {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
     // Secret key for signing JWT (change this to a secure random key in production)
-    private static final String SECRET_KEY = "YashodaEngineersSecretKeyForJWTAuthenticationSystem2024";
+    // HS512 needs at least 64 bytes of key material, shorter secrets are rejected when signing
+    private static final String SECRET_KEY = "YashodaEngineersSecretKeyForJWTAuthenticationSystem2024-HS512-Key";
 
     // Token expiration time (24 hours)
     private static final long EXPIRATION_TIME = 86400000; // 24 hours in milliseconds
 
-    // Generate signing key
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-    }
+    // Upper bound on cached verified tokens
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    // Signing key and parser are immutable and thread-safe, so build them once
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // SHA-256(token) -> verified claims; entries are dropped once the token expires
+    private final Map<String, JwtPrincipal> verifiedTokens = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
 
     // Generate JWT token
     public String generateToken(String userId, String email, String role) {
@@ -32,58 +53,122 @@ public class JwtUtil {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    // Verify signature and expiry once and return the claims; empty for invalid or expired tokens
+    public Optional<JwtPrincipal> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        String key = hash(token);
+        JwtPrincipal cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                cacheHits.increment();
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(key, cached);
+            return Optional.empty();
+        }
+
+        cacheMisses.increment();
+        Optional<JwtPrincipal> principal = parse(token);
+        principal.ifPresent(p -> cache(key, p, now));
+        return principal;
+    }
+
+    // Verify signature and expiry without the cache (one HS512 check and one claims parse)
+    public Optional<JwtPrincipal> parse(String token) {
+        try {
+            JwtPrincipal principal = toPrincipal(parser.parseClaimsJws(token).getBody());
+            return principal.isExpired(System.currentTimeMillis()) ? Optional.empty() : Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT validation error: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     // Extract user ID from token
     public String getUserIdFromToken(String token) {
-        return getClaimsFromToken(token).getSubject();
+        return verify(token).map(JwtPrincipal::getUserId).orElseThrow(() -> new JwtException("Invalid token"));
     }
 
     // Extract email from token
     public String getEmailFromToken(String token) {
-        return getClaimsFromToken(token).get("email", String.class);
+        return verify(token).map(JwtPrincipal::getEmail).orElseThrow(() -> new JwtException("Invalid token"));
     }
 
     // Extract role from token
     public String getRoleFromToken(String token) {
-        return getClaimsFromToken(token).get("role", String.class);
-    }
-
-    // Extract all claims from token
-    private Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verify(token).map(JwtPrincipal::getRole).orElseThrow(() -> new JwtException("Invalid token"));
     }
 
     // Validate token
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            System.out.println("JWT validation error: " + e.getMessage());
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
     // Check if token is expired
     public boolean isTokenExpired(String token) {
+        return verify(token).isEmpty();
+    }
+
+    private JwtPrincipal toPrincipal(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        return new JwtPrincipal(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get("email", String.class),
+                claims.get("role", String.class),
+                issuedAt == null ? 0 : issuedAt.getTime(),
+                expiration == null ? Long.MAX_VALUE : expiration.getTime());
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public int getCacheSize() {
+        return verifiedTokens.size();
+    }
+
+    private void cache(String key, JwtPrincipal principal, long now) {
+        if (verifiedTokens.size() >= MAX_CACHED_TOKENS) {
+            evict(now);
+        }
+        verifiedTokens.put(key, principal);
+    }
+
+    // Drop expired entries; if the cache is still full, drop an arbitrary tenth of it
+    private void evict(long now) {
+        verifiedTokens.values().removeIf(p -> p.isExpired(now));
+        int excess = verifiedTokens.size() - MAX_CACHED_TOKENS * 9 / 10;
+        Iterator<String> it = verifiedTokens.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    // Cache key: never keep raw tokens in memory and never trust a weak hash for identity
+    private static String hash(String token) {
         try {
-            Date expiration = getClaimsFromToken(token).getExpiration();
-            return expiration.before(new Date());
-        } catch (Exception e) {
-            return true;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,146 @@
+package com.example.y_eng_backend.security.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Token-bucket rate limiting per route group, keyed by the authenticated user id (set by
+// JwtAuthFilter, which runs first) or the client IP. The first group whose paths match wins;
+// requests outside every group are not limited. Groups come from ratelimit.groups and
+// ratelimit.group.<name>.* in application.properties.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private Environment environment;
+
+    private volatile boolean enabled;
+    private boolean trustForwardedFor;
+    private List<RateLimitGroup> groups = List.of();
+
+    @PostConstruct
+    void init() {
+        enabled = environment.getProperty("ratelimit.enabled", Boolean.class, true);
+        trustForwardedFor = environment.getProperty("ratelimit.trust-forwarded-for", Boolean.class, false);
+        int maxKeys = environment.getProperty("ratelimit.max-keys", Integer.class, 100_000);
+
+        List<RateLimitGroup> configured = new ArrayList<>();
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        for (String name : environment.getProperty("ratelimit.groups", String[].class, new String[0])) {
+            String prefix = "ratelimit.group." + name.trim() + ".";
+            List<PathPattern> patterns = new ArrayList<>();
+            for (String path : environment.getRequiredProperty(prefix + "paths", String[].class)) {
+                patterns.add(parser.parse(path.trim()));
+            }
+            Set<String> methods = new HashSet<>();
+            for (String method : environment.getProperty(prefix + "methods", String[].class, new String[0])) {
+                methods.add(method.trim().toUpperCase());
+            }
+            configured.add(new RateLimitGroup(
+                    name.trim(),
+                    patterns,
+                    methods,
+                    environment.getRequiredProperty(prefix + "capacity", Integer.class),
+                    environment.getRequiredProperty(prefix + "refill-per-second", Double.class),
+                    maxKeys));
+        }
+        groups = Collections.unmodifiableList(configured);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights carry no credentials and must never be throttled
+        return !enabled || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RateLimitGroup group = findGroup(request);
+        if (group != null) {
+            long wait = group.tryAcquire(clientKey(request), System.nanoTime());
+            if (wait > 0) {
+                long retryAfterSeconds = Math.max(1, (wait + 999_999_999L) / 1_000_000_000L);
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"error\":\"Too many requests\",\"retryAfterSeconds\":" + retryAfterSeconds + "}");
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitGroup findGroup(HttpServletRequest request) {
+        if (groups.isEmpty()) {
+            return null;
+        }
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (!contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            uri = uri.substring(contextPath.length());
+        }
+        PathContainer path = PathContainer.parsePath(uri);
+        String method = request.getMethod();
+        for (RateLimitGroup group : groups) {
+            if (group.matches(method, path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    // Authenticated callers get their own bucket wherever they connect from
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "u:" + authentication.getName();
+        }
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return "ip:" + (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // Drop idle buckets so keys that stopped sending don't pin memory
+    @Scheduled(fixedDelayString = "${ratelimit.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (RateLimitGroup group : groups) {
+            group.sweep(now);
+        }
+    }
+
+    public List<RateLimitGroup> getGroups() {
+        return groups;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.y_eng_backend.security.ratelimit;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// One route group with its own token-bucket limit and per-key buckets.
+// Each bucket is a single AtomicLong holding the "theoretical arrival time" of the next
+// request (GCRA form of a token bucket), so acquiring a token is one CAS and needs no lock.
+// A bucket whose arrival time is in the past is full again and can be dropped without changing
+// behaviour, which is what keeps the key map bounded.
+public class RateLimitGroup {
+
+    private final String name;
+    private final List<PathPattern> patterns;
+    private final Set<String> methods;
+    private final int capacity;
+    private final long emissionNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimitGroup(String name, List<PathPattern> patterns, Set<String> methods,
+                          int capacity, double refillPerSecond, int maxKeys) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit group " + name + " needs capacity >= 1 and refill > 0");
+        }
+        this.name = name;
+        this.patterns = patterns;
+        this.methods = methods;
+        this.capacity = capacity;
+        this.emissionNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = emissionNanos * capacity;
+        this.maxKeys = maxKeys;
+    }
+
+    public boolean matches(String method, PathContainer path) {
+        if (!methods.isEmpty() && !methods.contains(method)) {
+            return false;
+        }
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Take one token for the key. Returns 0 when allowed, otherwise nanos until a token is available
+    public long tryAcquire(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                sweep(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + emissionNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Drop full buckets; if the map is still over its bound (many active keys), shed down to 7/8
+    public void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() <= now);
+            int target = maxKeys - maxKeys / 8;
+            Iterator<AtomicLong> it = buckets.values().iterator();
+            while (buckets.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public int getTrackedKeys() {
+        return buckets.size();
+    }
+}
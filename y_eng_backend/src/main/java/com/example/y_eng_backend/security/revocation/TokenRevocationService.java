@@ -0,0 +1,197 @@
+package com.example.y_eng_backend.security.revocation;
+
+import com.example.y_eng_backend.entity.RevokedToken;
+import com.example.y_eng_backend.repository.RevokedTokenRepository;
+import com.example.y_eng_backend.security.jwt.JwtPrincipal;
+import com.example.y_eng_backend.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Token revocation (logout by jti, and "everything issued before T" per user for role changes).
+// The revoked_tokens table is mirrored in memory: Bloom filters answer the common "not revoked"
+// case without touching a map, and exact maps confirm the filter's positives. Rows from other
+// nodes are pulled by revoked_at: each refresh re-reads everything revoked since the previous one
+// started, less refresh-overlap-ms, because a row only becomes visible when its transaction commits,
+// and it was stamped on a clock of its own before that. Applying a row twice changes nothing. The
+// hourly rebuild reloads every live row, as a backstop for anything committed later still.
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Tokens live 24 hours, so a user-wide revocation only has to outlive that
+    @Value("${jwt.revocation.user-revocation-ttl-ms:86400000}")
+    private long userRevocationTtlMillis;
+
+    @Value("${jwt.revocation.refresh-overlap-ms:60000}")
+    private long refreshOverlapMillis;
+
+    // jti -> token expiry (epoch ms)
+    private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+    // user id -> tokens issued before this instant (epoch ms) are revoked
+    private final Map<String, Long> revokedUsersBefore = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter tokenFilter;
+    private volatile BloomFilter userFilter;
+    // When the last successful refresh started; null until the first one loaded every live row
+    private volatile OffsetDateTime lastRefreshStarted;
+
+    // Filter positives that had to be checked against the maps, and requests actually rejected
+    private final LongAdder filterPositives = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        tokenFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+        userFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    // Hot path, called for every authenticated request
+    public boolean isRevoked(JwtPrincipal principal) {
+        String tokenId = principal.getTokenId();
+        if (tokenId != null && tokenFilter.mightContain(tokenId)) {
+            filterPositives.increment();
+            if (revokedTokenIds.containsKey(tokenId)) {
+                rejected.increment();
+                return true;
+            }
+        }
+        String userId = principal.getUserId();
+        if (userId != null && userFilter.mightContain(userId)) {
+            filterPositives.increment();
+            Long before = revokedUsersBefore.get(userId);
+            if (before != null && principal.getIssuedAtMillis() < before) {
+                rejected.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Revoke one token (logout)
+    public void revokeToken(JwtPrincipal principal) {
+        if (principal.getTokenId() == null) {
+            throw new IllegalArgumentException("Token has no id, revoke the user instead");
+        }
+        RevokedToken row = new RevokedToken();
+        row.setTokenId(principal.getTokenId());
+        row.setUserId(principal.getUserId());
+        row.setExpiresAt(toOffset(principal.getExpiresAtMillis()));
+        revokedTokenRepository.save(row);
+        applyToken(principal.getTokenId(), principal.getExpiresAtMillis());
+    }
+
+    // Revoke every token a user holds right now (role change, compromised account)
+    public void revokeUser(String userId) {
+        // iat has second precision: round up so a token issued earlier in this second is caught too
+        long before = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        RevokedToken row = new RevokedToken();
+        row.setUserId(userId);
+        row.setRevokedBefore(toOffset(before));
+        row.setExpiresAt(toOffset(before + userRevocationTtlMillis));
+        revokedTokenRepository.save(row);
+        applyUser(userId, before);
+    }
+
+    // Pull rows written by any node since the last refresh
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-ms:5000}")
+    public void refresh() {
+        OffsetDateTime started = OffsetDateTime.now();
+        OffsetDateTime previous = lastRefreshStarted;
+        try {
+            apply(previous == null
+                    ? revokedTokenRepository.findByExpiresAtAfter(started)
+                    : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(
+                            previous.minusNanos(refreshOverlapMillis * 1_000_000), started));
+            lastRefreshStarted = started;
+        } catch (RuntimeException e) {
+            log.error("Token revocation refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // Bloom filters cannot forget, so rebuild them hourly from the live entries and purge old rows
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-ms:3600000}", initialDelayString = "${jwt.revocation.rebuild-ms:3600000}")
+    public void rebuild() {
+        try {
+            apply(revokedTokenRepository.findByExpiresAtAfter(OffsetDateTime.now()));
+        } catch (RuntimeException e) {
+            log.error("Token revocation reload failed: {}", e.getMessage());
+        }
+        long now = System.currentTimeMillis();
+        revokedTokenIds.values().removeIf(expiresAt -> expiresAt < now);
+        revokedUsersBefore.values().removeIf(before -> before + userRevocationTtlMillis < now);
+
+        BloomFilter tokens = new BloomFilter(Math.max(expectedEntries, revokedTokenIds.size() * 2), falsePositiveRate);
+        revokedTokenIds.keySet().forEach(tokens::add);
+        BloomFilter users = new BloomFilter(Math.max(expectedEntries, revokedUsersBefore.size() * 2), falsePositiveRate);
+        revokedUsersBefore.keySet().forEach(users::add);
+        tokenFilter = tokens;
+        userFilter = users;
+        // Entries applied concurrently with the swap are still in the maps; re-add them to the new filters
+        revokedTokenIds.keySet().forEach(tokenFilter::add);
+        revokedUsersBefore.keySet().forEach(userFilter::add);
+
+        try {
+            revokedTokenRepository.deleteExpired(OffsetDateTime.now());
+        } catch (RuntimeException e) {
+            log.error("Token revocation purge failed: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("revokedTokens", (long) revokedTokenIds.size());
+        stats.put("revokedUsers", (long) revokedUsersBefore.size());
+        stats.put("filterPositives", filterPositives.sum());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+
+    private void apply(List<RevokedToken> rows) {
+        for (RevokedToken row : rows) {
+            if (row.getTokenId() != null) {
+                applyToken(row.getTokenId(), row.getExpiresAt().toInstant().toEpochMilli());
+            } else if (row.getUserId() != null && row.getRevokedBefore() != null) {
+                applyUser(row.getUserId(), row.getRevokedBefore().toInstant().toEpochMilli());
+            }
+        }
+    }
+
+    // Exact entry first, then the filter, so a lookup that passes the filter always finds the entry
+    private void applyToken(String tokenId, long expiresAtMillis) {
+        revokedTokenIds.put(tokenId, expiresAtMillis);
+        tokenFilter.add(tokenId);
+    }
+
+    private void applyUser(String userId, long beforeMillis) {
+        revokedUsersBefore.merge(userId, beforeMillis, Math::max);
+        userFilter.add(userId);
+    }
+
+    private static OffsetDateTime toOffset(long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
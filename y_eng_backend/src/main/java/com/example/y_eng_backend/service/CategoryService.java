@@ -2,10 +2,15 @@ package com.example.y_eng_backend.service;
 
 import com.example.y_eng_backend.entity.Category;
 import com.example.y_eng_backend.repository.CategoryRepository;
+import com.example.y_eng_backend.service.invalidation.CacheInvalidationBus;
+import com.example.y_eng_backend.service.singleflight.SingleFlight;
+import com.example.y_eng_backend.service.singleflight.SingleFlightLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -14,12 +19,24 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private SingleFlightLoader singleFlightLoader;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    // Concurrent requests for the same category share one load
+    private final SingleFlight<Long, Optional<Category>> categoryById = new SingleFlight<>();
+
+    @Transactional(readOnly = true)
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
 
+    // Single-flight; SingleFlightLoader opens the read-only transaction
     public Optional<Category> getCategoryById(Long id) {
-        return categoryRepository.findById(id);
+        return singleFlightLoader.load(categoryById, id, CategoryService.class.getName() + ".getCategoryById",
+                () -> categoryRepository.findById(id));
     }
 
     public Category createCategory(Category category) {
@@ -28,7 +45,9 @@ public class CategoryService {
         if (existing.isPresent()) {
             throw new RuntimeException("Category with name '" + category.getName() + "' already exists");
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.CATEGORY, saved.getId());
+        return saved;
     }
 
     public Category updateCategory(Long id, Category categoryDetails) {
@@ -37,12 +56,19 @@ public class CategoryService {
 
         category.setName(categoryDetails.getName());
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.CATEGORY, id);
+        return saved;
     }
 
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         categoryRepository.delete(category);
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.CATEGORY, id);
+    }
+
+    public Map<String, SingleFlight<?, ?>> getSingleFlights() {
+        return Map.of("category", categoryById);
     }
 }
\ No newline at end of file
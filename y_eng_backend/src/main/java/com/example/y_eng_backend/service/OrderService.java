@@ -5,6 +5,10 @@ import com.example.y_eng_backend.entity.Order;
 import com.example.y_eng_backend.entity.OrderItem;
 import com.example.y_eng_backend.repository.OrderRepository;
 import com.example.y_eng_backend.repository.OrderItemRepository;
+import com.example.y_eng_backend.service.events.ChangeEventBus;
+import com.example.y_eng_backend.service.invalidation.CacheInvalidationBus;
+import com.example.y_eng_backend.service.search.AdminSearchService;
+import com.example.y_eng_backend.service.sla.SlaMonitorService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,14 +31,29 @@ public class OrderService {
     @Autowired
     private CartService cartService;
 
+    @Autowired
+    private AdminSearchService adminSearchService;
+
+    @Autowired
+    private SlaMonitorService slaMonitorService;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Transactional(readOnly = true)
     public List<Order> getUserOrders(UUID userId) {
         return orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Order> getOrderById(Long id) {
         return orderRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
         return orderRepository.findAllByOrderByCreatedAtDesc();
     }
@@ -63,7 +82,12 @@ public class OrderService {
         cartService.clearCart(order.getUserId());
 
         // Return order with items
-        return orderRepository.findById(savedOrder.getId()).get();
+        Order created = orderRepository.findById(savedOrder.getId()).get();
+        adminSearchService.onOrderSaved(created);
+        slaMonitorService.onOrderSaved(created);
+        changeEventBus.onOrderChanged(created, "created");
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.ORDER, created.getId());
+        return created;
     }
 
     @Transactional
@@ -72,7 +96,12 @@ public class OrderService {
         if (optionalOrder.isPresent()) {
             Order order = optionalOrder.get();
             order.setStatus(status);
-            return orderRepository.save(order);
+            Order saved = orderRepository.save(order);
+            adminSearchService.onOrderSaved(saved);
+            slaMonitorService.onOrderSaved(saved);
+            changeEventBus.onOrderChanged(saved, "updated");
+            cacheInvalidationBus.invalidate(CacheInvalidationBus.ORDER, saved.getId());
+            return saved;
         }
         throw new RuntimeException("Order not found");
     }
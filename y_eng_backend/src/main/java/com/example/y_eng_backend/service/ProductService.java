@@ -1,11 +1,18 @@
 package com.example.y_eng_backend.service;
 
+import com.example.y_eng_backend.entity.Category;
 import com.example.y_eng_backend.entity.Product;
+import com.example.y_eng_backend.repository.CategoryRepository;
 import com.example.y_eng_backend.repository.ProductRepository;
+import com.example.y_eng_backend.service.invalidation.CacheInvalidationBus;
+import com.example.y_eng_backend.service.singleflight.SingleFlight;
+import com.example.y_eng_backend.service.singleflight.SingleFlightLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -14,34 +21,55 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SingleFlightLoader singleFlightLoader;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    // Concurrent requests for the same product or category share one load
+    private final SingleFlight<Long, Optional<Product>> productById = new SingleFlight<>();
+    private final SingleFlight<Long, List<Product>> productsByCategory = new SingleFlight<>();
+
     // Get all products
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
-    // Get product by ID
+    // Get product by ID (single-flight; SingleFlightLoader opens the read-only transaction)
     public Optional<Product> getProductById(Long id) {
-        return productRepository.findById(id);
+        return singleFlightLoader.load(productById, id, ProductService.class.getName() + ".getProductById",
+                () -> productRepository.findById(id));
     }
 
-    // Get products by category
+    // Get products by category (single-flight; SingleFlightLoader opens the read-only transaction)
     public List<Product> getProductsByCategory(Long categoryId) {
-        return productRepository.findByCategoryId(categoryId);
+        return singleFlightLoader.load(productsByCategory, categoryId, ProductService.class.getName() + ".getProductsByCategory",
+                () -> productRepository.findByCategoryId(categoryId));
     }
 
     // Search products by name
+    @Transactional(readOnly = true)
     public List<Product> searchProducts(String query) {
         return productRepository.findByNameContainingIgnoreCase(query);
     }
 
     // Get products in stock
+    @Transactional(readOnly = true)
     public List<Product> getInStockProducts() {
         return productRepository.findByStockQtyGreaterThan(0);
     }
 
     // Create new product
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        product.setCategory(resolveCategory(product.getCategoryId()));
+        Product saved = productRepository.save(product);
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.PRODUCT, saved.getId());
+        return saved;
     }
 
     // Update product - FIXED TO INCLUDE IMAGE_URL
@@ -55,13 +83,27 @@ public class ProductService {
         product.setPrice(productDetails.getPrice());
         product.setStockQty(productDetails.getStockQty());
         product.setCategoryId(productDetails.getCategoryId());  // Changed from setCategory
+        product.setCategory(resolveCategory(productDetails.getCategoryId()));
         product.setImageUrl(productDetails.getImageUrl());      // ← CRITICAL FIX!
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.PRODUCT, id);
+        return saved;
     }
 
     // Delete product
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.PRODUCT, id);
+    }
+
+    public Map<String, SingleFlight<?, ?>> getSingleFlights() {
+        return Map.of("product", productById, "product-by-category", productsByCategory);
+    }
+
+    // category is read-only (category_id is written through categoryId) but it is what the
+    // second-level cache stores for the association, so keep it in step with categoryId
+    private Category resolveCategory(Long categoryId) {
+        return categoryId == null ? null : categoryRepository.findById(categoryId).orElse(null);
     }
 }
\ No newline at end of file
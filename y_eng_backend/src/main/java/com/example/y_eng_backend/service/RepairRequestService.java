@@ -1,11 +1,25 @@
 package com.example.y_eng_backend.service;
 
 import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.repository.RepairRequestPatchRepository;
 import com.example.y_eng_backend.repository.RepairRequestRepository;
+import com.example.y_eng_backend.service.booking.SlotCalendarService;
+import com.example.y_eng_backend.service.dispatch.RepairDispatchService;
+import com.example.y_eng_backend.service.events.ChangeEventBus;
+import com.example.y_eng_backend.service.invalidation.CacheInvalidationBus;
+import com.example.y_eng_backend.service.search.AdminSearchService;
+import com.example.y_eng_backend.service.sla.SlaMonitorService;
+import com.example.y_eng_backend.service.sync.DeltaSyncService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,27 +29,66 @@ public class RepairRequestService {
     @Autowired
     private RepairRequestRepository repairRequestRepository;
 
-    // Create new repair request
+    @Autowired
+    private RepairRequestPatchRepository repairRequestPatchRepository;
+
+    @Autowired
+    private RepairDispatchService repairDispatchService;
+
+    @Autowired
+    private SlotCalendarService slotCalendarService;
+
+    @Autowired
+    private AdminSearchService adminSearchService;
+
+    @Autowired
+    private SlaMonitorService slaMonitorService;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private DeltaSyncService deltaSyncService;
+
+    // Create new repair request (reserves the pickup/drop-off slot first)
     public RepairRequest createRepairRequest(RepairRequest repairRequest) {
-        return repairRequestRepository.save(repairRequest);
+        boolean reserved = slotCalendarService.reserve(repairRequest);
+        RepairRequest saved;
+        try {
+            saved = repairRequestRepository.save(repairRequest);
+        } catch (RuntimeException e) {
+            if (reserved) {
+                slotCalendarService.release(repairRequest);
+            }
+            throw e;
+        }
+        afterRepairWritten(saved, "created");
+        return saved;
     }
 
     // Get all repair requests for a user
+    @Transactional(readOnly = true)
     public List<RepairRequest> getUserRepairRequests(UUID userId) {
         return repairRequestRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
     // Get repair request by ID
+    @Transactional(readOnly = true)
     public Optional<RepairRequest> getRepairRequestById(UUID id) {
         return repairRequestRepository.findById(id);
     }
 
     // Get all repair requests (admin)
+    @Transactional(readOnly = true)
     public List<RepairRequest> getAllRepairRequests() {
         return repairRequestRepository.findAllByOrderByCreatedAtDesc();
     }
 
     // Get repairs by status
+    @Transactional(readOnly = true)
     public List<RepairRequest> getRepairsByStatus(String status) {
         return repairRequestRepository.findByStatus(status);
     }
@@ -45,11 +98,14 @@ public class RepairRequestService {
         Optional<RepairRequest> optionalRepair = repairRequestRepository.findById(id);
         if (optionalRepair.isPresent()) {
             RepairRequest repair = optionalRepair.get();
+            RepairRequest before = slotSnapshot(repair);
             repair.setStatus(status);
             if (adminNotes != null && !adminNotes.isEmpty()) {
                 repair.setAdminNotes(adminNotes);
             }
-            return repairRequestRepository.save(repair);
+            RepairRequest saved = saveMovingSlot(before, repair);
+            afterRepairWritten(saved, "updated");
+            return saved;
         }
         throw new RuntimeException("Repair request not found with id: " + id);
     }
@@ -59,6 +115,7 @@ public class RepairRequestService {
         Optional<RepairRequest> optionalRepair = repairRequestRepository.findById(id);
         if (optionalRepair.isPresent()) {
             RepairRequest repair = optionalRepair.get();
+            RepairRequest before = slotSnapshot(repair);
 
             // Update fields
             if (updatedRepair.getEquipmentType() != null) {
@@ -89,13 +146,136 @@ public class RepairRequestService {
                 repair.setEstimatedCost(updatedRepair.getEstimatedCost());
             }
 
-            return repairRequestRepository.save(repair);
+            RepairRequest saved = saveMovingSlot(before, repair);
+            afterRepairWritten(saved, "updated");
+            return saved;
         }
         throw new RuntimeException("Repair request not found with id: " + id);
     }
 
-    // Delete repair request
+    // Partial update (JSON Merge Patch): one UPDATE of only the supplied columns, returns just the changed fields
+    public Map<String, Object> patchRepairRequest(UUID id, Map<String, Object> patch, Long expectedVersion) {
+        RepairRequest before = repairRequestPatchRepository.findSlotState(id)
+                .orElseThrow(() -> new RuntimeException("Repair request not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(before.getVersion())) {
+            throw new OptimisticLockingFailureException("Repair request " + id + " is at version " + before.getVersion());
+        }
+        Map<String, Object> values = repairRequestPatchRepository.convert(patch);
+
+        RepairRequest after = slotSnapshot(before);
+        if (values.containsKey("preferredDate")) {
+            after.setPreferredDate((LocalDate) values.get("preferredDate"));
+        }
+        if (values.containsKey("preferredTime")) {
+            after.setPreferredTime((String) values.get("preferredTime"));
+        }
+        if (values.containsKey("serviceType")) {
+            after.setServiceType((String) values.get("serviceType"));
+        }
+        if (values.containsKey("status")) {
+            after.setStatus((String) values.get("status"));
+        }
+        boolean slotChanged = !sameSlot(before, after);
+        boolean reserved = slotChanged && slotCalendarService.reserve(after);
+
+        Optional<RepairRequest> updated;
+        try {
+            updated = repairRequestPatchRepository.applyPatch(id, before.getVersion(), values);
+        } catch (RuntimeException e) {
+            if (reserved) {
+                slotCalendarService.release(after);
+            }
+            throw e;
+        }
+        if (updated.isEmpty()) {
+            if (reserved) {
+                slotCalendarService.release(after);
+            }
+            throw new OptimisticLockingFailureException("Repair request " + id + " was modified concurrently");
+        }
+        if (slotChanged) {
+            slotCalendarService.release(before);
+        }
+
+        RepairRequest saved = updated.get();
+        afterRepairWritten(saved, "updated", values.containsKey("issueDescription"));
+
+        Map<String, Object> changed = new LinkedHashMap<>();
+        changed.put("id", saved.getId());
+        changed.put("version", saved.getVersion());
+        changed.put("updatedAt", saved.getUpdatedAt());
+        changed.putAll(values);
+        return changed;
+    }
+
+    // Delete repair request, leaving a tombstone for delta sync clients in the same transaction
+    @Transactional
     public void deleteRepairRequest(UUID id) {
+        Optional<RepairRequest> existing = repairRequestRepository.findById(id);
         repairRequestRepository.deleteById(id);
+        existing.ifPresent(repair -> deltaSyncService.recordDeletion(DeltaSyncService.REPAIR, repair.getId()));
+        existing.ifPresent(slotCalendarService::release);
+        repairDispatchService.onRepairDeleted(id);
+        adminSearchService.onRepairDeleted(id);
+        slaMonitorService.onRepairDeleted(id);
+        existing.ifPresent(repair -> changeEventBus.onRepairChanged(repair, "deleted"));
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.REPAIR, id);
+    }
+
+    // Save, moving the booking slot when date, time window, service type or status changed it
+    private RepairRequest saveMovingSlot(RepairRequest before, RepairRequest repair) {
+        boolean slotChanged = !sameSlot(before, repair);
+        boolean reserved = slotChanged && slotCalendarService.reserve(repair);
+        RepairRequest saved;
+        try {
+            saved = repairRequestRepository.save(repair);
+        } catch (RuntimeException e) {
+            if (reserved) {
+                slotCalendarService.release(repair);
+            }
+            throw e;
+        }
+        if (slotChanged) {
+            slotCalendarService.release(before);
+        }
+        return saved;
+    }
+
+    private boolean sameSlot(RepairRequest a, RepairRequest b) {
+        boolean aHolds = slotCalendarService.holdsSlot(a);
+        if (aHolds != slotCalendarService.holdsSlot(b)) {
+            return false;
+        }
+        return !aHolds || (Objects.equals(a.getPreferredDate(), b.getPreferredDate())
+                && Objects.equals(a.getPreferredTime(), b.getPreferredTime())
+                && Objects.equals(a.getServiceType(), b.getServiceType()));
+    }
+
+    // Dispatch board, search index, SLA timers, SSE subscribers and the other nodes all follow a written repair
+    private void afterRepairWritten(RepairRequest saved, String action) {
+        afterRepairWritten(saved, action, true);
+    }
+
+    // issueLoaded is false for patches that left issue_description alone (the row came back without it)
+    private void afterRepairWritten(RepairRequest saved, String action, boolean issueLoaded) {
+        repairDispatchService.onRepairSaved(saved);
+        if (issueLoaded) {
+            adminSearchService.onRepairSaved(saved);
+        } else {
+            adminSearchService.onRepairPatched(saved, false);
+        }
+        slaMonitorService.onRepairSaved(saved);
+        changeEventBus.onRepairChanged(saved, action);
+        cacheInvalidationBus.invalidate(CacheInvalidationBus.REPAIR, saved.getId());
+    }
+
+    // Copy of the fields that decide which slot a repair holds
+    private RepairRequest slotSnapshot(RepairRequest repair) {
+        RepairRequest snapshot = new RepairRequest();
+        snapshot.setPreferredDate(repair.getPreferredDate());
+        snapshot.setPreferredTime(repair.getPreferredTime());
+        snapshot.setServiceType(repair.getServiceType());
+        snapshot.setStatus(repair.getStatus());
+        return snapshot;
     }
 }
\ No newline at end of file
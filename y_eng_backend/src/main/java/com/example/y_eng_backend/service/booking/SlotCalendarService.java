@@ -0,0 +1,230 @@
+package com.example.y_eng_backend.service.booking;
+
+import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.entity.RepairSlot;
+import com.example.y_eng_backend.repository.RepairSlotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Pickup/drop-off capacity calendar.
+// The repair_slots table is the source of truth and is only changed with conditional
+// UPDATEs (reserved < capacity). Each known slot is mirrored in a lock-free counter so
+// full slots are rejected without a round trip and availability is served from memory.
+@Service
+public class SlotCalendarService {
+
+    public static final List<String> SERVICE_TYPES = List.of("pickup", "dropoff");
+
+    @Autowired
+    private RepairSlotRepository repairSlotRepository;
+
+    @Value("${booking.time-windows}")
+    private List<String> timeWindows;
+
+    @Value("${booking.capacity.pickup:3}")
+    private int pickupCapacity;
+
+    @Value("${booking.capacity.dropoff:6}")
+    private int dropoffCapacity;
+
+    @Value("${booking.horizon-days:30}")
+    private int horizonDays;
+
+    @Value("${booking.refresh-seconds:30}")
+    private long refreshSeconds;
+
+    private final Map<SlotKey, SlotCounter> counters = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private volatile long lastRefreshNanos = 0;
+    private volatile boolean everRefreshed = false;
+
+    // A repair holds a slot when it names a known window for today or later and was not rejected
+    public boolean holdsSlot(RepairRequest repair) {
+        return repair.getPreferredDate() != null
+                && repair.getPreferredTime() != null
+                && timeWindows.contains(repair.getPreferredTime())
+                && !repair.getPreferredDate().isBefore(LocalDate.now())
+                && !"rejected".equals(repair.getStatus());
+    }
+
+    // Reserve the repair's slot; returns false when the repair does not use a slot
+    public boolean reserve(RepairRequest repair) {
+        if (!holdsSlot(repair)) {
+            return false;
+        }
+        SlotKey key = keyOf(repair);
+        SlotCounter counter = counters.get(key);
+        if (counter != null && !counter.tryAcquire()) {
+            throw new SlotUnavailableException(key.date(), key.timeWindow(), key.serviceType());
+        }
+
+        boolean reserved;
+        try {
+            if (counter == null) {
+                repairSlotRepository.insertIfAbsent(key.date(), key.timeWindow(), key.serviceType(), defaultCapacity(key.serviceType()));
+            }
+            reserved = repairSlotRepository.tryReserve(key.date(), key.timeWindow(), key.serviceType()) == 1;
+        } catch (RuntimeException e) {
+            if (counter != null) {
+                counter.release();
+            }
+            throw e;
+        }
+
+        // Another node may have taken capacity we did not see yet, resync this slot either way
+        if (!reserved || counter == null) {
+            syncFromDatabase(key);
+        }
+        if (!reserved) {
+            throw new SlotUnavailableException(key.date(), key.timeWindow(), key.serviceType());
+        }
+        return true;
+    }
+
+    // Give the repair's slot back
+    public void release(RepairRequest repair) {
+        if (!holdsSlot(repair)) {
+            return;
+        }
+        SlotKey key = keyOf(repair);
+        if (repairSlotRepository.release(key.date(), key.timeWindow(), key.serviceType()) == 1) {
+            SlotCounter counter = counters.get(key);
+            if (counter != null) {
+                counter.release();
+            }
+        }
+    }
+
+    // Set the capacity of one slot (admin)
+    public void setCapacity(LocalDate date, String timeWindow, String serviceType, int capacity) {
+        if (!timeWindows.contains(timeWindow) || !SERVICE_TYPES.contains(serviceType) || capacity < 0) {
+            throw new IllegalArgumentException("Unknown slot " + date + " / " + timeWindow + " / " + serviceType);
+        }
+        repairSlotRepository.insertIfAbsent(date, timeWindow, serviceType, capacity);
+        repairSlotRepository.updateCapacity(date, timeWindow, serviceType, capacity);
+        syncFromDatabase(new SlotKey(date, timeWindow, serviceType));
+    }
+
+    // Free capacity for the next N days: date -> service type -> time window -> free slots
+    public Map<LocalDate, Map<String, Map<String, Integer>>> availability(int days, String serviceType) {
+        refreshIfStale();
+        List<String> types = serviceType == null || serviceType.isBlank() ? SERVICE_TYPES : List.of(serviceType);
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Map<String, Map<String, Integer>>> calendar = new LinkedHashMap<>();
+        for (int d = 0; d < Math.min(days, horizonDays); d++) {
+            LocalDate date = today.plusDays(d);
+            Map<String, Map<String, Integer>> byType = new LinkedHashMap<>();
+            for (String type : types) {
+                Map<String, Integer> byWindow = new LinkedHashMap<>();
+                for (String window : timeWindows) {
+                    SlotCounter counter = counters.get(new SlotKey(date, window, type));
+                    byWindow.put(window, counter == null ? defaultCapacity(type) : counter.available());
+                }
+                byType.put(type, byWindow);
+            }
+            calendar.put(date, byType);
+        }
+        return calendar;
+    }
+
+    public List<String> getTimeWindows() {
+        return timeWindows;
+    }
+
+    // Reload the whole horizon in one query when the mirror is older than refresh-seconds
+    private void refreshIfStale() {
+        long age = System.nanoTime() - lastRefreshNanos;
+        if (everRefreshed && age < TimeUnit.SECONDS.toNanos(refreshSeconds)) {
+            return;
+        }
+        if (!refreshing.compareAndSet(false, true)) {
+            return; // someone else is refreshing, serve the current view
+        }
+        try {
+            LocalDate today = LocalDate.now();
+            for (RepairSlot slot : repairSlotRepository.findBySlotDateBetween(today, today.plusDays(horizonDays))) {
+                apply(slot);
+            }
+            counters.keySet().removeIf(key -> key.date().isBefore(today));
+            lastRefreshNanos = System.nanoTime();
+            everRefreshed = true;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void syncFromDatabase(SlotKey key) {
+        repairSlotRepository.findBySlotDateAndTimeWindowAndServiceType(key.date(), key.timeWindow(), key.serviceType())
+                .ifPresent(this::apply);
+    }
+
+    private void apply(RepairSlot slot) {
+        SlotKey key = new SlotKey(slot.getSlotDate(), slot.getTimeWindow(), slot.getServiceType());
+        counters.computeIfAbsent(key, k -> new SlotCounter()).set(slot.getCapacity(), slot.getReserved());
+    }
+
+    private SlotKey keyOf(RepairRequest repair) {
+        String type = "pickup".equalsIgnoreCase(repair.getServiceType()) ? "pickup" : "dropoff";
+        return new SlotKey(repair.getPreferredDate(), repair.getPreferredTime(), type);
+    }
+
+    private int defaultCapacity(String serviceType) {
+        return "pickup".equals(serviceType) ? pickupCapacity : dropoffCapacity;
+    }
+
+    private record SlotKey(LocalDate date, String timeWindow, String serviceType) {
+    }
+
+    // Capacity and reservations packed into one long so both are read and CAS'd together
+    static final class SlotCounter {
+
+        private final AtomicLong state = new AtomicLong();
+
+        boolean tryAcquire() {
+            while (true) {
+                long current = state.get();
+                int capacity = (int) (current >>> 32);
+                int reserved = (int) current;
+                if (reserved >= capacity) {
+                    return false;
+                }
+                if (state.compareAndSet(current, pack(capacity, reserved + 1))) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            while (true) {
+                long current = state.get();
+                int reserved = (int) current;
+                if (reserved <= 0 || state.compareAndSet(current, pack((int) (current >>> 32), reserved - 1))) {
+                    return;
+                }
+            }
+        }
+
+        void set(int capacity, int reserved) {
+            state.set(pack(capacity, reserved));
+        }
+
+        int available() {
+            long current = state.get();
+            return Math.max(0, (int) (current >>> 32) - (int) current);
+        }
+
+        private static long pack(int capacity, int reserved) {
+            return ((long) capacity << 32) | (reserved & 0xFFFFFFFFL);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.y_eng_backend.service.booking;
+
+import java.time.LocalDate;
+
+// Thrown when a repair booking asks for a date/time window that is already full
+public class SlotUnavailableException extends RuntimeException {
+
+    public SlotUnavailableException(LocalDate date, String timeWindow, String serviceType) {
+        super("No " + serviceType + " capacity left on " + date + " for " + timeWindow);
+    }
+}
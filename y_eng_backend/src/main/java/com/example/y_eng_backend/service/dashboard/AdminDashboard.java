@@ -0,0 +1,48 @@
+package com.example.y_eng_backend.service.dashboard;
+
+import com.example.y_eng_backend.entity.Category;
+import com.example.y_eng_backend.repository.ProductDashboardView;
+import com.example.y_eng_backend.repository.RepairDashboardView;
+
+import java.util.List;
+import java.util.Map;
+
+// Everything the admin dashboard loads, in one response
+public class AdminDashboard {
+
+    private final Map<String, Long> kpis;
+    private final List<ProductDashboardView> products;
+    private final List<Category> categories;
+    private final List<DashboardOrder> orders;
+    private final List<RepairDashboardView> repairs;
+
+    public AdminDashboard(Map<String, Long> kpis, List<ProductDashboardView> products, List<Category> categories,
+                          List<DashboardOrder> orders, List<RepairDashboardView> repairs) {
+        this.kpis = kpis;
+        this.products = products;
+        this.categories = categories;
+        this.orders = orders;
+        this.repairs = repairs;
+    }
+
+    // Getters
+    public Map<String, Long> getKpis() {
+        return kpis;
+    }
+
+    public List<ProductDashboardView> getProducts() {
+        return products;
+    }
+
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    public List<DashboardOrder> getOrders() {
+        return orders;
+    }
+
+    public List<RepairDashboardView> getRepairs() {
+        return repairs;
+    }
+}
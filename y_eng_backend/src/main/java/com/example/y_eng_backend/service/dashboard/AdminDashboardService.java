@@ -0,0 +1,127 @@
+package com.example.y_eng_backend.service.dashboard;
+
+import com.example.y_eng_backend.entity.Category;
+import com.example.y_eng_backend.repository.CategoryRepository;
+import com.example.y_eng_backend.repository.OrderDashboardView;
+import com.example.y_eng_backend.repository.OrderItemDashboardView;
+import com.example.y_eng_backend.repository.OrderItemRepository;
+import com.example.y_eng_backend.repository.OrderRepository;
+import com.example.y_eng_backend.repository.ProductDashboardView;
+import com.example.y_eng_backend.repository.ProductRepository;
+import com.example.y_eng_backend.repository.RepairDashboardView;
+import com.example.y_eng_backend.repository.RepairRequestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Loads the admin dashboard in one call. Each query runs on its own virtual thread in its own
+// read-only transaction, so on its own connection, and they all run at the same time: the response
+// takes as long as the slowest query instead of the sum. The whole load has one deadline. When it
+// passes, or a query fails, the call returns at once and the queries still running are cancelled
+// by the database when their transaction timeout (the time left, rounded up to whole seconds)
+// expires. They are not interrupted: interrupting a virtual thread blocked on a socket closes it,
+// and the pool would have to replace the connection.
+@Service
+public class AdminDashboardService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private RepairRequestRepository repairRequestRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dashboard.deadline:PT10S}")
+    private Duration deadline;
+
+    // Products, categories, orders with items, repairs and the KPI counts
+    public AdminDashboard getDashboard() {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<Map<String, Long>> kpis = submit(executor, "kpis", deadlineNanos, this::loadKpis);
+            Future<List<ProductDashboardView>> products = submit(executor, "products", deadlineNanos,
+                    productRepository::findDashboardViews);
+            Future<List<Category>> categories = submit(executor, "categories", deadlineNanos, categoryRepository::findAll);
+            Future<List<OrderDashboardView>> orders = submit(executor, "orders", deadlineNanos,
+                    orderRepository::findDashboardViews);
+            Future<List<OrderItemDashboardView>> items = submit(executor, "orderItems", deadlineNanos,
+                    orderItemRepository::findDashboardViews);
+            Future<List<RepairDashboardView>> repairs = submit(executor, "repairs", deadlineNanos,
+                    repairRequestRepository::findDashboardViews);
+            Map<Long, List<OrderItemDashboardView>> itemsByOrder = await(items, deadlineNanos).stream()
+                    .collect(Collectors.groupingBy(OrderItemDashboardView::getOrderId));
+            List<DashboardOrder> ordersWithItems = await(orders, deadlineNanos).stream()
+                    .map(order -> new DashboardOrder(order, itemsByOrder.getOrDefault(order.getId(), List.of())))
+                    .toList();
+            return new AdminDashboard(await(kpis, deadlineNanos), await(products, deadlineNanos),
+                    await(categories, deadlineNanos), ordersWithItems, await(repairs, deadlineNanos));
+        } finally {
+            // Lets queries still running finish or time out on their own
+            executor.shutdown();
+        }
+    }
+
+    private Map<String, Long> loadKpis() {
+        Map<String, Long> kpis = new LinkedHashMap<>();
+        kpis.put("totalProducts", productRepository.count());
+        kpis.put("totalOrders", orderRepository.count());
+        kpis.put("totalRepairs", repairRequestRepository.count());
+        kpis.put("pendingOrders", orderRepository.countByStatus("pending"));
+        return kpis;
+    }
+
+    private <T> Future<T> submit(ExecutorService executor, String name, long deadlineNanos, Supplier<T> query) {
+        return executor.submit(() -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setName(AdminDashboardService.class.getName() + "." + name);
+            transaction.setReadOnly(true);
+            // Statements get the time left as their query timeout (whole seconds, rounded up)
+            long remaining = deadlineNanos - System.nanoTime();
+            transaction.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + TimeUnit.SECONDS.toNanos(1) - 1)));
+            return transaction.execute(status -> query.get());
+        });
+    }
+
+    private <T> T await(Future<T> future, long deadlineNanos) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DashboardTimeoutException(deadline);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the dashboard", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.y_eng_backend.service.dashboard;
+
+import com.example.y_eng_backend.repository.OrderDashboardView;
+import com.example.y_eng_backend.repository.OrderItemDashboardView;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// An order row of the admin dashboard with its items
+public class DashboardOrder {
+
+    private final OrderDashboardView order;
+    private final List<OrderItemDashboardView> items;
+
+    public DashboardOrder(OrderDashboardView order, List<OrderItemDashboardView> items) {
+        this.order = order;
+        this.items = items;
+    }
+
+    // Getters
+    public Long getId() {
+        return order.getId();
+    }
+
+    public String getOrderNumber() {
+        return order.getOrderNumber();
+    }
+
+    public String getCustomerName() {
+        return order.getCustomerName();
+    }
+
+    public String getCustomerPhone() {
+        return order.getCustomerPhone();
+    }
+
+    public BigDecimal getTotalAmount() {
+        return order.getTotalAmount();
+    }
+
+    public String getPaymentMethod() {
+        return order.getPaymentMethod();
+    }
+
+    public String getStatus() {
+        return order.getStatus();
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return order.getCreatedAt();
+    }
+
+    public List<OrderItemDashboardView> getItems() {
+        return items;
+    }
+}
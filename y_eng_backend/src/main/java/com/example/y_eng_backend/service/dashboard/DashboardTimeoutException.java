@@ -0,0 +1,11 @@
+package com.example.y_eng_backend.service.dashboard;
+
+import java.time.Duration;
+
+// Thrown when the dashboard queries do not all finish within the deadline
+public class DashboardTimeoutException extends RuntimeException {
+
+    public DashboardTimeoutException(Duration deadline) {
+        super("Dashboard did not load within " + deadline.toMillis() + " ms");
+    }
+}
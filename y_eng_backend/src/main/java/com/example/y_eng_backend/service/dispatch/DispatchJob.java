@@ -0,0 +1,140 @@
+package com.example.y_eng_backend.service.dispatch;
+
+import com.example.y_eng_backend.entity.RepairRequest;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+// Compact, immutable snapshot of a repair request as seen by the dispatch queue.
+// Large TEXT columns (issue description, admin notes) are left out on purpose.
+public class DispatchJob {
+
+    // Urgent first, then earliest preferred date (unset dates last), then oldest request
+    public static final Comparator<DispatchJob> PRIORITY = Comparator
+            .comparing((DispatchJob job) -> !job.isUrgent())
+            .thenComparing(DispatchJob::getPreferredDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(DispatchJob::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(DispatchJob::getId);
+
+    private final UUID id;
+    private final String customerName;
+    private final String customerPhone;
+    private final String equipmentType;
+    private final String brand;
+    private final String status;
+    private final String urgency;
+    private final String serviceType;
+    private final LocalDate preferredDate;
+    private final String preferredTime;
+    private final OffsetDateTime createdAt;
+    private final String claimedBy;
+    private final OffsetDateTime claimedAt;
+
+    private DispatchJob(RepairRequest repair, String claimedBy, OffsetDateTime claimedAt) {
+        this.id = repair.getId();
+        this.customerName = repair.getCustomerName();
+        this.customerPhone = repair.getCustomerPhone();
+        this.equipmentType = repair.getEquipmentType();
+        this.brand = repair.getBrand();
+        this.status = repair.getStatus();
+        this.urgency = repair.getUrgency();
+        this.serviceType = repair.getServiceType();
+        this.preferredDate = repair.getPreferredDate();
+        this.preferredTime = repair.getPreferredTime();
+        this.createdAt = repair.getCreatedAt();
+        this.claimedBy = claimedBy;
+        this.claimedAt = claimedAt;
+    }
+
+    private DispatchJob(DispatchJob job, String claimedBy, OffsetDateTime claimedAt) {
+        this.id = job.id;
+        this.customerName = job.customerName;
+        this.customerPhone = job.customerPhone;
+        this.equipmentType = job.equipmentType;
+        this.brand = job.brand;
+        this.status = job.status;
+        this.urgency = job.urgency;
+        this.serviceType = job.serviceType;
+        this.preferredDate = job.preferredDate;
+        this.preferredTime = job.preferredTime;
+        this.createdAt = job.createdAt;
+        this.claimedBy = claimedBy;
+        this.claimedAt = claimedAt;
+    }
+
+    public static DispatchJob of(RepairRequest repair) {
+        return new DispatchJob(repair, null, null);
+    }
+
+    public DispatchJob claimedBy(String technicianId, OffsetDateTime at) {
+        return new DispatchJob(this, technicianId, at);
+    }
+
+    public DispatchJob released() {
+        return new DispatchJob(this, null, null);
+    }
+
+    // Keep the claim when the underlying repair is edited while a technician holds it
+    public DispatchJob withClaimOf(DispatchJob previous) {
+        return new DispatchJob(this, previous.claimedBy, previous.claimedAt);
+    }
+
+    public boolean isUrgent() {
+        return "urgent".equalsIgnoreCase(urgency);
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public String getEquipmentType() {
+        return equipmentType;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getUrgency() {
+        return urgency;
+    }
+
+    public String getServiceType() {
+        return serviceType;
+    }
+
+    public LocalDate getPreferredDate() {
+        return preferredDate;
+    }
+
+    public String getPreferredTime() {
+        return preferredTime;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public OffsetDateTime getClaimedAt() {
+        return claimedAt;
+    }
+}
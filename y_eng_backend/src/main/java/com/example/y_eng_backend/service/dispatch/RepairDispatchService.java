@@ -0,0 +1,261 @@
+package com.example.y_eng_backend.service.dispatch;
+
+import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.repository.RepairRequestRepository;
+import com.example.y_eng_backend.util.IndexedPriorityQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory dispatch board for technicians.
+// Pending/approved repairs sit in one indexed heap per service type; claimed repairs are
+// parked in a side map until they are released, progressed or the claim times out.
+// The board is loaded from the database once and then kept current by RepairRequestService.
+@Service
+public class RepairDispatchService {
+
+    public static final Set<String> DISPATCHABLE_STATUSES = Set.of("pending", "approved");
+
+    @Autowired
+    private RepairRequestRepository repairRequestRepository;
+
+    @Value("${dispatch.claim-timeout-minutes:120}")
+    private long claimTimeoutMinutes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, IndexedPriorityQueue<UUID, DispatchJob>> queues = new HashMap<>();
+    private final Map<UUID, DispatchJob> claimed = new HashMap<>();
+    private volatile boolean loaded = false;
+
+    // Get the next N unclaimed jobs, optionally for one service type (pickup / dropoff)
+    public List<DispatchJob> nextJobs(int limit, String serviceType) {
+        lock.lock();
+        try {
+            ensureLoaded();
+            expireStaleClaims();
+            if (serviceType != null && !serviceType.isBlank()) {
+                IndexedPriorityQueue<UUID, DispatchJob> queue = queues.get(normalize(serviceType));
+                return queue == null ? List.of() : queue.peek(limit);
+            }
+            List<DispatchJob> merged = new ArrayList<>();
+            for (IndexedPriorityQueue<UUID, DispatchJob> queue : queues.values()) {
+                merged.addAll(queue.peek(limit));
+            }
+            merged.sort(DispatchJob.PRIORITY);
+            return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Get jobs currently held by a technician
+    public List<DispatchJob> claimedJobs(String technicianId) {
+        lock.lock();
+        try {
+            ensureLoaded();
+            expireStaleClaims();
+            List<DispatchJob> jobs = new ArrayList<>();
+            for (DispatchJob job : claimed.values()) {
+                if (job.getClaimedBy().equals(technicianId)) {
+                    jobs.add(job);
+                }
+            }
+            jobs.sort(DispatchJob.PRIORITY);
+            return jobs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Claim a job; empty if it is not on the board or another technician holds it
+    public Optional<DispatchJob> claim(UUID repairId, String technicianId) {
+        lock.lock();
+        try {
+            ensureLoaded();
+            expireStaleClaims();
+            DispatchJob held = claimed.get(repairId);
+            if (held != null) {
+                return held.getClaimedBy().equals(technicianId) ? Optional.of(held) : Optional.empty();
+            }
+            DispatchJob job = removeFromQueues(repairId);
+            if (job == null) {
+                return Optional.empty();
+            }
+            DispatchJob claimedJob = job.claimedBy(technicianId, OffsetDateTime.now());
+            claimed.put(repairId, claimedJob);
+            return Optional.of(claimedJob);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Put a claimed job back on the board; only the technician holding it may release it
+    public boolean release(UUID repairId, String technicianId) {
+        lock.lock();
+        try {
+            ensureLoaded();
+            DispatchJob held = claimed.get(repairId);
+            if (held == null || !held.getClaimedBy().equals(technicianId)) {
+                return false;
+            }
+            claimed.remove(repairId);
+            enqueue(held.released());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called after a repair request is created or changed
+    public void onRepairSaved(RepairRequest repair) {
+        if (repair == null || repair.getId() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!loaded) {
+                return; // the initial load will read the committed row
+            }
+            UUID id = repair.getId();
+            if (!DISPATCHABLE_STATUSES.contains(repair.getStatus())) {
+                removeFromQueues(id);
+                claimed.remove(id);
+                return;
+            }
+            DispatchJob job = DispatchJob.of(repair);
+            DispatchJob held = claimed.get(id);
+            if (held != null) {
+                claimed.put(id, job.withClaimOf(held));
+            } else {
+                removeFromQueues(id); // service type may have changed
+                enqueue(job);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called after a repair request is deleted
+    public void onRepairDeleted(UUID repairId) {
+        lock.lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeFromQueues(repairId);
+            claimed.remove(repairId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Rebuild the board from the database on next use. Claims are kept for repairs that are
+    // still dispatchable then.
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            queues.clear();
+            loaded = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Board size, for diagnostics
+    public Map<String, Integer> stats() {
+        lock.lock();
+        try {
+            ensureLoaded();
+            Map<String, Integer> stats = new HashMap<>();
+            queues.forEach((type, queue) -> stats.put(type, queue.size()));
+            stats.put("claimed", claimed.size());
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Jobs waiting on the board and jobs currently claimed, without forcing the initial load
+    public int queuedCount() {
+        lock.lock();
+        try {
+            int queued = 0;
+            for (IndexedPriorityQueue<UUID, DispatchJob> queue : queues.values()) {
+                queued += queue.size();
+            }
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int claimedCount() {
+        lock.lock();
+        try {
+            return claimed.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        Map<UUID, DispatchJob> stillClaimed = new HashMap<>();
+        for (RepairRequest repair : repairRequestRepository.findByStatusIn(DISPATCHABLE_STATUSES)) {
+            DispatchJob job = DispatchJob.of(repair);
+            DispatchJob held = claimed.get(job.getId());
+            if (held != null) {
+                stillClaimed.put(job.getId(), job.withClaimOf(held));
+            } else {
+                enqueue(job);
+            }
+        }
+        claimed.clear();
+        claimed.putAll(stillClaimed);
+        loaded = true;
+    }
+
+    private void expireStaleClaims() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minusMinutes(claimTimeoutMinutes);
+        Iterator<DispatchJob> it = claimed.values().iterator();
+        while (it.hasNext()) {
+            DispatchJob job = it.next();
+            if (job.getClaimedAt().isBefore(cutoff)) {
+                it.remove();
+                enqueue(job.released());
+            }
+        }
+    }
+
+    private void enqueue(DispatchJob job) {
+        queues.computeIfAbsent(normalize(job.getServiceType()), type -> new IndexedPriorityQueue<>(DispatchJob.PRIORITY))
+                .put(job.getId(), job);
+    }
+
+    private DispatchJob removeFromQueues(UUID repairId) {
+        for (IndexedPriorityQueue<UUID, DispatchJob> queue : queues.values()) {
+            DispatchJob removed = queue.remove(repairId);
+            if (removed != null) {
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    private String normalize(String serviceType) {
+        return serviceType == null ? "dropoff" : serviceType.toLowerCase();
+    }
+}
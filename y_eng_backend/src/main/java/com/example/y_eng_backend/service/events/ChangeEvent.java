@@ -0,0 +1,73 @@
+package com.example.y_eng_backend.service.events;
+
+import com.example.y_eng_backend.entity.Order;
+import com.example.y_eng_backend.entity.RepairRequest;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// One order or repair change as sent on the event streams. Only what a list needs to update a row;
+// clients fetch the record for anything else.
+public class ChangeEvent {
+
+    private final String type; // order, repair
+    private final String action; // created, updated, deleted
+    private final String id;
+    private final UUID userId;
+    private final String status;
+    private final OffsetDateTime updatedAt;
+    private long sequence;
+
+    public ChangeEvent(String type, String action, String id, UUID userId, String status, OffsetDateTime updatedAt) {
+        this.type = type;
+        this.action = action;
+        this.id = id;
+        this.userId = userId;
+        this.status = status;
+        this.updatedAt = updatedAt;
+    }
+
+    public static ChangeEvent order(Order order, String action) {
+        return new ChangeEvent("order", action, String.valueOf(order.getId()), order.getUserId(),
+                order.getStatus(), order.getUpdatedAt());
+    }
+
+    public static ChangeEvent repair(RepairRequest repair, String action) {
+        return new ChangeEvent("repair", action, String.valueOf(repair.getId()), repair.getUserId(),
+                repair.getStatus(), repair.getUpdatedAt());
+    }
+
+    // Assigned when the bus dispatches the event; the SSE id
+    void assignSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    // Getters
+    public String getType() {
+        return type;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.y_eng_backend.service.events;
+
+import com.example.y_eng_backend.entity.Order;
+import com.example.y_eng_backend.entity.RepairRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-process fan-out of order and repair changes to server-sent event streams: a user's stream gets
+// their own orders and repairs, admin streams get everything.
+//
+// Publishing only offers the event to each subscriber's bounded buffer, so a write never waits for
+// a client. A subscriber whose buffer is full has fallen behind and is disconnected; its client
+// reconnects and refetches instead of the server buffering without limit. Changes made inside a
+// transaction are sent after it commits, and not at all if it rolls back.
+@Service
+public class ChangeEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    @Value("${events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${events.heartbeat:PT25S}")
+    private Duration heartbeat;
+
+    @Value("${events.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${events.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    @Value("${events.max-per-user:5}")
+    private int maxPerUser;
+
+    private final Map<String, Set<EventSubscriber>> userSubscribers = new ConcurrentHashMap<>();
+    private final Set<EventSubscriber> adminSubscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder slowDisconnects = new LongAdder();
+
+    // Stream of one user's changes; empty when the user or the server has no stream left
+    public Optional<SseEmitter> subscribeUser(String userId) {
+        if (!reserveSlot()) {
+            return Optional.empty();
+        }
+        EventSubscriber subscriber = newSubscriber(userId);
+        boolean[] added = new boolean[1];
+        userSubscribers.compute(userId, (key, subscribers) -> {
+            Set<EventSubscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            if (set.size() < maxPerUser) {
+                added[0] = set.add(subscriber);
+            }
+            return set.isEmpty() ? null : set;
+        });
+        if (!added[0]) {
+            subscriberCount.decrementAndGet();
+            return Optional.empty();
+        }
+        subscriber.start(() -> remove(subscriber));
+        return Optional.of(subscriber.getEmitter());
+    }
+
+    // Stream of every change (admin)
+    public Optional<SseEmitter> subscribeAdmin() {
+        if (!reserveSlot()) {
+            return Optional.empty();
+        }
+        EventSubscriber subscriber = newSubscriber(null);
+        adminSubscribers.add(subscriber);
+        subscriber.start(() -> remove(subscriber));
+        return Optional.of(subscriber.getEmitter());
+    }
+
+    // Called after an order is created or changed
+    public void onOrderChanged(Order order, String action) {
+        // Built after commit: @PreUpdate sets updatedAt when the transaction flushes
+        afterCommit(() -> dispatch(ChangeEvent.order(order, action)));
+    }
+
+    // Called after a repair request is created, changed or deleted
+    public void onRepairChanged(RepairRequest repair, String action) {
+        afterCommit(() -> dispatch(ChangeEvent.repair(repair, action)));
+    }
+
+    public Map<String, Long> getStats() {
+        return Map.of(
+                "userSubscribers", (long) subscriberCount.get() - adminSubscribers.size(),
+                "adminSubscribers", (long) adminSubscribers.size(),
+                "published", published.sum(),
+                "slowDisconnects", slowDisconnects.sum());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void dispatch(ChangeEvent event) {
+        event.assignSequence(sequence.incrementAndGet());
+        published.increment();
+        if (event.getUserId() != null) {
+            Set<EventSubscriber> own = userSubscribers.get(event.getUserId().toString());
+            if (own != null) {
+                own.forEach(subscriber -> deliver(subscriber, event));
+            }
+        }
+        adminSubscribers.forEach(subscriber -> deliver(subscriber, event));
+    }
+
+    private void deliver(EventSubscriber subscriber, ChangeEvent event) {
+        if (!subscriber.offer(event)) {
+            slowDisconnects.increment();
+            log.info("Disconnecting slow event stream of {}: {} events buffered",
+                    subscriber.getUserId() != null ? subscriber.getUserId() : "admin", bufferSize);
+            subscriber.close();
+        }
+    }
+
+    private boolean reserveSlot() {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private EventSubscriber newSubscriber(String userId) {
+        return new EventSubscriber(userId, new SseEmitter(timeout.toMillis()), bufferSize, heartbeat);
+    }
+
+    private void remove(EventSubscriber subscriber) {
+        boolean removed;
+        if (subscriber.getUserId() == null) {
+            removed = adminSubscribers.remove(subscriber);
+        } else {
+            boolean[] found = new boolean[1];
+            userSubscribers.computeIfPresent(subscriber.getUserId(), (key, subscribers) -> {
+                found[0] = subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            removed = found[0];
+        }
+        if (removed) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+}
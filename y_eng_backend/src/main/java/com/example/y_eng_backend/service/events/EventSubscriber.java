@@ -0,0 +1,92 @@
+package com.example.y_eng_backend.service.events;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// One open event stream: a bounded buffer and the virtual thread that writes it to the client.
+// The writer parks on the buffer while the stream is idle and sends a comment line every heartbeat
+// so proxies keep the connection and dead clients are noticed.
+class EventSubscriber {
+
+    private final String userId; // null for admin streams
+    private final SseEmitter emitter;
+    private final BlockingQueue<ChangeEvent> buffer;
+    private final long heartbeatMillis;
+    private volatile boolean closed;
+    private volatile Thread writer;
+
+    EventSubscriber(String userId, SseEmitter emitter, int bufferSize, Duration heartbeat) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.heartbeatMillis = heartbeat.toMillis();
+    }
+
+    String getUserId() {
+        return userId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    // False when the buffer is full: the client is not keeping up
+    boolean offer(ChangeEvent event) {
+        return closed || buffer.offer(event);
+    }
+
+    void start(Runnable onClose) {
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(e -> close());
+        writer = Thread.ofVirtual().name("sse-" + (userId != null ? userId : "admin")).start(() -> {
+            try {
+                write();
+            } finally {
+                closed = true;
+                onClose.run();
+            }
+        });
+    }
+
+    // Never blocks: the writer may be stuck on a slow socket, so it completes the stream itself
+    void close() {
+        closed = true;
+        Thread thread = writer;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void write() {
+        try {
+            // Flushes the response headers so the client sees the stream open; retry is the reconnect delay
+            emitter.send(SseEmitter.event().comment("connected").reconnectTime(3000));
+            while (!closed) {
+                ChangeEvent event = buffer.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (closed) {
+                    break;
+                }
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getSequence()))
+                            .name(event.getType())
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            }
+            emitter.complete();
+        } catch (InterruptedException e) {
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // Client gone or stream already completed; the container cleans up the request
+        }
+    }
+}
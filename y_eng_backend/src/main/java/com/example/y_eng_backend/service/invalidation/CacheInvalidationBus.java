@@ -0,0 +1,304 @@
+package com.example.y_eng_backend.service.invalidation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Tells the other nodes which products, categories, orders and repairs this node wrote, so they
+// drop or refresh their local copies (Hibernate's second-level cache, the admin search index, SLA
+// timers, the dispatch board). The writing services call invalidate(); the id is queued once the
+// transaction commits and not at all if it rolls back. Queued ids go out in batches every batch-ms,
+// each id once per batch; a type with more than max-ids-per-type ids goes out as "all of them".
+//
+// Every message carries the sending node's id and a sequence number, and each node sends a
+// heartbeat with its latest sequence number every heartbeat-ms. A receiver that sees a sequence
+// number skip, or whose transport reconnected, may have missed writes and resyncs: every handler
+// drops or reloads everything it holds.
+@Service
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    public static final String PRODUCT = "product";
+    public static final String CATEGORY = "category";
+    public static final String ORDER = "order";
+    public static final String REPAIR = "repair";
+
+    @Autowired
+    private List<InvalidationHandler> handlerBeans;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${invalidation.transport:postgres}")
+    private String transportName;
+
+    @Value("${invalidation.channel:cache_invalidation}")
+    private String channel;
+
+    @Value("${invalidation.max-ids-per-type:200}")
+    private int maxIdsPerType;
+
+    @Value("${invalidation.heartbeat-ms:5000}")
+    private long heartbeatMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, InvalidationHandler> handlers = new LinkedHashMap<>();
+    private final Map<String, Set<String>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, RemoteNode> remoteNodes = new ConcurrentHashMap<>();
+    // Messages leave in sequence order. Both locks are held across JDBC calls (pg_notify, handler
+    // reloads) on virtual threads, which a monitor would pin to their carrier.
+    private final ReentrantLock sendLock = new ReentrantLock();
+    private final ReentrantLock receiveLock = new ReentrantLock();
+
+    private final LongAdder sentMessages = new LongAdder();
+    private final LongAdder sentIds = new LongAdder();
+    private final LongAdder receivedMessages = new LongAdder();
+    private final LongAdder receivedIds = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+
+    private InvalidationTransport transport;
+    private long startedAt;
+
+    private static final class RemoteNode {
+        private long sequence;
+        private volatile long lastSeen;
+
+        RemoteNode(long sequence, long lastSeen) {
+            this.sequence = sequence;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        for (InvalidationHandler handler : handlerBeans) {
+            for (String type : handler.getTypes()) {
+                if (handlers.putIfAbsent(type, handler) != null) {
+                    throw new IllegalStateException("Two invalidation handlers for " + type);
+                }
+            }
+        }
+        if (!enabled) {
+            return;
+        }
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("invalidation.channel must be a lower-case identifier: " + channel);
+        }
+        transport = switch (transportName) {
+            case "postgres" -> new PostgresInvalidationTransport(jdbcTemplate, dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(), channel);
+            case "jvm" -> new InJvmInvalidationTransport(channel);
+            default -> throw new IllegalStateException("Unknown invalidation.transport: " + transportName);
+        };
+        startedAt = System.nanoTime();
+        transport.start(this::receive, () -> resync("the transport reconnected"));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (transport != null) {
+            flush();
+            transport.stop();
+        }
+    }
+
+    // Called by the writing service inside or after its transaction
+    public void invalidate(String type, Object id) {
+        if (transport == null || id == null) {
+            return;
+        }
+        String key = id.toString();
+        afterCommit(() -> pending.compute(type, (t, ids) -> {
+            Set<String> set = ids != null ? ids : new HashSet<>();
+            set.add(key);
+            return set;
+        }));
+    }
+
+    @Scheduled(fixedDelayString = "${invalidation.batch-ms:50}")
+    public void flush() {
+        if (transport == null || pending.isEmpty()) {
+            return;
+        }
+        Map<String, Set<String>> batch = new TreeMap<>();
+        for (String type : List.copyOf(pending.keySet())) {
+            Set<String> ids = pending.remove(type);
+            if (ids != null) {
+                batch.put(type, ids.size() > maxIdsPerType ? Set.of(InvalidationMessage.ALL) : ids);
+            }
+        }
+        sendLock.lock();
+        try {
+            for (String body : InvalidationMessage.bodies(batch, InvalidationMessage.MAX_LENGTH)) {
+                send(nodeId + " " + sequence.incrementAndGet() + " " + body);
+            }
+        } finally {
+            sendLock.unlock();
+        }
+        sentIds.add(batch.values().stream().mapToLong(Set::size).sum());
+    }
+
+    // Lets the other nodes notice a lost message even when nothing is written for a while
+    @Scheduled(fixedDelayString = "${invalidation.heartbeat-ms:5000}")
+    public void heartbeat() {
+        if (transport == null) {
+            return;
+        }
+        sendLock.lock();
+        try {
+            send(nodeId + " " + sequence.get());
+        } finally {
+            sendLock.unlock();
+        }
+        // Nodes that stopped sending heartbeats have shut down
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(3 * heartbeatMillis);
+        remoteNodes.values().removeIf(node -> node.lastSeen - cutoff < 0);
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("sentMessages", sentMessages.sum());
+        stats.put("sentIds", sentIds.sum());
+        stats.put("receivedMessages", receivedMessages.sum());
+        stats.put("receivedIds", receivedIds.sum());
+        stats.put("resyncs", resyncs.sum());
+        stats.put("remoteNodes", (long) remoteNodes.size());
+        return stats;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // A failed send still used up its sequence number, so the other nodes see the gap and resync
+    private void send(String message) {
+        try {
+            transport.send(message);
+            sentMessages.increment();
+        } catch (RuntimeException e) {
+            log.warn("Could not send invalidation message: {}", e.getMessage());
+        }
+    }
+
+    void receive(String raw) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.parse(raw);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring invalidation message {}: {}", raw, e.getMessage());
+            return;
+        }
+        if (nodeId.equals(message.getNode())) {
+            return;
+        }
+        receiveLock.lock();
+        try {
+            receivedMessages.increment();
+            boolean missed = track(message);
+            try {
+                for (Map.Entry<String, Set<String>> entry : message.getIds().entrySet()) {
+                    InvalidationHandler handler = handlers.get(entry.getKey());
+                    if (handler == null) {
+                        continue;
+                    }
+                    receivedIds.add(entry.getValue().size());
+                    if (entry.getValue().contains(InvalidationMessage.ALL)) {
+                        handler.invalidateAll(entry.getKey());
+                    } else {
+                        handler.invalidate(entry.getKey(), entry.getValue());
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not apply invalidation message {}: {}", raw, e.getMessage());
+                missed = true;
+            }
+            if (missed) {
+                resync("missed or failed messages from node " + message.getNode());
+            }
+        } finally {
+            receiveLock.unlock();
+        }
+    }
+
+    // True when messages of the sender were missed
+    private boolean track(InvalidationMessage message) {
+        long now = System.nanoTime();
+        long received = message.getSequence();
+        RemoteNode node = remoteNodes.get(message.getNode());
+        if (node == null) {
+            remoteNodes.put(message.getNode(), new RemoteNode(received, now));
+            // A node heard from for the first time started after this one, or this node only just
+            // started listening. In the first case it should not have sent anything before.
+            long accountedFor = message.isHeartbeat() ? 0 : 1;
+            boolean listening = now - startedAt > TimeUnit.MILLISECONDS.toNanos(2 * heartbeatMillis);
+            return listening && received > accountedFor;
+        }
+        node.lastSeen = now;
+        if (received <= node.sequence) {
+            return false;
+        }
+        long expected = message.isHeartbeat() ? node.sequence : node.sequence + 1;
+        node.sequence = received;
+        return received > expected;
+    }
+
+    private void resync(String reason) {
+        receiveLock.lock();
+        try {
+            resyncs.increment();
+            log.info("Resyncing local caches: {}", reason);
+            handlers.forEach((type, handler) -> {
+                try {
+                    handler.invalidateAll(type);
+                } catch (RuntimeException e) {
+                    log.warn("Could not resync {}: {}", type, e.getMessage());
+                }
+            });
+        } finally {
+            receiveLock.unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.y_eng_backend.service.invalidation;
+
+import com.example.y_eng_backend.entity.Category;
+import com.example.y_eng_backend.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Evicts products and categories another node wrote from Hibernate's second-level cache. Hibernate
+// only invalidates cached query results when this node writes the table, so a product write from
+// another node also drops the cached findByCategoryId results.
+@Component
+public class HibernateCacheInvalidationHandler implements InvalidationHandler {
+
+    private static final String PRODUCT_QUERY_REGION = "product-by-category";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public Set<String> getTypes() {
+        return Set.of(CacheInvalidationBus.PRODUCT, CacheInvalidationBus.CATEGORY);
+    }
+
+    @Override
+    public void invalidate(String type, Set<String> ids) {
+        Class<?> entity = entityClass(type);
+        for (String id : ids) {
+            entityManagerFactory.getCache().evict(entity, Long.valueOf(id));
+        }
+        if (entity == Product.class) {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(PRODUCT_QUERY_REGION);
+        }
+    }
+
+    @Override
+    public void invalidateAll(String type) {
+        Class<?> entity = entityClass(type);
+        entityManagerFactory.getCache().evict(entity);
+        if (entity == Product.class) {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(PRODUCT_QUERY_REGION);
+        }
+    }
+
+    private static Class<?> entityClass(String type) {
+        return CacheInvalidationBus.PRODUCT.equals(type) ? Product.class : Category.class;
+    }
+}
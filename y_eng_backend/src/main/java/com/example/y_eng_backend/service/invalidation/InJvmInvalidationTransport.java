@@ -0,0 +1,44 @@
+package com.example.y_eng_backend.service.invalidation;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Delivers each message to every bus in this JVM listening on the same channel, on the sending
+// thread. For tests that run several application contexts as nodes; nothing leaves the process.
+public class InJvmInvalidationTransport implements InvalidationTransport {
+
+    private static final Map<String, Set<Consumer<String>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private volatile Consumer<String> receiver;
+
+    public InJvmInvalidationTransport(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void send(String message) {
+        for (Consumer<String> listener : CHANNELS.getOrDefault(channel, Set.of())) {
+            listener.accept(message);
+        }
+    }
+
+    @Override
+    public void start(Consumer<String> receiver, Runnable lost) {
+        this.receiver = receiver;
+        CHANNELS.computeIfAbsent(channel, key -> ConcurrentHashMap.newKeySet()).add(receiver);
+    }
+
+    @Override
+    public void stop() {
+        Consumer<String> current = receiver;
+        if (current != null) {
+            CHANNELS.computeIfPresent(channel, (key, listeners) -> {
+                listeners.remove(current);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
+    }
+}
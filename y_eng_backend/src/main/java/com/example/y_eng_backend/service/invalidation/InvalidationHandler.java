@@ -0,0 +1,16 @@
+package com.example.y_eng_backend.service.invalidation;
+
+import java.util.Set;
+
+// Drops or refreshes this node's copies of records another node wrote. Handlers are Spring beans;
+// CacheInvalidationBus routes each record type to the handler that lists it in getTypes().
+public interface InvalidationHandler {
+
+    Set<String> getTypes();
+
+    void invalidate(String type, Set<String> ids);
+
+    // Every record of the type: sent when a batch had too many ids, and run on every type when
+    // this node may have missed messages
+    void invalidateAll(String type);
+}
@@ -0,0 +1,98 @@
+package com.example.y_eng_backend.service.invalidation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// One message on the invalidation channel: the sending node, the sequence number of the message
+// and the ids written, by record type. A message without ids is a heartbeat that repeats the
+// sender's latest sequence number. Encoded as "<node> <sequence> <type>=<id>,<id>;<type>=*".
+final class InvalidationMessage {
+
+    // Stands for every record of a type
+    static final String ALL = "*";
+
+    // NOTIFY payloads must stay under 8000 bytes; ids are ASCII
+    static final int MAX_LENGTH = 7000;
+
+    private final String node;
+    private final long sequence;
+    private final Map<String, Set<String>> ids;
+
+    InvalidationMessage(String node, long sequence, Map<String, Set<String>> ids) {
+        this.node = node;
+        this.sequence = sequence;
+        this.ids = ids;
+    }
+
+    static InvalidationMessage parse(String message) {
+        String[] parts = message.split(" ", 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + message);
+        }
+        Map<String, Set<String>> ids = new TreeMap<>();
+        if (parts.length == 3 && !parts[2].isEmpty()) {
+            for (String entry : parts[2].split(";")) {
+                int equals = entry.indexOf('=');
+                if (equals <= 0) {
+                    throw new IllegalArgumentException("Malformed invalidation message: " + message);
+                }
+                Set<String> typeIds = ids.computeIfAbsent(entry.substring(0, equals), type -> new LinkedHashSet<>());
+                Collections.addAll(typeIds, entry.substring(equals + 1).split(","));
+            }
+        }
+        return new InvalidationMessage(parts[0], Long.parseLong(parts[1]), ids);
+    }
+
+    // Splits a batch into message bodies that fit one message each
+    static List<String> bodies(Map<String, Set<String>> batch, int maxLength) {
+        List<String> bodies = new ArrayList<>();
+        StringBuilder body = new StringBuilder();
+        for (Map.Entry<String, Set<String>> entry : batch.entrySet()) {
+            String type = entry.getKey();
+            boolean typeOpen = false;
+            for (String id : entry.getValue()) {
+                int needed = (typeOpen ? 1 : type.length() + 2) + id.length();
+                if (body.length() > 0 && body.length() + needed > maxLength) {
+                    bodies.add(body.toString());
+                    body.setLength(0);
+                    typeOpen = false;
+                }
+                if (typeOpen) {
+                    body.append(',');
+                } else {
+                    if (body.length() > 0) {
+                        body.append(';');
+                    }
+                    body.append(type).append('=');
+                    typeOpen = true;
+                }
+                body.append(id);
+            }
+        }
+        if (body.length() > 0) {
+            bodies.add(body.toString());
+        }
+        return bodies;
+    }
+
+    boolean isHeartbeat() {
+        return ids.isEmpty();
+    }
+
+    String getNode() {
+        return node;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    Map<String, Set<String>> getIds() {
+        return ids;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.y_eng_backend.service.invalidation;
+
+import java.util.function.Consumer;
+
+// Carries invalidation messages between nodes. Every message sent by any node on the channel reaches
+// the receiver of every node, the sender's own included; CacheInvalidationBus drops its own.
+public interface InvalidationTransport {
+
+    void send(String message);
+
+    // Starts delivering messages to receiver; lost runs whenever messages may have been missed
+    // (after a reconnect, for example)
+    void start(Consumer<String> receiver, Runnable lost);
+
+    void stop();
+}
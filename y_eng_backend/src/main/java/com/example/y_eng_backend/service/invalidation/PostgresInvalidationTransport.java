@@ -0,0 +1,102 @@
+package com.example.y_eng_backend.service.invalidation;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+// LISTEN/NOTIFY on the primary database. Messages go out with pg_notify through the pool. They are
+// received on a connection of their own, outside the pool: a listening session has to stay open,
+// which would hold a pool slot for good, and Hikari retires connections after max-lifetime.
+// Postgres only notifies sessions that are listening at the time, so every reconnect counts as
+// possibly missed messages.
+public class PostgresInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationTransport.class);
+
+    private static final int POLL_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+
+    private volatile boolean running;
+
+    public PostgresInvalidationTransport(JdbcTemplate jdbcTemplate, String url, String username, String password,
+                                         String channel) {
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            throw new IllegalStateException("The postgres invalidation transport needs a PostgreSQL datasource, not " + url);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+    }
+
+    @Override
+    public void send(String message) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> {
+        }, channel, message);
+    }
+
+    @Override
+    public void start(Consumer<String> receiver, Runnable lost) {
+        running = true;
+        Thread.ofVirtual().name("invalidation-listener").start(() -> listen(receiver, lost));
+    }
+
+    @Override
+    public void stop() {
+        // The listener notices within one poll and closes its connection
+        running = false;
+    }
+
+    private void listen(Consumer<String> receiver, Runnable lost) {
+        boolean listenedBefore = false;
+        long backoff = POLL_MILLIS;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                PGConnection listener = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (listenedBefore) {
+                    log.info("Invalidation listener reconnected to channel {}", channel);
+                    lost.run();
+                }
+                listenedBefore = true;
+                backoff = POLL_MILLIS;
+                while (running) {
+                    PGNotification[] notifications = listener.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receiver.accept(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation listener lost its connection, reconnecting in {} ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.y_eng_backend.service.invalidation;
+
+import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.repository.OrderRepository;
+import com.example.y_eng_backend.repository.RepairRequestRepository;
+import com.example.y_eng_backend.service.dispatch.RepairDispatchService;
+import com.example.y_eng_backend.service.search.AdminSearchService;
+import com.example.y_eng_backend.service.sla.SlaMonitorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// Brings this node's in-memory views of orders and repairs (admin search index, SLA timers,
+// dispatch board) up to date with writes made on another node, by re-reading the written rows
+// from the primary and feeding them through the same hooks the local writes use.
+@Component
+public class RecordIndexInvalidationHandler implements InvalidationHandler {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RepairRequestRepository repairRequestRepository;
+
+    @Autowired
+    private AdminSearchService adminSearchService;
+
+    @Autowired
+    private SlaMonitorService slaMonitorService;
+
+    @Autowired
+    private RepairDispatchService repairDispatchService;
+
+    @Override
+    public Set<String> getTypes() {
+        return Set.of(CacheInvalidationBus.ORDER, CacheInvalidationBus.REPAIR);
+    }
+
+    @Override
+    public void invalidate(String type, Set<String> ids) {
+        for (String id : ids) {
+            if (CacheInvalidationBus.ORDER.equals(type)) {
+                // Orders are never deleted
+                orderRepository.findById(Long.valueOf(id)).ifPresent(order -> {
+                    adminSearchService.onOrderSaved(order);
+                    slaMonitorService.onOrderSaved(order);
+                });
+            } else {
+                UUID repairId = UUID.fromString(id);
+                Optional<RepairRequest> repair = repairRequestRepository.findById(repairId);
+                if (repair.isPresent()) {
+                    repairDispatchService.onRepairSaved(repair.get());
+                    adminSearchService.onRepairSaved(repair.get());
+                    slaMonitorService.onRepairSaved(repair.get());
+                } else {
+                    repairDispatchService.onRepairDeleted(repairId);
+                    adminSearchService.onRepairDeleted(repairId);
+                    slaMonitorService.onRepairDeleted(repairId);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll(String type) {
+        adminSearchService.invalidateAll();
+        slaMonitorService.resync(type);
+        if (CacheInvalidationBus.REPAIR.equals(type)) {
+            repairDispatchService.invalidateAll();
+        }
+    }
+}
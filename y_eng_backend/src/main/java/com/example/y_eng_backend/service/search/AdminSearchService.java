@@ -0,0 +1,162 @@
+package com.example.y_eng_backend.service.search;
+
+import com.example.y_eng_backend.entity.Order;
+import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.repository.OrderRepository;
+import com.example.y_eng_backend.repository.OrderSearchView;
+import com.example.y_eng_backend.repository.RepairRequestRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Staff search over orders and repair requests by name, phone, order number, brand or issue text.
+// The trigram index is built from the database on first use and then kept current by
+// OrderService and RepairRequestService on every write, applied once the write commits.
+@Service
+public class AdminSearchService {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RepairRequestRepository repairRequestRepository;
+
+    @Value("${search.min-match:0.75}")
+    private double minMatch;
+
+    @Value("${search.max-text-length:500}")
+    private int maxTextLength;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TrigramIndex index;
+    private volatile boolean loaded = false;
+
+    @PostConstruct
+    void init() {
+        index = new TrigramIndex(minMatch);
+    }
+
+    // Ranked, paginated search; type is "order", "repair" or null for both
+    public SearchPage search(String query, String type, int page, int size) {
+        ensureLoaded();
+        List<SearchHit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(query, type);
+        } finally {
+            lock.readLock().unlock();
+        }
+        int from = Math.min(page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        return new SearchPage(query, hits.size(), page, size, List.copyOf(hits.subList(from, to)));
+    }
+
+    // Deferred to commit so a rolled-back write never shows up in search results
+    public void onOrderSaved(Order order) {
+        afterCommit(() -> update(SearchDocument.of(order)));
+    }
+
+    public void onRepairSaved(RepairRequest repair) {
+        afterCommit(() -> update(SearchDocument.of(repair, maxTextLength)));
+    }
+
+    // Patches return issue_description only when they change it; otherwise the indexed text is kept
+    public void onRepairPatched(RepairRequest repair, boolean issueChanged) {
+        if (issueChanged) {
+            onRepairSaved(repair);
+        } else {
+            afterCommit(() -> updateKeepingIssue(repair));
+        }
+    }
+
+    public void onRepairDeleted(UUID repairId) {
+        afterCommit(() -> remove(repairId));
+    }
+
+    private void remove(UUID repairId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                index.remove("repair:" + repairId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drop the index; the next search rebuilds it from the database
+    public void invalidateAll() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void update(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                index.put(document); // before the first load the full build picks it up
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void updateKeepingIssue(RepairRequest repair) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                SearchDocument previous = index.get("repair:" + repair.getId());
+                String issue = previous == null ? null : previous.getText().get(SearchDocument.Field.ISSUE_DESCRIPTION);
+                index.put(SearchDocument.of(repair, issue));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            for (OrderSearchView order : orderRepository.findAllBy()) {
+                index.put(SearchDocument.of(order));
+            }
+            for (RepairRequest repair : repairRequestRepository.findAll()) {
+                index.put(SearchDocument.of(repair, maxTextLength));
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
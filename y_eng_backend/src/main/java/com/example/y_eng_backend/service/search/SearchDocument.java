@@ -0,0 +1,149 @@
+package com.example.y_eng_backend.service.search;
+
+import com.example.y_eng_backend.entity.Order;
+import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.repository.OrderSearchView;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+// What the admin search index keeps per order / repair: display fields plus normalised searchable text
+public class SearchDocument {
+
+    // Searchable fields and how much a match in each one counts
+    public enum Field {
+        ORDER_NUMBER(3.0),
+        CUSTOMER_PHONE(3.0),
+        CUSTOMER_NAME(2.0),
+        BRAND(1.5),
+        ISSUE_DESCRIPTION(1.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+    }
+
+    private final String key;
+    private final String type;
+    private final String id;
+    private final String reference;
+    private final String customerName;
+    private final String customerPhone;
+    private final String summary;
+    private final String status;
+    private final OffsetDateTime createdAt;
+    private final Map<Field, String> text = new EnumMap<>(Field.class);
+
+    private SearchDocument(String type, String id, String reference, String customerName, String customerPhone,
+                           String summary, String status, OffsetDateTime createdAt) {
+        this.key = type + ":" + id;
+        this.type = type;
+        this.id = id;
+        this.reference = reference;
+        this.customerName = customerName;
+        this.customerPhone = customerPhone;
+        this.summary = summary;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    public static SearchDocument of(Order order) {
+        return ofOrder(order.getId(), order.getOrderNumber(), order.getCustomerName(), order.getCustomerPhone(),
+                order.getTotalAmount(), order.getStatus(), order.getCreatedAt());
+    }
+
+    public static SearchDocument of(OrderSearchView order) {
+        return ofOrder(order.getId(), order.getOrderNumber(), order.getCustomerName(), order.getCustomerPhone(),
+                order.getTotalAmount(), order.getStatus(), order.getCreatedAt());
+    }
+
+    public static SearchDocument of(RepairRequest repair, int maxTextLength) {
+        String issue = TrigramIndex.normalize(repair.getIssueDescription());
+        return of(repair, issue.length() > maxTextLength ? issue.substring(0, maxTextLength) : issue);
+    }
+
+    // issueText is already normalised and cut to length, e.g. taken from the document being replaced
+    public static SearchDocument of(RepairRequest repair, String issueText) {
+        String equipment = join(repair.getBrand(), repair.getEquipmentType());
+        SearchDocument doc = new SearchDocument("repair", String.valueOf(repair.getId()), null,
+                repair.getCustomerName(), repair.getCustomerPhone(), equipment, repair.getStatus(), repair.getCreatedAt());
+        doc.put(Field.CUSTOMER_NAME, TrigramIndex.normalize(repair.getCustomerName()));
+        doc.put(Field.CUSTOMER_PHONE, TrigramIndex.digits(repair.getCustomerPhone()));
+        doc.put(Field.BRAND, TrigramIndex.normalize(repair.getBrand()));
+        doc.put(Field.ISSUE_DESCRIPTION, issueText);
+        return doc;
+    }
+
+    private static SearchDocument ofOrder(Long id, String orderNumber, String customerName, String customerPhone,
+                                          BigDecimal totalAmount, String status, OffsetDateTime createdAt) {
+        String summary = totalAmount == null ? null : "Total " + totalAmount.toPlainString();
+        SearchDocument doc = new SearchDocument("order", String.valueOf(id), orderNumber,
+                customerName, customerPhone, summary, status, createdAt);
+        doc.put(Field.ORDER_NUMBER, TrigramIndex.normalize(orderNumber));
+        doc.put(Field.CUSTOMER_NAME, TrigramIndex.normalize(customerName));
+        doc.put(Field.CUSTOMER_PHONE, TrigramIndex.digits(customerPhone));
+        return doc;
+    }
+
+    private void put(Field field, String value) {
+        if (value != null && !value.isEmpty()) {
+            text.put(field, value);
+        }
+    }
+
+    private static String join(String a, String b) {
+        if (a == null || a.isBlank()) {
+            return b;
+        }
+        return b == null || b.isBlank() ? a : a + " " + b;
+    }
+
+    // Getters
+    public String getKey() {
+        return key;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Map<Field, String> getText() {
+        return text;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.y_eng_backend.service.search;
+
+import java.time.OffsetDateTime;
+
+// One ranked result of the admin search (an order or a repair request)
+public class SearchHit {
+
+    private final String type; // order, repair
+    private final String id;
+    private final String reference;
+    private final String customerName;
+    private final String customerPhone;
+    private final String summary;
+    private final String status;
+    private final OffsetDateTime createdAt;
+    private final double score;
+
+    public SearchHit(SearchDocument document, double score) {
+        this.type = document.getType();
+        this.id = document.getId();
+        this.reference = document.getReference();
+        this.customerName = document.getCustomerName();
+        this.customerPhone = document.getCustomerPhone();
+        this.summary = document.getSummary();
+        this.status = document.getStatus();
+        this.createdAt = document.getCreatedAt();
+        this.score = score;
+    }
+
+    // Getters
+    public String getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.y_eng_backend.service.search;
+
+import java.util.List;
+
+// A page of admin search results
+public class SearchPage {
+
+    private final String query;
+    private final int total;
+    private final int page;
+    private final int size;
+    private final List<SearchHit> results;
+
+    public SearchPage(String query, int total, int page, int size, List<SearchHit> results) {
+        this.query = query;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.results = results;
+    }
+
+    // Getters
+    public String getQuery() {
+        return query;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public List<SearchHit> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.y_eng_backend.service.search;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Inverted trigram index: gram -> (document key -> bit mask of the fields containing the gram).
+// Not thread-safe; AdminSearchService guards it with a read/write lock.
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private final Map<String, SearchDocument> documents = new HashMap<>();
+    private final double minMatch;
+
+    public TrigramIndex(double minMatch) {
+        this.minMatch = minMatch;
+    }
+
+    // Add or replace a document, touching only the postings of grams it has
+    public void put(SearchDocument document) {
+        remove(document.getKey());
+        documents.put(document.getKey(), document);
+        for (Map.Entry<SearchDocument.Field, String> entry : document.getText().entrySet()) {
+            int bit = 1 << entry.getKey().ordinal();
+            for (String gram : grams(entry.getValue())) {
+                postings.computeIfAbsent(gram, g -> new HashMap<>()).merge(document.getKey(), bit, (a, b) -> a | b);
+            }
+        }
+    }
+
+    public SearchDocument get(String key) {
+        return documents.get(key);
+    }
+
+    public void remove(String key) {
+        SearchDocument old = documents.remove(key);
+        if (old == null) {
+            return;
+        }
+        for (String value : old.getText().values()) {
+            for (String gram : grams(value)) {
+                Map<String, Integer> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(key);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // All documents matching enough of the query's grams, best first
+    public List<SearchHit> search(String query, String type) {
+        List<String> variants = new ArrayList<>();
+        variants.add(normalize(query));
+        String digits = digits(query);
+        if (digits.length() >= GRAM && !digits.equals(variants.get(0))) {
+            variants.add(digits);
+        }
+
+        Map<String, Double> best = new HashMap<>();
+        for (String variant : variants) {
+            Set<String> queryGrams = grams(variant);
+            if (queryGrams.isEmpty()) {
+                continue;
+            }
+            Map<String, double[]> matched = new HashMap<>(); // [matched gram count, weighted sum]
+            for (String gram : queryGrams) {
+                Map<String, Integer> posting = postings.get(gram);
+                if (posting == null) {
+                    continue;
+                }
+                for (Map.Entry<String, Integer> hit : posting.entrySet()) {
+                    double[] acc = matched.computeIfAbsent(hit.getKey(), k -> new double[2]);
+                    acc[0]++;
+                    acc[1] += maxWeight(hit.getValue());
+                }
+            }
+            for (Map.Entry<String, double[]> entry : matched.entrySet()) {
+                double[] acc = entry.getValue();
+                if (acc[0] / queryGrams.size() < minMatch) {
+                    continue;
+                }
+                SearchDocument doc = documents.get(entry.getKey());
+                if (type != null && !type.equals(doc.getType())) {
+                    continue;
+                }
+                double score = acc[1] / queryGrams.size() + substringBonus(doc, variant);
+                best.merge(entry.getKey(), score, Math::max);
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(best.size());
+        best.forEach((key, score) -> hits.add(new SearchHit(documents.get(key), Math.round(score * 1000) / 1000.0)));
+        hits.sort(Comparator.comparingDouble(SearchHit::getScore).reversed()
+                .thenComparing(SearchHit::getCreatedAt, Comparator.nullsLast(Comparator.<OffsetDateTime>reverseOrder())));
+        return hits;
+    }
+
+    // An exact substring match in a field counts that field's weight once more
+    private double substringBonus(SearchDocument doc, String variant) {
+        double bonus = 0;
+        for (Map.Entry<SearchDocument.Field, String> entry : doc.getText().entrySet()) {
+            if (entry.getValue().contains(variant)) {
+                bonus = Math.max(bonus, entry.getKey().getWeight());
+            }
+        }
+        return bonus;
+    }
+
+    private double maxWeight(int mask) {
+        double weight = 0;
+        for (SearchDocument.Field field : SearchDocument.Field.values()) {
+            if ((mask & (1 << field.ordinal())) != 0) {
+                weight = Math.max(weight, field.getWeight());
+            }
+        }
+        return weight;
+    }
+
+    // Lower-case, trim and collapse whitespace
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+
+    // Phone numbers are indexed and matched on digits only
+    public static String digits(String value) {
+        return value == null ? "" : value.replaceAll("\\D", "");
+    }
+
+    // Sliding 3-character windows; shorter values are their own single gram
+    static Set<String> grams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (value == null || value.isEmpty()) {
+            return grams;
+        }
+        if (value.length() < GRAM) {
+            grams.add(value);
+            return grams;
+        }
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
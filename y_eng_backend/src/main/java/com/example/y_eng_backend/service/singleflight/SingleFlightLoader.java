@@ -0,0 +1,43 @@
+package com.example.y_eng_backend.service.singleflight;
+
+import com.example.y_eng_backend.datasource.ReadReplicaRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+// Runs a service read through a SingleFlight. The shared load gets its own read-only transaction,
+// started by the leader only, so callers waiting on it hold no connection; the transaction is named
+// after the service method, which keeps it eligible for the read replicas.
+//
+// Two kinds of caller load on their own instead: one already inside a transaction (its reads may
+// see its own uncommitted writes, which must not be handed to others) and, with read replicas, a
+// user within the sticky window after a write (another caller's replica read could miss it).
+@Component
+public class SingleFlightLoader {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<ReadReplicaRoutingDataSource> readReplicaRoutingDataSource;
+
+    public <K, V> V load(SingleFlight<K, V> flight, K key, String transactionName, Supplier<V> query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setName(transactionName);
+        transaction.setReadOnly(true);
+        Supplier<V> inTransaction = () -> transaction.execute(status -> query.get());
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return inTransaction.get();
+        }
+        ReadReplicaRoutingDataSource router = readReplicaRoutingDataSource.getIfAvailable();
+        if (router != null && router.isSticky()) {
+            return inTransaction.get();
+        }
+        return flight.load(key, inTransaction);
+    }
+}
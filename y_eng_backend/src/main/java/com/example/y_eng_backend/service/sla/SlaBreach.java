@@ -0,0 +1,51 @@
+package com.example.y_eng_backend.service.sla;
+
+import java.time.OffsetDateTime;
+
+// Published as an application event when an order or repair misses its SLA deadline
+public class SlaBreach {
+
+    private final String type; // order, repair
+    private final String id;
+    private final String status;
+    private final String urgency;
+    private final OffsetDateTime deadline;
+    private OffsetDateTime breachedAt;
+
+    public SlaBreach(String type, String id, String status, String urgency, OffsetDateTime deadline) {
+        this.type = type;
+        this.id = id;
+        this.status = status;
+        this.urgency = urgency;
+        this.deadline = deadline;
+    }
+
+    void markBreached(OffsetDateTime at) {
+        this.breachedAt = at;
+    }
+
+    // Getters
+    public String getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getUrgency() {
+        return urgency;
+    }
+
+    public OffsetDateTime getDeadline() {
+        return deadline;
+    }
+
+    public OffsetDateTime getBreachedAt() {
+        return breachedAt;
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.y_eng_backend.service.sla;
+
+import com.example.y_eng_backend.entity.Order;
+import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.repository.OrderRepository;
+import com.example.y_eng_backend.repository.OrderSearchView;
+import com.example.y_eng_backend.repository.RepairRequestRepository;
+import com.example.y_eng_backend.util.HashedTimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Response-time SLAs for repairs and pending orders.
+// Every open record has one timer in a hashed timing wheel, rescheduled whenever the record is
+// saved and cancelled once it progresses, so overdue work is found without polling the database.
+@Service
+public class SlaMonitorService {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaMonitorService.class);
+
+    private static final Set<String> REPAIR_SLA_STATUSES = Set.of("pending", "approved");
+
+    @Autowired
+    private RepairRequestRepository repairRequestRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${sla.repair.pending.urgent:PT4H}")
+    private Duration repairPendingUrgent;
+
+    @Value("${sla.repair.pending.normal:PT24H}")
+    private Duration repairPendingNormal;
+
+    @Value("${sla.repair.approved.urgent:PT24H}")
+    private Duration repairApprovedUrgent;
+
+    @Value("${sla.repair.approved.normal:PT72H}")
+    private Duration repairApprovedNormal;
+
+    @Value("${sla.order.pending:PT24H}")
+    private Duration orderPending;
+
+    @Value("${sla.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${sla.wheel-size:512}")
+    private int wheelSize;
+
+    private HashedTimingWheel wheel;
+    private final Map<String, SlaTimer> timers = new ConcurrentHashMap<>();
+    private final Map<String, SlaBreach> openBreaches = new ConcurrentHashMap<>();
+    private final AtomicLong scheduledCount = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong();
+    private final AtomicLong breachedCount = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        wheel = new HashedTimingWheel("sla-timing-wheel", tickMillis, TimeUnit.MILLISECONDS, wheelSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        wheel.stop();
+    }
+
+    // Arm timers for everything already open; retried on the wheel if the database is not reachable yet
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOpenRecords() {
+        Thread.ofVirtual().name("sla-initial-load").start(this::loadWithRetry);
+    }
+
+    private void loadWithRetry() {
+        try {
+            armOpenRepairs();
+            armOpenOrders();
+            log.info("SLA monitor armed {} timers", timers.size());
+        } catch (RuntimeException e) {
+            log.warn("SLA monitor could not load open records, retrying in 1 minute: {}", e.getMessage());
+            wheel.schedule(() -> Thread.ofVirtual().start(this::loadWithRetry), 1, TimeUnit.MINUTES);
+        }
+    }
+
+    // Re-read the open records of one type ("order" or "repair") and drop the timers and breaches
+    // of records that were closed or deleted without this node hearing about it
+    public void resync(String type) {
+        Set<String> open = "order".equals(type) ? armOpenOrders() : armOpenRepairs();
+        String prefix = type + ":";
+        Set<String> tracked = new HashSet<>(timers.keySet());
+        tracked.addAll(openBreaches.keySet());
+        for (String key : tracked) {
+            if (key.startsWith(prefix) && !open.contains(key)) {
+                cancel(key);
+            }
+        }
+    }
+
+    // Called after a repair request is created or changed
+    public void onRepairSaved(RepairRequest repair) {
+        String key = "repair:" + repair.getId();
+        Duration sla = repairSla(repair);
+        if (sla == null) {
+            cancel(key);
+            return;
+        }
+        if (isArmedFor(key, repair.getStatus(), repair.getUrgency())) {
+            return; // edits that keep status and urgency do not restart the clock
+        }
+        // Pending counts from creation, later statuses from the save that moved the repair into them
+        OffsetDateTime since = "pending".equals(repair.getStatus()) ? repair.getCreatedAt() : repair.getUpdatedAt();
+        schedule(key, new SlaBreach("repair", String.valueOf(repair.getId()), repair.getStatus(),
+                repair.getUrgency(), deadline(since, sla)));
+    }
+
+    public void onRepairDeleted(UUID repairId) {
+        cancel("repair:" + repairId);
+    }
+
+    // Called after an order is created or changes status; only pending orders have an SLA
+    public void onOrderSaved(Order order) {
+        String key = "order:" + order.getId();
+        if (!"pending".equals(order.getStatus())) {
+            cancel(key);
+            return;
+        }
+        if (isArmedFor(key, order.getStatus(), null)) {
+            return;
+        }
+        schedule(key, new SlaBreach("order", String.valueOf(order.getId()), order.getStatus(), null,
+                deadline(order.getCreatedAt(), orderPending)));
+    }
+
+    // Records currently past their deadline, most overdue first
+    public List<SlaBreach> getOpenBreaches() {
+        List<SlaBreach> breaches = new ArrayList<>(openBreaches.values());
+        breaches.sort(Comparator.comparing(SlaBreach::getDeadline));
+        return breaches;
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("activeTimers", wheel.pendingTimeouts());
+        stats.put("openBreaches", (long) openBreaches.size());
+        stats.put("scheduled", scheduledCount.get());
+        stats.put("cancelled", cancelledCount.get());
+        stats.put("breached", breachedCount.get());
+        return stats;
+    }
+
+    private Set<String> armOpenRepairs() {
+        Set<String> keys = new HashSet<>();
+        for (RepairRequest repair : repairRequestRepository.findByStatusIn(REPAIR_SLA_STATUSES)) {
+            onRepairSaved(repair);
+            keys.add("repair:" + repair.getId());
+        }
+        return keys;
+    }
+
+    private Set<String> armOpenOrders() {
+        Set<String> keys = new HashSet<>();
+        for (OrderSearchView order : orderRepository.findProjectedByStatus("pending")) {
+            String key = "order:" + order.getId();
+            keys.add(key);
+            if (!isArmedFor(key, order.getStatus(), null)) {
+                schedule(key, new SlaBreach("order", String.valueOf(order.getId()), order.getStatus(), null,
+                        deadline(order.getCreatedAt(), orderPending)));
+            }
+        }
+        return keys;
+    }
+
+    private Duration repairSla(RepairRequest repair) {
+        if (!REPAIR_SLA_STATUSES.contains(repair.getStatus())) {
+            return null;
+        }
+        boolean urgent = "urgent".equalsIgnoreCase(repair.getUrgency());
+        if ("pending".equals(repair.getStatus())) {
+            return urgent ? repairPendingUrgent : repairPendingNormal;
+        }
+        return urgent ? repairApprovedUrgent : repairApprovedNormal;
+    }
+
+    private OffsetDateTime deadline(OffsetDateTime since, Duration sla) {
+        return (since != null ? since : OffsetDateTime.now()).plus(sla);
+    }
+
+    // True when a timer or open breach already tracks this record in the same status and urgency
+    private boolean isArmedFor(String key, String status, String urgency) {
+        SlaTimer timer = timers.get(key);
+        SlaBreach current = timer != null ? timer.breach : openBreaches.get(key);
+        return current != null && Objects.equals(current.getStatus(), status) && Objects.equals(current.getUrgency(), urgency);
+    }
+
+    private void schedule(String key, SlaBreach breach) {
+        openBreaches.remove(key);
+        SlaTimer timer = new SlaTimer(key, breach);
+        SlaTimer previous = timers.put(key, timer);
+        if (previous != null && previous.cancel()) {
+            cancelledCount.incrementAndGet();
+        }
+        long delay = Duration.between(OffsetDateTime.now(), breach.getDeadline()).toMillis();
+        timer.arm(wheel.schedule(timer, delay, TimeUnit.MILLISECONDS));
+        scheduledCount.incrementAndGet();
+    }
+
+    private void cancel(String key) {
+        openBreaches.remove(key);
+        SlaTimer previous = timers.remove(key);
+        if (previous != null && previous.cancel()) {
+            cancelledCount.incrementAndGet();
+        }
+    }
+
+    // Runs on the wheel thread: keep it short
+    private void onDeadline(SlaTimer timer) {
+        if (!timers.remove(timer.key, timer)) {
+            return; // rescheduled or cancelled in the meantime
+        }
+        timer.breach.markBreached(OffsetDateTime.now());
+        openBreaches.put(timer.key, timer.breach);
+        breachedCount.incrementAndGet();
+        log.warn("SLA breached: {} ({})", timer.key, timer.breach.getStatus());
+        eventPublisher.publishEvent(timer.breach);
+    }
+
+    private final class SlaTimer implements Runnable {
+
+        private final String key;
+        private final SlaBreach breach;
+        private volatile HashedTimingWheel.Timeout timeout;
+        private volatile boolean cancelled;
+
+        SlaTimer(String key, SlaBreach breach) {
+            this.key = key;
+            this.breach = breach;
+        }
+
+        void arm(HashedTimingWheel.Timeout timeout) {
+            this.timeout = timeout;
+            if (cancelled) {
+                timeout.cancel();
+            }
+        }
+
+        boolean cancel() {
+            cancelled = true;
+            HashedTimingWheel.Timeout current = timeout;
+            return current == null || current.cancel();
+        }
+
+        @Override
+        public void run() {
+            if (!cancelled) {
+                onDeadline(this);
+            }
+        }
+    }
+}
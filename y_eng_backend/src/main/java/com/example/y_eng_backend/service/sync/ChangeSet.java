@@ -0,0 +1,38 @@
+package com.example.y_eng_backend.service.sync;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// Rows changed and ids deleted after a client's watermark. The client applies both and sends
+// watermark back as the next since; while hasMore is set there are further changes to fetch now.
+public class ChangeSet<T> {
+
+    private final List<T> changed;
+    private final List<String> deleted;
+    private final OffsetDateTime watermark;
+    private final boolean hasMore;
+
+    public ChangeSet(List<T> changed, List<String> deleted, OffsetDateTime watermark, boolean hasMore) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.watermark = watermark;
+        this.hasMore = hasMore;
+    }
+
+    // Getters
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    public List<String> getDeleted() {
+        return deleted;
+    }
+
+    public OffsetDateTime getWatermark() {
+        return watermark;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
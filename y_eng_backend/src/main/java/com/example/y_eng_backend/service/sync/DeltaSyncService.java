@@ -0,0 +1,158 @@
+package com.example.y_eng_backend.service.sync;
+
+import com.example.y_eng_backend.entity.DeletedRecord;
+import com.example.y_eng_backend.entity.Order;
+import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.repository.DeletedRecordRepository;
+import com.example.y_eng_backend.repository.OrderRepository;
+import com.example.y_eng_backend.repository.RepairRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Function;
+
+// Changes since a client's watermark for keeping a local mirror of orders and repairs up to date.
+// A watermark is an updated_at value: each call returns the rows updated after it (through the
+// updated_at indexes) plus tombstones of rows deleted after it, and the watermark to send next.
+//
+// Rows are only returned once their updated_at is settle old. updated_at is set by the writing node
+// before its transaction commits, so a row stamped just before the watermark could still become
+// visible after it; settle covers that commit delay and the clock skew between nodes.
+@Service
+public class DeltaSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeltaSyncService.class);
+
+    public static final String ORDER = "order";
+    public static final String REPAIR = "repair";
+
+    // Timestamps are stored with microsecond precision
+    private static final Duration TICK = Duration.of(1, ChronoUnit.MICROS);
+    private static final OffsetDateTime EPOCH = Instant.EPOCH.atOffset(ZoneOffset.UTC);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RepairRequestRepository repairRequestRepository;
+
+    @Autowired
+    private DeletedRecordRepository deletedRecordRepository;
+
+    @Value("${changes.settle:PT5S}")
+    private Duration settle;
+
+    @Value("${changes.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    @Value("${changes.max-limit:1000}")
+    private int maxLimit;
+
+    @FunctionalInterface
+    private interface ChangedRows<T> {
+        List<T> find(OffsetDateTime since, OffsetDateTime upTo, Limit limit);
+    }
+
+    // Orders changed after since (null = every order, for the first load)
+    @Transactional(readOnly = true)
+    public ChangeSet<Order> getOrderChanges(OffsetDateTime since, int limit) {
+        return changes(ORDER, since, limit,
+                orderRepository::findByUpdatedAtGreaterThanAndUpdatedAtLessThanEqualOrderByUpdatedAtAscIdAsc,
+                Order::getUpdatedAt);
+    }
+
+    // Repairs changed after since (null = every repair, for the first load)
+    @Transactional(readOnly = true)
+    public ChangeSet<RepairRequest> getRepairChanges(OffsetDateTime since, int limit) {
+        return changes(REPAIR, since, limit,
+                repairRequestRepository::findByUpdatedAtGreaterThanAndUpdatedAtLessThanEqualOrderByUpdatedAtAscIdAsc,
+                RepairRequest::getUpdatedAt);
+    }
+
+    // Parses a watermark as sent back by a client (null when absent). An unencoded '+' in the offset
+    // arrives as a space in the query string.
+    public static OffsetDateTime parseWatermark(String since) {
+        if (since == null || since.isBlank()) {
+            return null;
+        }
+        return OffsetDateTime.parse(since.trim().replace(' ', '+'));
+    }
+
+    // Record a delete; call inside the transaction that deletes the row
+    public void recordDeletion(String entityType, Object id) {
+        DeletedRecord tombstone = new DeletedRecord();
+        tombstone.setEntityType(entityType);
+        tombstone.setRecordId(id.toString());
+        deletedRecordRepository.save(tombstone);
+    }
+
+    // Drop tombstones past the retention window; watermarks older than that get 410 Gone
+    @Scheduled(fixedDelayString = "${changes.purge-ms:3600000}", initialDelayString = "${changes.purge-ms:3600000}")
+    public void purgeTombstones() {
+        int purged = deletedRecordRepository.deleteOlderThan(OffsetDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Purged {} tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+
+    private <T> ChangeSet<T> changes(String entityType, OffsetDateTime since, int limit,
+                                     ChangedRows<T> rows, Function<T, OffsetDateTime> updatedAt) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        OffsetDateTime upTo = now.minus(settle);
+
+        // First load: everything settled so far in one response, no tombstones needed
+        if (since == null) {
+            List<T> all = rows.find(EPOCH, upTo, Limit.unlimited());
+            return new ChangeSet<>(all, List.of(), upTo, false);
+        }
+
+        OffsetDateTime horizon = now.minus(tombstoneRetention);
+        if (since.isBefore(horizon)) {
+            throw new WatermarkExpiredException(since, horizon);
+        }
+        if (!since.isBefore(upTo)) {
+            return new ChangeSet<>(List.of(), List.of(), since, false);
+        }
+
+        int size = Math.max(1, Math.min(limit, maxLimit));
+        List<T> changed = rows.find(since, upTo, Limit.of(size + 1));
+        OffsetDateTime watermark = upTo;
+        boolean hasMore = changed.size() > size;
+        if (hasMore) {
+            // The watermark must not split rows that share an updated_at, or the next call would skip
+            // the rest of them: end the page before the timestamp of the first row left out
+            OffsetDateTime next = updatedAt.apply(changed.get(size));
+            int end = size;
+            while (end > 0 && !updatedAt.apply(changed.get(end - 1)).isBefore(next)) {
+                end--;
+            }
+            if (end > 0) {
+                changed = changed.subList(0, end);
+                watermark = updatedAt.apply(changed.get(end - 1));
+            } else {
+                // The whole page shares one timestamp: return all rows with it
+                changed = rows.find(next.minus(TICK), next, Limit.unlimited());
+                watermark = next;
+            }
+        }
+
+        List<String> deleted = deletedRecordRepository
+                .findByEntityTypeAndDeletedAtGreaterThanAndDeletedAtLessThanEqualOrderByDeletedAtAsc(entityType, since, watermark)
+                .stream()
+                .map(DeletedRecord::getRecordId)
+                .toList();
+        return new ChangeSet<>(changed, deleted, watermark.withOffsetSameInstant(ZoneOffset.UTC), hasMore);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.y_eng_backend.service.sync;
+
+import java.time.OffsetDateTime;
+
+// Thrown when a client's watermark is older than the tombstones kept, so deletes since then may be
+// missing; the client has to reload without a watermark
+public class WatermarkExpiredException extends RuntimeException {
+
+    public WatermarkExpiredException(OffsetDateTime since, OffsetDateTime horizon) {
+        super("Watermark " + since + " is older than the oldest kept tombstone window (" + horizon + "); reload without since");
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.y_eng_backend.startup;
+
+import com.example.y_eng_backend.YEngBackendApplication;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Main class of the fast-startup training JVM (see the fast-startup profile in pom.xml). Jars listed in
+// -Dstartup.training.classpath (the H2 driver) are loaded by a class loader of their own, set as the
+// context class loader, instead of sitting on -cp: the CDS archive only accepts the class path it was
+// recorded with, so anything on -cp here would have to ship with the application too.
+public final class CdsTrainingLauncher {
+
+    private CdsTrainingLauncher() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<URL> urls = new ArrayList<>();
+        for (String path : System.getProperty("startup.training.classpath", "").split(File.pathSeparator)) {
+            if (!path.isBlank()) {
+                urls.add(new File(path).toURI().toURL());
+            }
+        }
+        if (!urls.isEmpty()) {
+            Thread.currentThread().setContextClassLoader(
+                    new URLClassLoader(urls.toArray(URL[]::new), CdsTrainingLauncher.class.getClassLoader()));
+        }
+        YEngBackendApplication.main(args);
+    }
+}
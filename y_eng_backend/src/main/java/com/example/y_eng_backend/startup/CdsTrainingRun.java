@@ -0,0 +1,155 @@
+package com.example.y_eng_backend.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Training run for the fast-startup build (see the fast-startup profile in pom.xml). When
+// startup.training.enabled=true, the instance sends itself a short request mix once it is ready and
+// then exits, so a JVM started with -XX:ArchiveClassesAtExit archives the classes real traffic
+// loads (security filters, MVC, Jackson, Hibernate reads and inserts), not only those of startup.
+// The flag is read at runtime because AOT processing fixes bean conditions at build time.
+//
+// The mix creates a category, a product, a cart, an order and a repair request: train against a
+// disposable database. Failed requests are logged and skipped; they still load most of the path.
+@Component
+public class CdsTrainingRun {
+
+    private static final Logger log = LoggerFactory.getLogger(CdsTrainingRun.class);
+
+    @Value("${startup.training.enabled:false}")
+    private boolean enabled;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private HttpClient client;
+    private String baseUrl;
+    private int requests;
+    private int failures;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (!enabled || !(event.getApplicationContext() instanceof WebServerApplicationContext context)) {
+            return;
+        }
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        baseUrl = "http://localhost:" + context.getWebServer().getPort();
+        try {
+            run();
+        } catch (Exception e) {
+            log.error("Training run aborted", e);
+        }
+        log.info("Training run done: {} requests, {} answered with an error status", requests, failures);
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private void run() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String adminToken = login(UUID.randomUUID(), "admin");
+
+        // Catalogue writes and reads
+        String category = send("POST", "/api/categories", Map.of("name", "Training " + suffix), adminToken, "application/json");
+        String categoryId = category == null ? "1" : jsonMapper.readTree(category).get("id").asString();
+        Map<String, Object> newProduct = new LinkedHashMap<>();
+        newProduct.put("name", "Training pump " + suffix);
+        newProduct.put("description", "1 HP centrifugal pump");
+        newProduct.put("price", 25000);
+        newProduct.put("stockQty", 100);
+        newProduct.put("categoryId", Long.valueOf(categoryId));
+        String product = send("POST", "/api/products", newProduct, adminToken, "application/json");
+        long productId = product == null ? 1 : jsonMapper.readTree(product).get("id").asLong();
+        for (String path : new String[] {"/api/categories", "/api/categories/" + categoryId, "/api/products",
+                "/api/products/" + productId, "/api/products/category/" + categoryId, "/api/products/search?q=pump",
+                "/api/products/in-stock", "/api/repair-slots/windows", "/api/repair-slots/availability?days=7"}) {
+            send("GET", path, null, null, "application/json");
+        }
+        send("GET", "/api/products", null, null, "application/cbor");
+        send("GET", "/api/products/category/" + categoryId, null, null, "application/x-jackson-smile");
+
+        // A customer: cart, checkout, repair booking
+        UUID user = UUID.randomUUID();
+        String token = login(user, "user");
+        send("POST", "/api/cart", Map.of("userId", user.toString(), "productId", productId, "quantity", 2), token, "application/json");
+        send("GET", "/api/cart/user/" + user, null, token, "application/json");
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("userId", user.toString());
+        order.put("totalAmount", 50000);
+        order.put("paymentMethod", "cash_on_delivery");
+        order.put("shippingAddress", "12 Galle Road, Colombo");
+        order.put("customerName", "Training Run");
+        order.put("customerPhone", "0771234567");
+        send("POST", "/api/orders", order, token, "application/json");
+        send("GET", "/api/orders/user/" + user, null, token, "application/json");
+        Map<String, Object> repair = new LinkedHashMap<>();
+        repair.put("userId", user.toString());
+        repair.put("customerName", "Training Run");
+        repair.put("customerPhone", "0771234567");
+        repair.put("customerEmail", "training@example.com");
+        repair.put("equipmentType", "Generator");
+        repair.put("brand", "Honda");
+        repair.put("issueDescription", "Does not start after rain");
+        repair.put("urgency", "normal");
+        repair.put("serviceType", "dropoff");
+        repair.put("preferredDate", LocalDate.now().plusDays(3).toString());
+        repair.put("preferredTime", "10:00 AM - 12:00 PM");
+        send("POST", "/api/repair-requests", repair, token, "application/json");
+        send("GET", "/api/repair-requests/user/" + user, null, token, "application/json");
+
+        // Admin screens, error paths and the endpoints the platform polls
+        for (String path : new String[] {"/api/orders", "/api/repair-requests", "/api/admin/search?q=honda"}) {
+            send("GET", path, null, adminToken, "application/json");
+        }
+        send("GET", "/api/orders", null, null, "application/json");
+        send("GET", "/api/products/0", null, null, "application/json");
+        send("GET", "/actuator/health", null, null, "application/json");
+        send("GET", "/actuator/prometheus", null, adminToken, "text/plain");
+    }
+
+    private String login(UUID user, String role) throws Exception {
+        String response = send("POST", "/api/auth/login",
+                Map.of("userId", user.toString(), "email", user + "@example.com", "role", role), null, "application/json");
+        return response == null ? null : jsonMapper.readTree(response).get("token").asString();
+    }
+
+    // Returns the body of a 2xx JSON response, null otherwise
+    private String send(String method, String path, Object body, String token, String accept) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", accept);
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        requests++;
+        if (response.statusCode() >= 400) {
+            failures++;
+            log.info("Training request {} {} answered {}", method, path, response.statusCode());
+            return null;
+        }
+        return response.body();
+    }
+}
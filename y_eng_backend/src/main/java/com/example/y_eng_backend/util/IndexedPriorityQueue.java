@@ -0,0 +1,153 @@
+package com.example.y_eng_backend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Binary min-heap that also keeps a key -> heap slot index, so an entry can be
+ * re-prioritised or removed by key in O(log n) instead of O(n).
+ * Not thread-safe; callers guard it with their own lock.
+ */
+public class IndexedPriorityQueue<K, V> {
+
+    private final Comparator<? super V> comparator;
+    private final List<K> keys = new ArrayList<>();
+    private final List<V> values = new ArrayList<>();
+    private final Map<K, Integer> slots = new HashMap<>();
+
+    public IndexedPriorityQueue(Comparator<? super V> comparator) {
+        this.comparator = comparator;
+    }
+
+    // Insert a new entry or re-prioritise an existing one
+    public void put(K key, V value) {
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            keys.add(key);
+            values.add(value);
+            slots.put(key, keys.size() - 1);
+            siftUp(keys.size() - 1);
+            return;
+        }
+        values.set(slot, value);
+        if (!siftUp(slot)) {
+            siftDown(slot);
+        }
+    }
+
+    // Remove an entry by key, returns the removed value or null
+    public V remove(K key) {
+        Integer slot = slots.remove(key);
+        if (slot == null) {
+            return null;
+        }
+        V removed = values.get(slot);
+        int last = keys.size() - 1;
+        if (slot != last) {
+            move(last, slot);
+            keys.remove(last);
+            values.remove(last);
+            if (!siftUp(slot)) {
+                siftDown(slot);
+            }
+        } else {
+            keys.remove(last);
+            values.remove(last);
+        }
+        return removed;
+    }
+
+    public V get(K key) {
+        Integer slot = slots.get(key);
+        return slot == null ? null : values.get(slot);
+    }
+
+    public boolean contains(K key) {
+        return slots.containsKey(key);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public void clear() {
+        keys.clear();
+        values.clear();
+        slots.clear();
+    }
+
+    // Return the n highest-priority values in order without modifying the heap (O(n log n))
+    public List<V> peek(int n) {
+        List<V> result = new ArrayList<>(Math.min(n, keys.size()));
+        if (n <= 0 || keys.isEmpty()) {
+            return result;
+        }
+        PriorityQueue<Integer> frontier = new PriorityQueue<>((a, b) -> comparator.compare(values.get(a), values.get(b)));
+        frontier.add(0);
+        while (!frontier.isEmpty() && result.size() < n) {
+            int slot = frontier.poll();
+            result.add(values.get(slot));
+            int left = 2 * slot + 1;
+            if (left < keys.size()) {
+                frontier.add(left);
+            }
+            if (left + 1 < keys.size()) {
+                frontier.add(left + 1);
+            }
+        }
+        return result;
+    }
+
+    private boolean siftUp(int slot) {
+        int start = slot;
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (comparator.compare(values.get(slot), values.get(parent)) >= 0) {
+                break;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+        return slot != start;
+    }
+
+    private void siftDown(int slot) {
+        int size = keys.size();
+        while (true) {
+            int left = 2 * slot + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left;
+            if (left + 1 < size && comparator.compare(values.get(left + 1), values.get(left)) < 0) {
+                child = left + 1;
+            }
+            if (comparator.compare(values.get(child), values.get(slot)) >= 0) {
+                return;
+            }
+            swap(slot, child);
+            slot = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        K keyA = keys.get(a);
+        V valueA = values.get(a);
+        keys.set(a, keys.get(b));
+        values.set(a, values.get(b));
+        keys.set(b, keyA);
+        values.set(b, valueA);
+        slots.put(keys.get(a), a);
+        slots.put(keys.get(b), b);
+    }
+
+    private void move(int from, int to) {
+        keys.set(to, keys.get(from));
+        values.set(to, values.get(from));
+        slots.put(keys.get(to), to);
+    }
+}
@@ -0,0 +1,75 @@
+-- Schema as it stood before Flyway. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate), so this only runs on an empty database; anything added since
+-- belongs in a later version, which baselined databases do run.
+
+CREATE TABLE public.categories (
+    id         BIGSERIAL PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    CONSTRAINT uq_categories_name UNIQUE (name)
+);
+
+CREATE TABLE public.products (
+    id          BIGSERIAL PRIMARY KEY,
+    name        VARCHAR(255)  NOT NULL,
+    description TEXT,
+    price       NUMERIC(12,2) NOT NULL CHECK (price >= 0),
+    stock_qty   INTEGER       NOT NULL DEFAULT 0,
+    category_id BIGINT        REFERENCES public.categories (id) ON DELETE SET NULL,
+    image_url   VARCHAR(1024)
+);
+
+CREATE TABLE public.orders (
+    id               BIGSERIAL PRIMARY KEY,
+    user_id          UUID          NOT NULL,
+    order_number     VARCHAR(64)   NOT NULL,
+    total_amount     NUMERIC(12,2) NOT NULL,
+    status           VARCHAR(32)   NOT NULL DEFAULT 'pending',
+    payment_method   VARCHAR(32)   NOT NULL,
+    shipping_address TEXT          NOT NULL,
+    customer_name    VARCHAR(255)  NOT NULL,
+    customer_phone   VARCHAR(64)   NOT NULL,
+    notes            TEXT,
+    created_at       TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    updated_at       TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    CONSTRAINT uq_orders_order_number UNIQUE (order_number)
+);
+
+CREATE TABLE public.order_items (
+    id                BIGSERIAL PRIMARY KEY,
+    order_id          BIGINT        NOT NULL REFERENCES public.orders (id) ON DELETE CASCADE,
+    product_id        BIGINT        NOT NULL,
+    product_name      VARCHAR(255)  NOT NULL,
+    quantity          INTEGER       NOT NULL CHECK (quantity > 0),
+    price_at_purchase NUMERIC(12,2) NOT NULL
+);
+
+CREATE TABLE public.cart_items (
+    id         BIGSERIAL PRIMARY KEY,
+    user_id    UUID        NOT NULL,
+    product_id BIGINT      NOT NULL REFERENCES public.products (id) ON DELETE CASCADE,
+    quantity   INTEGER     NOT NULL DEFAULT 1 CHECK (quantity > 0),
+    added_at   TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE TABLE public.repair_requests (
+    id                UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id           UUID          NOT NULL,
+    customer_name     VARCHAR(255),
+    customer_phone    VARCHAR(64),
+    customer_email    VARCHAR(255),
+    equipment_type    VARCHAR(255),
+    brand             VARCHAR(255),
+    issue_description TEXT,
+    status            VARCHAR(32)   NOT NULL DEFAULT 'pending',
+    admin_notes       TEXT,
+    estimated_cost    NUMERIC(12,2),
+    urgency           VARCHAR(16)   NOT NULL DEFAULT 'normal',
+    service_type      VARCHAR(16)   NOT NULL DEFAULT 'dropoff',
+    pickup_address    TEXT,
+    preferred_date    DATE,
+    preferred_time    VARCHAR(64),
+    created_at        TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    updated_at        TIMESTAMPTZ   NOT NULL DEFAULT now()
+);
+
@@ -0,0 +1,2 @@
+-- Trigram operator classes for the product name search index (V3).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
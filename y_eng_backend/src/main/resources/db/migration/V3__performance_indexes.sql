@@ -0,0 +1,28 @@
+-- Indexes behind the repository queries. CONCURRENTLY keeps the tables writable while a large
+-- database builds them; Flyway runs this migration outside a transaction. If a build fails it
+-- leaves an INVALID index behind: drop it and run the migration again.
+
+-- Cart lookups by user (findByUserId, deleteByUserId) and by user and product (add to cart)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cart_items_user_product ON public.cart_items (user_id, product_id);
+
+-- A user's order history, newest first, read straight off the index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_user_created ON public.orders (user_id, created_at);
+
+-- Admin filters and the search index warm-up by status
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status ON public.orders (status);
+
+-- Items of an order (eager load of Order.items, findByOrderId)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order ON public.order_items (order_id);
+
+-- A user's repairs, newest first, also serves the user + status filter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_repair_requests_user_created ON public.repair_requests (user_id, created_at);
+
+-- Dispatch board and admin filters by status
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_repair_requests_status ON public.repair_requests (status);
+
+-- Products of a category
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category ON public.products (category_id);
+
+-- Case-insensitive substring search; Hibernate renders findByNameContainingIgnoreCase as
+-- upper(name) LIKE upper(?), so the index is on the same expression
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_name_trgm ON public.products USING gin (upper(name) gin_trgm_ops);
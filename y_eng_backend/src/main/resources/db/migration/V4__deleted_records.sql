@@ -0,0 +1,10 @@
+-- Tombstones for the delta sync endpoints (/api/orders/changes, /api/repair-requests/changes): a
+-- deleted row leaves no updated_at behind, so its id is recorded here with the time of the delete.
+-- Rows older than changes.tombstone-retention are purged.
+CREATE TABLE public.deleted_records (
+    id          BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(32) NOT NULL,
+    record_id   VARCHAR(64) NOT NULL,
+    deleted_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+CREATE INDEX idx_deleted_records_type_deleted ON public.deleted_records (entity_type, deleted_at);
@@ -0,0 +1,6 @@
+-- Range scans on updated_at for the delta sync endpoints. Built CONCURRENTLY like V3, so Flyway
+-- runs this migration outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_updated_at ON public.orders (updated_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_repair_requests_updated_at ON public.repair_requests (updated_at);
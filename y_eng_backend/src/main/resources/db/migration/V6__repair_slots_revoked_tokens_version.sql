@@ -0,0 +1,28 @@
+-- Objects that used to be created by hand from db/*.sql. A database baselined at V1 skipped V1, so
+-- they may or may not be there already.
+
+-- Optimistic locking (JPA @Version and JSON Merge Patch updates)
+ALTER TABLE public.repair_requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Capacity calendar for repair pickups and drop-offs.
+-- Rows are created lazily with the configured default capacity on first booking.
+CREATE TABLE IF NOT EXISTS public.repair_slots (
+    id           BIGSERIAL PRIMARY KEY,
+    slot_date    DATE         NOT NULL,
+    time_window  VARCHAR(64)  NOT NULL,
+    service_type VARCHAR(16)  NOT NULL,
+    capacity     INTEGER      NOT NULL CHECK (capacity >= 0),
+    reserved     INTEGER      NOT NULL DEFAULT 0 CHECK (reserved >= 0),
+    CONSTRAINT uq_repair_slots UNIQUE (slot_date, time_window, service_type)
+);
+
+-- Revoked JWTs: single tokens by jti (logout) or all of a user's tokens issued before revoked_before.
+CREATE TABLE IF NOT EXISTS public.revoked_tokens (
+    id             BIGSERIAL PRIMARY KEY,
+    token_id       VARCHAR(64),
+    user_id        VARCHAR(64),
+    revoked_before TIMESTAMPTZ,
+    revoked_at     TIMESTAMPTZ NOT NULL DEFAULT now(),
+    expires_at     TIMESTAMPTZ NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON public.revoked_tokens (expires_at);
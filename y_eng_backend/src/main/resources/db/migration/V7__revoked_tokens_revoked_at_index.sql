@@ -0,0 +1,2 @@
+-- The revocation refresh reads the rows revoked since its previous run
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON public.revoked_tokens (revoked_at);
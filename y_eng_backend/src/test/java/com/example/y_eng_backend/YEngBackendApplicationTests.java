@@ -3,7 +3,9 @@ package com.example.y_eng_backend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// No database here; the migrations are exercised by RepositoryQueryPlanTest. The Postgres
+// invalidation transport needs a real database URL, so the in-JVM one stands in.
+@SpringBootTest(properties = {"spring.flyway.enabled=false", "invalidation.transport=jvm"})
 class YEngBackendApplicationTests {
 
     @Test
@@ -0,0 +1,150 @@
+package com.example.y_eng_backend.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Drives the limiter on a clock of its own, one 100 ms window at a time. Smoothing is 1, so each
+// window moves the limit all the way to its target: limit x gradient + sqrt(limit), where the
+// gradient is 1.5 x baseline / window average, between 0.5 and 1.
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW_MS = 100;
+    private static final long PROBE_MS = 1_000;
+
+    private long now = 1_000_000_000L;
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 2, 1000, 1.5, 1.0, WINDOW_MS, PROBE_MS, 1, now);
+    }
+
+    // Holds inFlight requests at once, each taking latencyMs, and ends the window with the last release
+    private void window(AdaptiveConcurrencyLimiter limiter, int inFlight, long latencyMs) {
+        for (int i = 0; i < inFlight; i++) {
+            assertTrue(limiter.tryAcquire(1.0), "slot " + (i + 1) + " of " + inFlight);
+        }
+        long latency = TimeUnit.MILLISECONDS.toNanos(latencyMs);
+        for (int i = 0; i < inFlight - 1; i++) {
+            limiter.release(latency, now);
+        }
+        now += TimeUnit.MILLISECONDS.toNanos(WINDOW_MS);
+        limiter.release(latency, now);
+    }
+
+    @Test
+    void limitGrowsBySqrtWhileLatencyStaysNearBaseline() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        window(limiter, 20, 10);
+
+        assertEquals(10.0, limiter.getBaselineMillis(), 1e-9);
+        assertEquals((int) (20 + Math.sqrt(20)), limiter.getLimit());
+    }
+
+    @Test
+    void limitShrinksWithTheGradientWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        window(limiter, 20, 10);
+        double limit = 20 + Math.sqrt(20);
+
+        // 1.5 x 10 / 20 = 0.75
+        window(limiter, 20, 20);
+        limit = limit * 0.75 + Math.sqrt(limit);
+        assertEquals((int) limit, limiter.getLimit());
+
+        // 1.5 x 10 / 60 = 0.25, clamped to 0.5
+        window(limiter, 20, 60);
+        limit = limit * 0.5 + Math.sqrt(limit);
+        assertEquals((int) limit, limiter.getLimit());
+    }
+
+    @Test
+    void limitDoesNotRunAheadOfTwiceThePeakInFlight() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        window(limiter, 3, 10);
+        assertEquals(20, limiter.getLimit());
+
+        window(limiter, 11, 10);
+        assertEquals(22, limiter.getLimit());
+    }
+
+    @Test
+    void classesAreShedByShare() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        assertEquals(5, limiter.limitFor(0.5));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(0.5));
+        }
+        assertFalse(limiter.tryAcquire(0.5));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(1.0));
+        }
+        assertFalse(limiter.tryAcquire(1.0));
+        assertEquals(10, limiter.getInFlight());
+
+        limiter.release(-1, now);
+        assertTrue(limiter.tryAcquire(1.0));
+        assertFalse(limiter.tryAcquire(0.5));
+    }
+
+    @Test
+    void releasesWithoutLatencyDoNotCloseTheWindow() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        limiter.tryAcquire(1.0);
+        now += TimeUnit.MILLISECONDS.toNanos(10 * WINDOW_MS);
+
+        limiter.release(-1, now);
+
+        assertEquals(0.0, limiter.getBaselineMillis());
+        assertEquals(20, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void healthyTrafficIsNeverProbed() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        int previous = 0;
+        // Five probe periods of traffic filling the limit at baseline latency
+        for (int i = 0; i < 5 * PROBE_MS / WINDOW_MS; i++) {
+            int limit = limiter.getLimit();
+            assertTrue(limit >= previous, "limit went from " + previous + " to " + limit + " in window " + i);
+            previous = limit;
+            window(limiter, limit, 10);
+        }
+        assertEquals(10.0, limiter.getBaselineMillis(), 1e-9);
+    }
+
+    @Test
+    void probeRelearnsTheBaselineAfterALastingSlowdown() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        window(limiter, 40, 10);
+
+        // Three times slower for good: the limit settles where limit x 0.5 + sqrt(limit) = limit
+        int settled = 0;
+        while (now - 1_000_000_000L < TimeUnit.MILLISECONDS.toNanos(PROBE_MS - WINDOW_MS)) {
+            settled = limiter.getLimit();
+            window(limiter, settled, 30);
+        }
+        assertEquals(10.0, limiter.getBaselineMillis(), 1e-9);
+
+        // The window past the probe time halves the limit for two windows; the second one measures
+        int beforeProbe = limiter.getLimit();
+        window(limiter, limiter.getLimit(), 30);
+        assertEquals(Math.max(2, beforeProbe / 2), limiter.getLimit());
+        window(limiter, limiter.getLimit(), 30);
+        window(limiter, limiter.getLimit(), 30);
+
+        assertEquals(30.0, limiter.getBaselineMillis(), 1e-9);
+        assertEquals(beforeProbe, limiter.getLimit());
+
+        // Back within tolerance of the new baseline, so growing again
+        window(limiter, limiter.getLimit(), 30);
+        assertTrue(limiter.getLimit() > beforeProbe);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.y_eng_backend.config;
+
+import com.example.y_eng_backend.security.jwt.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Admin endpoints turn away anonymous callers and signed-in customers before the controller runs
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admin-security;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "invalidation.transport=jvm",
+        "ratelimit.enabled=false",
+        "logging.level.root=WARN"
+})
+@AutoConfigureMockMvc
+class AdminEndpointSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void revokeUserNeedsAnAdmin() throws Exception {
+        mockMvc.perform(revokeUser()).andExpect(status().isForbidden());
+        mockMvc.perform(revokeUser().header("Authorization", bearer("customer"))).andExpect(status().isForbidden());
+        mockMvc.perform(revokeUser().header("Authorization", bearer("admin"))).andExpect(status().isNoContent());
+    }
+
+    @Test
+    void dashboardNeedsAnAdmin() throws Exception {
+        assertAdminOnly("/api/admin/dashboard");
+    }
+
+    @Test
+    void searchNeedsAnAdmin() throws Exception {
+        assertAdminOnly("/api/admin/search?q=screen");
+    }
+
+    @Test
+    void adminEventStreamNeedsAnAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/events")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/events").header("Authorization", bearer("customer"))).andExpect(status().isForbidden());
+        // An admin gets the stream opened, which MockMvc sees as an async request
+        mockMvc.perform(get("/api/admin/events").header("Authorization", bearer("admin")))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void slaEndpointsNeedAnAdmin() throws Exception {
+        assertAdminOnly("/api/admin/sla/stats");
+        assertAdminOnly("/api/admin/sla/breaches");
+    }
+
+    @Test
+    void slotCapacityNeedsAnAdmin() throws Exception {
+        mockMvc.perform(setCapacity()).andExpect(status().isForbidden());
+        mockMvc.perform(setCapacity().header("Authorization", bearer("customer"))).andExpect(status().isForbidden());
+        // The upsert uses ON CONFLICT, which H2 rejects: past security is as far as this test can see
+        mockMvc.perform(setCapacity().header("Authorization", bearer("admin")))
+                .andExpect(result -> assertNotEquals(403, result.getResponse().getStatus()));
+    }
+
+    @Test
+    void actuatorIsAdminOnlyExceptHealth() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health/liveness")).andExpect(status().isOk());
+        assertAdminOnly("/actuator/metrics");
+        assertAdminOnly("/actuator/metrics/jvm.memory.used");
+    }
+
+    // Anonymous and customer GETs are refused, an admin GET gets 200
+    private void assertAdminOnly(String path) throws Exception {
+        mockMvc.perform(get(path)).andExpect(status().isForbidden());
+        mockMvc.perform(get(path).header("Authorization", bearer("customer"))).andExpect(status().isForbidden());
+        mockMvc.perform(get(path).header("Authorization", bearer("admin"))).andExpect(status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder revokeUser() {
+        return post("/api/auth/revoke-user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":\"" + UUID.randomUUID() + "\"}");
+    }
+
+    private MockHttpServletRequestBuilder setCapacity() {
+        return put("/api/repair-slots/capacity")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"date\":\"" + LocalDate.now().plusDays(3) + "\",\"timeWindow\":\"10:00 AM - 12:00 PM\","
+                        + "\"serviceType\":\"dropoff\",\"capacity\":4}");
+    }
+
+    private String bearer(String role) {
+        return "Bearer " + jwtUtil.generateToken(UUID.randomUUID().toString(), role + "@example.com", role);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.y_eng_backend.controller;
+
+import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.repository.RepairRequestPatchRepository;
+import com.example.y_eng_backend.repository.RepairRequestRepository;
+import com.example.y_eng_backend.service.RepairRequestService;
+import com.example.y_eng_backend.service.booking.SlotCalendarService;
+import com.example.y_eng_backend.service.dispatch.RepairDispatchService;
+import com.example.y_eng_backend.service.events.ChangeEventBus;
+import com.example.y_eng_backend.service.invalidation.CacheInvalidationBus;
+import com.example.y_eng_backend.service.search.AdminSearchService;
+import com.example.y_eng_backend.service.sla.SlaMonitorService;
+import com.example.y_eng_backend.service.sync.DeltaSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// PATCH /api/repair-requests/{id} (merge patch): whitelist, version checks, slot rollback and a minimal response
+class RepairRequestPatchTest {
+
+    private static final String WINDOW = "10:00 AM - 12:00 PM";
+
+    private final UUID id = UUID.randomUUID();
+    private RepairRequestPatchRepository patchRepository;
+    private SlotCalendarService slotCalendarService;
+    private ChangeEventBus changeEventBus;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        patchRepository = mock(RepairRequestPatchRepository.class);
+        when(patchRepository.convert(anyMap())).thenCallRealMethod();
+        slotCalendarService = mock(SlotCalendarService.class);
+        when(slotCalendarService.holdsSlot(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0, RepairRequest.class).getPreferredDate() != null);
+        changeEventBus = mock(ChangeEventBus.class);
+
+        RepairRequestService service = new RepairRequestService();
+        ReflectionTestUtils.setField(service, "repairRequestRepository", mock(RepairRequestRepository.class));
+        ReflectionTestUtils.setField(service, "repairRequestPatchRepository", patchRepository);
+        ReflectionTestUtils.setField(service, "repairDispatchService", mock(RepairDispatchService.class));
+        ReflectionTestUtils.setField(service, "slotCalendarService", slotCalendarService);
+        ReflectionTestUtils.setField(service, "adminSearchService", mock(AdminSearchService.class));
+        ReflectionTestUtils.setField(service, "slaMonitorService", mock(SlaMonitorService.class));
+        ReflectionTestUtils.setField(service, "changeEventBus", changeEventBus);
+        ReflectionTestUtils.setField(service, "cacheInvalidationBus", mock(CacheInvalidationBus.class));
+        ReflectionTestUtils.setField(service, "deltaSyncService", mock(DeltaSyncService.class));
+
+        RepairRequestController controller = new RepairRequestController();
+        ReflectionTestUtils.setField(controller, "repairRequestService", service);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        RepairRequest current = new RepairRequest();
+        current.setId(id);
+        current.setVersion(5L);
+        current.setStatus("pending");
+        current.setServiceType("dropoff");
+        when(patchRepository.findSlotState(id)).thenReturn(Optional.of(current));
+    }
+
+    @Test
+    void fieldsOutsideTheWhitelistAreRejected() throws Exception {
+        for (String field : new String[] {"userId", "id", "createdAt", "updatedAt"}) {
+            mockMvc.perform(mergePatch("{\"" + field + "\":\"x\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", containsString("Field cannot be patched: " + field)));
+        }
+        verify(patchRepository, never()).applyPatch(any(), anyLong(), anyMap());
+    }
+
+    @Test
+    void requiredFieldsCannotBeNulled() throws Exception {
+        for (String field : new String[] {"status", "urgency", "serviceType"}) {
+            mockMvc.perform(mergePatch("{\"" + field + "\":null}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", containsString("Field cannot be null: " + field)));
+        }
+        verify(patchRepository, never()).applyPatch(any(), anyLong(), anyMap());
+    }
+
+    @Test
+    void staleIfMatchIsAConflict() throws Exception {
+        mockMvc.perform(mergePatch("{\"adminNotes\":\"Call back\"}").header("If-Match", "\"4\""))
+                .andExpect(status().isConflict());
+        verify(patchRepository, never()).applyPatch(any(), anyLong(), anyMap());
+    }
+
+    @Test
+    void staleBodyVersionIsAConflict() throws Exception {
+        mockMvc.perform(mergePatch("{\"adminNotes\":\"Call back\",\"version\":4}"))
+                .andExpect(status().isConflict());
+        verify(patchRepository, never()).applyPatch(any(), anyLong(), anyMap());
+    }
+
+    @Test
+    void concurrentUpdateReleasesTheNewlyReservedSlot() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(2);
+        when(slotCalendarService.reserve(any())).thenReturn(true);
+        // Someone else bumped the version between the read and the conditional UPDATE
+        when(patchRepository.applyPatch(eq(id), eq(5L), anyMap())).thenReturn(Optional.empty());
+
+        mockMvc.perform(mergePatch("{\"preferredDate\":\"" + date + "\",\"preferredTime\":\"" + WINDOW + "\"}"))
+                .andExpect(status().isConflict());
+
+        verify(slotCalendarService, times(1)).reserve(argThat(repair -> date.equals(repair.getPreferredDate())));
+        verify(slotCalendarService, times(1)).release(argThat(repair -> date.equals(repair.getPreferredDate())));
+        verify(slotCalendarService, never()).release(argThat(repair -> repair.getPreferredDate() == null));
+        verify(changeEventBus, never()).onRepairChanged(any(), any());
+    }
+
+    @Test
+    void responseCarriesOnlyTheVersionAndThePatchedFields() throws Exception {
+        RepairRequest saved = new RepairRequest();
+        saved.setId(id);
+        saved.setVersion(6L);
+        saved.setUpdatedAt(OffsetDateTime.now());
+        saved.setStatus("pending");
+        saved.setServiceType("dropoff");
+        saved.setCustomerName("Not echoed back");
+        when(patchRepository.applyPatch(eq(id), eq(5L), anyMap())).thenReturn(Optional.of(saved));
+
+        mockMvc.perform(mergePatch("{\"adminNotes\":\"Call back\",\"estimatedCost\":1500}").header("If-Match", "\"5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"6\""))
+                .andExpect(jsonPath("$", aMapWithSize(5)))
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andExpect(jsonPath("$.version").value(6))
+                .andExpect(jsonPath("$.updatedAt").exists())
+                .andExpect(jsonPath("$.adminNotes").value("Call back"))
+                .andExpect(jsonPath("$.estimatedCost").value(1500));
+        verify(patchRepository).applyPatch(eq(id), eq(5L), eq(Map.of("adminNotes", "Call back",
+                "estimatedCost", new BigDecimal("1500"))));
+    }
+
+    private MockHttpServletRequestBuilder mergePatch(String body) {
+        return patch("/api/repair-requests/" + id)
+                .contentType("application/merge-patch+json")
+                .content(body);
+    }
+}
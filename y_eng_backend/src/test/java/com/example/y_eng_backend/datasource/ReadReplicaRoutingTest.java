@@ -0,0 +1,203 @@
+package com.example.y_eng_backend.datasource;
+
+import com.example.y_eng_backend.entity.Category;
+import com.example.y_eng_backend.entity.Product;
+import com.example.y_eng_backend.repository.ProductRepository;
+import com.example.y_eng_backend.service.CategoryService;
+import com.example.y_eng_backend.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two in-memory H2 databases stand in for primary and replica. They hold different rows, so the
+// returned names show which one served a read. There is no replication: the replica only ever has
+// what the test writes into it.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "invalidation.transport=jvm",
+        "datasource.replica.urls=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "datasource.replica.lag-query=select lag_ms from replica_status",
+        "datasource.replica.check-ms=3600000",
+        "datasource.replica.sticky-ms=300",
+        "logging.level.root=WARN"
+})
+class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReadReplicaRoutingDataSource router;
+
+    @Autowired
+    private JdbcTemplate primary;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        replica.execute("drop table if exists products");
+        replica.execute("drop table if exists categories");
+        replica.execute("drop table if exists replica_status");
+        replica.execute("create table categories (id bigint generated by default as identity primary key,"
+                + " name varchar(255) not null, created_at timestamp(6) with time zone not null)");
+        replica.execute("create table products (id bigint generated by default as identity primary key,"
+                + " name varchar(255) not null, description text, price numeric(38,2) not null, stock_qty integer not null,"
+                + " category_id bigint, image_url varchar(255))");
+        replica.execute("create table replica_status (lag_ms bigint)");
+        replica.update("insert into replica_status values (0)");
+        seed(replica, "Replica");
+
+        primary.update("delete from products");
+        primary.update("delete from categories");
+        categoryId = seed(primary, "Primary");
+        // The rows above were written past Hibernate, so its second-level cache does not know
+        entityManagerFactory.getCache().evictAll();
+
+        router.checkReplicas();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyServiceMethodsReadFromReplica() {
+        assertEquals(List.of("Replica pump"), productNames());
+        assertEquals(List.of("Replica pumps"), categoryService.getAllCategories().stream().map(Category::getName).toList());
+    }
+
+    @Test
+    void writesGoToPrimary() {
+        signIn("writer");
+        productService.createProduct(product("New pump"));
+
+        assertEquals(1, primary.queryForObject("select count(*) from products where name = 'New pump'", Integer.class));
+        assertEquals(0, replica.queryForObject("select count(*) from products where name = 'New pump'", Integer.class));
+    }
+
+    @Test
+    void usersReadTheirOwnWritesUntilTheStickyWindowEnds() throws InterruptedException {
+        signIn("alice");
+        productService.createProduct(product("Alice pump"));
+        assertTrue(productNames().contains("Alice pump"), "alice reads from the primary right after her write");
+
+        signIn("bob");
+        assertEquals(List.of("Replica pump"), productNames());
+
+        Thread.sleep(400);
+        signIn("alice");
+        assertEquals(List.of("Replica pump"), productNames());
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotation() {
+        replica.update("update replica_status set lag_ms = 60000");
+        router.checkReplicas();
+        assertEquals(List.of("Primary pump"), productNames());
+        assertEquals(60000, router.getReplicas().get(0).getLagMillis());
+
+        replica.update("update replica_status set lag_ms = 100");
+        router.checkReplicas();
+        assertEquals(List.of("Replica pump"), productNames());
+    }
+
+    @Test
+    void readsOutsideTheListedServicesStayOnPrimary() {
+        assertEquals(List.of("Primary pump"), productRepository.findAll().stream().map(Product::getName).toList());
+    }
+
+    @Test
+    void explicitCredentialsFollowTheSameRoute() throws SQLException {
+        // Without credentials of its own the primary only opens with the ones passed in
+        ReadReplicaRoutingDataSource standalone = new ReadReplicaRoutingDataSource(new DriverManagerDataSource(PRIMARY_URL),
+                Map.of("replica", new DriverManagerDataSource(REPLICA_URL, "sa", "")), List.of("reports"),
+                300, 1000, "select lag_ms from replica_status");
+        standalone.checkReplicas();
+
+        assertEquals("Primary pump", firstProductName(standalone));
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        TransactionSynchronizationManager.setCurrentTransactionName("reports.totals");
+        try {
+            assertEquals("Replica pump", firstProductName(standalone));
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private static String firstProductName(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection("sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select name from products order by id")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private List<String> productNames() {
+        return productService.getAllProducts().stream().map(Product::getName).toList();
+    }
+
+    private Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("1500.00"));
+        product.setStockQty(5);
+        product.setCategoryId(categoryId);
+        return product;
+    }
+
+    private static void signIn(String userId) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(userId, null, List.of()));
+    }
+
+    private static Long seed(JdbcTemplate jdbc, String label) {
+        jdbc.update("insert into categories (name, created_at) values (?, current_timestamp)", label + " pumps");
+        Long id = jdbc.queryForObject("select id from categories where name = ?", Long.class, label + " pumps");
+        jdbc.update("insert into products (name, price, stock_qty, category_id) values (?, 2500.00, 3, ?)", label + " pump", id);
+        return id;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.y_eng_backend.querybudget;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Query budgets for tests: counts the SQL statements Hibernate prepares while the work runs, on the
+// test thread and on threads it starts, and fails listing them when the work goes over. MockMvc runs
+// the request on the test thread, so a controller test wraps its perform() call:
+//
+//     assertQueryBudget(2, 1, () -> mockMvc.perform(get("/api/categories")).andExpect(status().isOk()));
+//
+// Requests sent over a real port run on server threads and are not counted.
+public final class QueryBudgetAssertions {
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    private QueryBudgetAssertions() {
+    }
+
+    public static QueryCounter countStatements(Work work) throws Exception {
+        try (QueryCounter counter = QueryCounter.open()) {
+            work.run();
+            return counter;
+        }
+    }
+
+    // At most maxStatements statements, none of them run more than maxRepeats times
+    public static QueryCounter assertQueryBudget(int maxStatements, int maxRepeats, Work work) throws Exception {
+        QueryCounter counter = countStatements(work);
+        if (counter.getStatements() > maxStatements) {
+            fail("Expected at most " + maxStatements + " statements but " + counter.getStatements() + " ran:"
+                    + describe(counter));
+        }
+        if (counter.getMaxRepeats() > maxRepeats) {
+            fail("Expected no statement to run more than " + maxRepeats + " times but one ran "
+                    + counter.getMaxRepeats() + " times:" + describe(counter));
+        }
+        return counter;
+    }
+
+    private static String describe(QueryCounter counter) {
+        StringBuilder description = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : counter.getCounts().entrySet()) {
+            description.append("\n  ").append(entry.getValue()).append("x ").append(entry.getKey());
+        }
+        return description.toString();
+    }
+}
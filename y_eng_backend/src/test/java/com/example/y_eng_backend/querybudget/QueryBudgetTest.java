@@ -0,0 +1,149 @@
+package com.example.y_eng_backend.querybudget;
+
+import com.example.y_eng_backend.entity.Category;
+import com.example.y_eng_backend.entity.Product;
+import com.example.y_eng_backend.repository.CategoryRepository;
+import com.example.y_eng_backend.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static com.example.y_eng_backend.querybudget.QueryBudgetAssertions.assertQueryBudget;
+import static com.example.y_eng_backend.querybudget.QueryBudgetAssertions.countStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querybudget;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "invalidation.transport=jvm",
+        "ratelimit.enabled=false",
+        "logging.level.root=WARN"
+})
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+    private static final int CATEGORIES = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        if (categoryRepository.count() == 0) {
+            for (int i = 0; i < CATEGORIES; i++) {
+                Category category = new Category();
+                category.setName("Category " + i);
+                category = categoryRepository.save(category);
+                Product product = new Product();
+                product.setName("Product " + i);
+                product.setPrice(new BigDecimal("100.00"));
+                product.setStockQty(3);
+                product.setCategoryId(category.getId());
+                productRepository.save(product);
+            }
+        }
+        // Cached entities would not reach the database
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void categoryListIsOneStatement() throws Exception {
+        assertQueryBudget(1, 1, () -> mockMvc.perform(get("/api/categories")).andExpect(status().isOk()));
+    }
+
+    // Product.category is eager and loaded with a select of its own for every category in the list
+    @Test
+    void productListLoadsCategoriesOneByOne() throws Exception {
+        double exceededBefore = exceeded("/api/products", "repeats");
+
+        QueryCounter counter = countStatements(() -> mockMvc.perform(get("/api/products")).andExpect(status().isOk()));
+
+        assertEquals(1 + CATEGORIES, counter.getStatements());
+        assertEquals(CATEGORIES, counter.getMaxRepeats());
+        assertTrue(counter.getMostRepeated().contains("from public.categories"), counter.getMostRepeated());
+        assertEquals(exceededBefore + 1, exceeded("/api/products", "repeats"));
+        assertTrue(assertThrows(AssertionError.class,
+                () -> assertQueryBudget(10, 5, () -> {
+                    entityManagerFactory.getCache().evictAll();
+                    mockMvc.perform(get("/api/products"));
+                })).getMessage()
+                .contains(CATEGORIES + "x select"));
+    }
+
+    @Test
+    void filterRecordsStatementsPerRoute() throws Exception {
+        DistributionSummary summary = meterRegistry.summary("http.server.requests.statements",
+                "method", "GET", "uri", "/api/categories/{id}");
+        long before = summary.count();
+        double statementsBefore = summary.totalAmount();
+        Long id = categoryRepository.findAll().getFirst().getId();
+        entityManagerFactory.getCache().evictAll();
+
+        mockMvc.perform(get("/api/categories/" + id)).andExpect(status().isOk());
+
+        assertEquals(before + 1, summary.count());
+        assertEquals(statementsBefore + 1, summary.totalAmount());
+    }
+
+    @Test
+    void threadsStartedInsideACounterAreCounted() throws Exception {
+        QueryCounter counter = countStatements(() -> Thread.ofVirtual().start(categoryRepository::count).join());
+
+        assertEquals(1, counter.getStatements());
+    }
+
+    @Test
+    void failModeStopsTheStatementThatGoesOverBudget() throws Exception {
+        try (QueryCounter outer = QueryCounter.open();
+             QueryCounter budget = QueryCounter.open("test", 2, 5, true)) {
+            categoryRepository.count();
+            productRepository.count();
+            RuntimeException e = assertThrows(RuntimeException.class, categoryRepository::count);
+            assertTrue(e instanceof QueryBudgetExceededException, e.toString());
+            // The statement that failed still counts, for its budget and for the counter around it
+            assertEquals(3, budget.getStatements());
+            assertEquals(3, outer.getStatements());
+        }
+    }
+
+    @Test
+    void inListsOfAnyLengthAreOneStatement() {
+        assertEquals(QueryCounter.normalize("select p.id from products p where p.id in (?, ?)"),
+                QueryCounter.normalize("select p.id\n  from products p where p.id in (?,?,?,?)"));
+    }
+
+    private double exceeded(String uri, String kind) {
+        Counter counter = meterRegistry.find("querybudget.exceeded").tags("uri", uri, "kind", kind).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.y_eng_backend.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Migrates an empty PostgreSQL with the Flyway scripts, checks the entities against the result
+// (ddl-auto=validate), seeds it with db/query-plan-seed.sql and EXPLAINs the SQL Hibernate sends for
+// each repository query with realistic arguments. Skipped when Docker is not available.
+//
+// Not covered: whole-table reads (findAll*, findAllBy, findByStockQtyGreaterThan(0) matches nearly
+// every product), CategoryRepository (a few dozen rows, where a sequential scan is the right plan)
+// and the primary-key statements of RepairRequestPatchRepository.
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "logging.level.root=WARN"
+})
+@Sql(scripts = "/db/query-plan-seed.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class RepositoryQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        // SQL of the statements Hibernate prepared on the test thread since the last clear; scheduled
+        // jobs run queries of their own in the background
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+        static volatile Thread testThread;
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer() {
+            StatementInspector inspector = sql -> {
+                if (Thread.currentThread() == testThread) {
+                    STATEMENTS.add(sql);
+                }
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RepairRequestRepository repairRequestRepository;
+
+    @Autowired
+    private RepairSlotRepository repairSlotRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private DeletedRecordRepository deletedRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID user;
+
+    @BeforeEach
+    void setUp() {
+        user = jdbcTemplate.queryForObject("SELECT md5('user42')::uuid", UUID.class);
+        // A cached query result would not reach the database
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void cartItemQueries() {
+        assertUsesIndex("idx_cart_items_user_product", () -> cartItemRepository.findByUserId(user), user);
+        assertUsesIndex("idx_cart_items_user_product", () -> cartItemRepository.findByUserIdAndProductId(user, 43L), user, 43L);
+    }
+
+    @Test
+    void orderQueries() {
+        assertUsesIndex("idx_orders_user_created", () -> orderRepository.findByUserIdOrderByCreatedAtDesc(user), user);
+        assertUsesIndex("idx_orders_status", () -> orderRepository.findByStatus("pending"), "pending");
+        assertUsesIndex("idx_orders_status", () -> orderRepository.findProjectedByStatus("processing"), "processing");
+        Long orderId = jdbcTemplate.queryForObject("SELECT max(id) FROM public.orders", Long.class);
+        assertUsesIndex("idx_order_items_order", () -> orderItemRepository.findByOrderId(orderId), orderId);
+    }
+
+    @Test
+    void productQueries() {
+        assertUsesIndex("idx_products_category", () -> productRepository.findByCategoryId(7L), 7L);
+        // Spring Data wraps the term in % before binding
+        assertUsesIndex("idx_products_name_trgm", () -> productRepository.findByNameContainingIgnoreCase("pump"), "%pump%");
+    }
+
+    @Test
+    void repairRequestQueries() {
+        assertUsesIndex("idx_repair_requests_user_created", () -> repairRequestRepository.findByUserIdOrderByCreatedAtDesc(user), user);
+        assertUsesIndex("idx_repair_requests_user_created",
+                () -> repairRequestRepository.findByUserIdAndStatus(user, "completed"), user, "completed");
+        assertUsesIndex("idx_repair_requests_status", () -> repairRequestRepository.findByStatus("pending"), "pending");
+        assertUsesIndex("idx_repair_requests_status",
+                () -> repairRequestRepository.findByStatusIn(List.of("approved", "in_progress")), "approved", "in_progress");
+    }
+
+    @Test
+    void repairSlotQueries() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(13);
+        String window = "8:00 AM - 10:00 AM";
+        assertUsesIndex("uq_repair_slots", () -> repairSlotRepository.findBySlotDateBetween(from, to), from, to);
+        assertUsesIndex("uq_repair_slots",
+                () -> repairSlotRepository.findBySlotDateAndTimeWindowAndServiceType(from, window, "pickup"), from, window, "pickup");
+        assertUsesIndex("uq_repair_slots",
+                () -> repairSlotRepository.tryReserve(from, window, "pickup"), from, window, "pickup");
+        assertUsesIndex("uq_repair_slots",
+                () -> repairSlotRepository.release(from, window, "pickup"), from, window, "pickup");
+    }
+
+    @Test
+    void revokedTokenQueries() {
+        OffsetDateTime since = OffsetDateTime.now().minusMinutes(5);
+        Timestamp from = Timestamp.from(since.toInstant());
+        Timestamp now = Timestamp.from(OffsetDateTime.now().toInstant());
+        assertUsesIndex("idx_revoked_tokens_revoked_at",
+                () -> revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, OffsetDateTime.now()),
+                from, now);
+        assertUsesIndex("idx_revoked_tokens_expires_at", () -> revokedTokenRepository.deleteExpired(OffsetDateTime.now()), now);
+    }
+
+    @Test
+    void deltaSyncQueries() {
+        OffsetDateTime since = OffsetDateTime.now().minusHours(2);
+        OffsetDateTime upTo = OffsetDateTime.now();
+        Timestamp from = Timestamp.from(since.toInstant());
+        Timestamp to = Timestamp.from(upTo.toInstant());
+        assertUsesIndex("idx_orders_updated_at",
+                () -> orderRepository.findByUpdatedAtGreaterThanAndUpdatedAtLessThanEqualOrderByUpdatedAtAscIdAsc(since, upTo, Limit.of(501)),
+                from, to, 501);
+        assertUsesIndex("idx_repair_requests_updated_at",
+                () -> repairRequestRepository.findByUpdatedAtGreaterThanAndUpdatedAtLessThanEqualOrderByUpdatedAtAscIdAsc(since, upTo, Limit.of(501)),
+                from, to, 501);
+        assertUsesIndex("idx_deleted_records_type_deleted",
+                () -> deletedRecordRepository.findByEntityTypeAndDeletedAtGreaterThanAndDeletedAtLessThanEqualOrderByDeletedAtAsc("repair", since, upTo),
+                "repair", from, to);
+    }
+
+    // Runs the repository call, then EXPLAINs the first statement it sent with the same arguments and
+    // checks that the plan reads through the expected index. Statements that follow (eager loads of
+    // associations) are covered by their own repository queries.
+    private void assertUsesIndex(String index, Runnable call, Object... params) {
+        StatementCapture.testThread = Thread.currentThread();
+        StatementCapture.STATEMENTS.clear();
+        call.run();
+        assertFalse(StatementCapture.STATEMENTS.isEmpty(), "The call did not reach the database");
+        String sql = StatementCapture.STATEMENTS.get(0);
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, params));
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in the plan of\n" + sql + "\n" + plan);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.y_eng_backend.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// GCRA admission and refill on a fake clock: capacity 3, one token per second
+class RateLimitGroupTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long START = 1_000 * SECOND;
+
+    private final RateLimitGroup group = new RateLimitGroup("test",
+            List.of(PathPatternParser.defaultInstance.parse("/api/auth/**")), Set.of("POST"), 3, 1.0, 8);
+
+    @Test
+    void fullBucketAdmitsABurstOfCapacity() {
+        assertEquals(0, group.tryAcquire("a", START));
+        assertEquals(0, group.tryAcquire("a", START));
+        assertEquals(0, group.tryAcquire("a", START));
+
+        assertEquals(SECOND, group.tryAcquire("a", START));
+        assertEquals(1, group.getRejected());
+    }
+
+    @Test
+    void rejectionsReportTheWaitUntilTheNextToken() {
+        drain("a", START);
+
+        assertEquals(SECOND / 4, group.tryAcquire("a", START + 3 * SECOND / 4));
+    }
+
+    @Test
+    void oneTokenComesBackPerEmissionInterval() {
+        drain("a", START);
+
+        assertEquals(0, group.tryAcquire("a", START + SECOND));
+        assertEquals(SECOND, group.tryAcquire("a", START + SECOND));
+        assertEquals(0, group.tryAcquire("a", START + 2 * SECOND));
+    }
+
+    @Test
+    void rejectedRequestsDoNotSpendTokens() {
+        drain("a", START);
+        for (int i = 0; i < 10; i++) {
+            group.tryAcquire("a", START);
+        }
+
+        assertEquals(0, group.tryAcquire("a", START + SECOND));
+    }
+
+    @Test
+    void longIdleRefillsToCapacityAndNoFurther() {
+        drain("a", START);
+
+        long later = START + 60 * SECOND;
+        assertEquals(0, group.tryAcquire("a", later));
+        assertEquals(0, group.tryAcquire("a", later));
+        assertEquals(0, group.tryAcquire("a", later));
+        assertEquals(SECOND, group.tryAcquire("a", later));
+    }
+
+    @Test
+    void keysHaveTheirOwnBuckets() {
+        drain("a", START);
+
+        assertEquals(0, group.tryAcquire("b", START));
+    }
+
+    @Test
+    void sweepDropsBucketsThatAreFullAgain() {
+        group.tryAcquire("a", START);
+        drain("b", START);
+
+        group.sweep(START + SECOND); // a is full again, b is still two tokens short
+
+        assertEquals(1, group.getTrackedKeys());
+    }
+
+    @Test
+    void keyMapStaysWithinItsBound() {
+        for (int i = 0; i < 100; i++) {
+            group.tryAcquire("key-" + i, START);
+        }
+
+        assertTrue(group.getTrackedKeys() <= 8);
+    }
+
+    @Test
+    void matchesByMethodAndPath() {
+        assertTrue(group.matches("POST", PathContainer.parsePath("/api/auth/login")));
+        assertFalse(group.matches("GET", PathContainer.parsePath("/api/auth/login")));
+        assertFalse(group.matches("POST", PathContainer.parsePath("/api/orders")));
+    }
+
+    @Test
+    void rejectsGroupsThatCouldNeverAdmit() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitGroup("bad", List.of(), Set.of(), 0, 1.0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitGroup("bad", List.of(), Set.of(), 3, 0, 8));
+    }
+
+    private void drain(String key, long now) {
+        while (group.tryAcquire(key, now) == 0) {
+            // take every token
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.y_eng_backend.service.booking;
+
+import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.entity.RepairSlot;
+import com.example.y_eng_backend.repository.RepairSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The in-memory slot mirror never overbooks and follows the database when a reservation fails
+class SlotCalendarServiceTest {
+
+    private static final String WINDOW = "10:00 AM - 12:00 PM";
+
+    private final LocalDate date = LocalDate.now().plusDays(2);
+    private RepairSlotRepository repository;
+    private SlotCalendarService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RepairSlotRepository.class);
+        service = new SlotCalendarService();
+        ReflectionTestUtils.setField(service, "repairSlotRepository", repository);
+        ReflectionTestUtils.setField(service, "timeWindows", List.of(WINDOW));
+        ReflectionTestUtils.setField(service, "pickupCapacity", 3);
+        ReflectionTestUtils.setField(service, "dropoffCapacity", 6);
+        ReflectionTestUtils.setField(service, "horizonDays", 30);
+        ReflectionTestUtils.setField(service, "refreshSeconds", 3600L);
+    }
+
+    @Test
+    void counterRefusesPastCapacity() {
+        SlotCalendarService.SlotCounter counter = new SlotCalendarService.SlotCounter();
+        counter.set(2, 0);
+
+        assertTrue(counter.tryAcquire());
+        assertTrue(counter.tryAcquire());
+        assertFalse(counter.tryAcquire());
+        assertEquals(0, counter.available());
+
+        // Lowering capacity below what is reserved reads as full, not negative
+        counter.set(1, 2);
+        assertFalse(counter.tryAcquire());
+        assertEquals(0, counter.available());
+    }
+
+    @Test
+    void counterReleaseStopsAtZero() {
+        SlotCalendarService.SlotCounter counter = new SlotCalendarService.SlotCounter();
+        counter.set(2, 1);
+
+        counter.release();
+        counter.release();
+        assertEquals(2, counter.available());
+
+        // A stray release must not turn into extra capacity
+        assertTrue(counter.tryAcquire());
+        assertTrue(counter.tryAcquire());
+        assertFalse(counter.tryAcquire());
+    }
+
+    @Test
+    void concurrentAcquiresNeverOverbook() throws Exception {
+        SlotCalendarService.SlotCounter counter = new SlotCalendarService.SlotCounter();
+        counter.set(50, 0);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        if (counter.tryAcquire()) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(50, granted.get());
+        assertEquals(0, counter.available());
+    }
+
+    @Test
+    void failedConditionalUpdateResyncsFromTheDatabase() {
+        seedSlot(3, 0);
+        when(repository.tryReserve(date, WINDOW, "dropoff")).thenReturn(0);
+        // Another node has taken two of the three places
+        when(repository.findBySlotDateAndTimeWindowAndServiceType(date, WINDOW, "dropoff"))
+                .thenReturn(Optional.of(slot(3, 2)));
+
+        assertThrows(SlotUnavailableException.class, () -> service.reserve(repair()));
+
+        assertEquals(1, available());
+    }
+
+    @Test
+    void throwingConditionalUpdateGivesTheLocalPlaceBack() {
+        seedSlot(3, 0);
+        when(repository.tryReserve(date, WINDOW, "dropoff")).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThrows(QueryTimeoutException.class, () -> service.reserve(repair()));
+
+        assertEquals(3, available());
+        // Rolled back locally, not by reading the slot again
+        verify(repository, times(1)).findBySlotDateAndTimeWindowAndServiceType(date, WINDOW, "dropoff");
+    }
+
+    @Test
+    void fullSlotIsRefusedWithoutTouchingTheDatabase() {
+        seedSlot(1, 0);
+        when(repository.tryReserve(date, WINDOW, "dropoff")).thenReturn(1);
+
+        assertTrue(service.reserve(repair()));
+        assertThrows(SlotUnavailableException.class, () -> service.reserve(repair()));
+
+        verify(repository, times(1)).tryReserve(date, WINDOW, "dropoff");
+        assertEquals(0, available());
+    }
+
+    @Test
+    void releaseOnlyFreesWhatTheDatabaseReleased() {
+        seedSlot(2, 0);
+
+        // Nothing reserved in the database, so nothing to give back
+        when(repository.release(date, WINDOW, "dropoff")).thenReturn(0);
+        service.release(repair());
+        service.release(repair());
+        assertEquals(2, available());
+
+        when(repository.tryReserve(date, WINDOW, "dropoff")).thenReturn(1);
+        service.reserve(repair());
+        when(repository.release(date, WINDOW, "dropoff")).thenReturn(1, 0);
+        service.release(repair());
+        service.release(repair());
+        assertEquals(2, available());
+    }
+
+    @Test
+    void repairsWithoutASlotAreIgnored() {
+        RepairRequest rejected = repair();
+        rejected.setStatus("rejected");
+
+        assertFalse(service.reserve(rejected));
+        service.release(rejected);
+
+        verify(repository, never()).tryReserve(any(), any(), any());
+        verify(repository, never()).release(any(), any(), any());
+    }
+
+    // Loads the slot into the in-memory mirror the way an admin capacity change does
+    private void seedSlot(int capacity, int reserved) {
+        when(repository.findBySlotDateAndTimeWindowAndServiceType(date, WINDOW, "dropoff"))
+                .thenReturn(Optional.of(slot(capacity, reserved)));
+        service.setCapacity(date, WINDOW, "dropoff", capacity);
+    }
+
+    private int available() {
+        return service.availability(30, "dropoff").get(date).get("dropoff").get(WINDOW);
+    }
+
+    private RepairSlot slot(int capacity, int reserved) {
+        RepairSlot slot = new RepairSlot();
+        slot.setSlotDate(date);
+        slot.setTimeWindow(WINDOW);
+        slot.setServiceType("dropoff");
+        slot.setCapacity(capacity);
+        slot.setReserved(reserved);
+        return slot;
+    }
+
+    private RepairRequest repair() {
+        RepairRequest repair = new RepairRequest();
+        repair.setPreferredDate(date);
+        repair.setPreferredTime(WINDOW);
+        repair.setServiceType("dropoff");
+        repair.setStatus("pending");
+        return repair;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.y_eng_backend.service.invalidation;
+
+import com.example.y_eng_backend.YEngBackendApplication;
+import com.example.y_eng_backend.entity.Order;
+import com.example.y_eng_backend.entity.Product;
+import com.example.y_eng_backend.repository.OrderRepository;
+import com.example.y_eng_backend.service.OrderService;
+import com.example.y_eng_backend.service.ProductService;
+import com.example.y_eng_backend.service.search.AdminSearchService;
+import com.example.y_eng_backend.service.search.SearchHit;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two application contexts stand in for two nodes: they share one in-memory H2 database and talk
+// over the in-JVM transport. Batching and heartbeats are switched off (one run at startup, then an
+// hour's wait), so the tests flush node A by hand and node B has received everything once flush()
+// returns.
+class CacheInvalidationBusTest {
+
+    private static final String DATABASE_URL = "jdbc:h2:mem:invalidation;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("create-drop");
+        nodeB = startNode("none");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void productWrittenOnOneNodeIsEvictedFromTheOthersCache() {
+        Product created = nodeA.getBean(ProductService.class).createProduct(product("Pump"));
+        nodeA.getBean(CacheInvalidationBus.class).flush();
+
+        assertEquals("Pump", nodeB.getBean(ProductService.class).getProductById(created.getId()).orElseThrow().getName());
+        assertTrue(nodeB.getBean(EntityManagerFactory.class).getCache().contains(Product.class, created.getId()),
+                "node B serves the product from its second-level cache");
+
+        nodeA.getBean(ProductService.class).updateProduct(created.getId(), product("Pump v2"));
+        nodeA.getBean(CacheInvalidationBus.class).flush();
+
+        assertEquals("Pump v2", nodeB.getBean(ProductService.class).getProductById(created.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void orderWrittenOnOneNodeIsRefreshedInTheOthersSearchIndex() {
+        Order order = nodeA.getBean(OrderRepository.class).save(order("ORD-INV-1"));
+        assertEquals(List.of("pending"), searchStatuses("ORD-INV-1"));
+
+        nodeA.getBean(OrderService.class).updateOrderStatus(order.getId(), "shipped");
+        nodeA.getBean(CacheInvalidationBus.class).flush();
+
+        assertEquals(List.of("shipped"), searchStatuses("ORD-INV-1"));
+    }
+
+    @Test
+    void idsWrittenSeveralTimesGoOutOnceInOneMessage() {
+        CacheInvalidationBus busA = nodeA.getBean(CacheInvalidationBus.class);
+        CacheInvalidationBus busB = nodeB.getBean(CacheInvalidationBus.class);
+        busA.flush();
+        long sentBefore = busA.getStats().get("sentMessages");
+        long receivedBefore = busB.getStats().get("receivedIds");
+
+        busA.invalidate(CacheInvalidationBus.CATEGORY, 9001L);
+        busA.invalidate(CacheInvalidationBus.CATEGORY, 9001L);
+        busA.invalidate(CacheInvalidationBus.CATEGORY, 9002L);
+        busA.invalidate(CacheInvalidationBus.PRODUCT, 9001L);
+        busA.flush();
+
+        assertEquals(sentBefore + 1, busA.getStats().get("sentMessages"));
+        assertEquals(receivedBefore + 3, busB.getStats().get("receivedIds"));
+    }
+
+    @Test
+    void skippedSequenceNumberMakesTheReceiverResync() {
+        CacheInvalidationBus busB = nodeB.getBean(CacheInvalidationBus.class);
+        String node = UUID.randomUUID().toString();
+        long before = busB.getStats().get("resyncs");
+
+        busB.receive(node + " 1 category=1");
+        busB.receive(node + " 2 category=2");
+        assertEquals(before, busB.getStats().get("resyncs"));
+
+        busB.receive(node + " 4 category=3");
+        assertEquals(before + 1, busB.getStats().get("resyncs"));
+
+        // A heartbeat ahead of the last message seen means the messages in between were lost
+        busB.receive(node + " 6");
+        assertEquals(before + 2, busB.getStats().get("resyncs"));
+
+        busB.receive(node + " 6");
+        assertEquals(before + 2, busB.getStats().get("resyncs"));
+    }
+
+    @Test
+    void largeBatchesAreSplitIntoMessagesThatFitANotification() {
+        Map<String, Set<String>> batch = new TreeMap<>();
+        Set<String> repairs = new LinkedHashSet<>();
+        for (int i = 0; i < 500; i++) {
+            repairs.add(UUID.randomUUID().toString());
+        }
+        batch.put(CacheInvalidationBus.REPAIR, repairs);
+        batch.put(CacheInvalidationBus.PRODUCT, Set.of("1", "2"));
+
+        List<String> bodies = InvalidationMessage.bodies(batch, InvalidationMessage.MAX_LENGTH);
+
+        assertTrue(bodies.size() > 1);
+        Set<String> decoded = new HashSet<>();
+        for (String body : bodies) {
+            String message = "node 1 " + body;
+            assertTrue(message.length() < 8000, "every message fits a NOTIFY payload");
+            InvalidationMessage parsed = InvalidationMessage.parse(message);
+            assertFalse(parsed.isHeartbeat());
+            parsed.getIds().forEach((type, ids) -> ids.forEach(id -> decoded.add(type + ":" + id)));
+        }
+        assertEquals(502, decoded.size());
+    }
+
+    private static List<String> searchStatuses(String orderNumber) {
+        return nodeB.getBean(AdminSearchService.class).search(orderNumber, "order", 0, 10).getResults().stream()
+                .map(SearchHit::getStatus)
+                .toList();
+    }
+
+    private static ConfigurableApplicationContext startNode(String ddlAuto) {
+        return new SpringApplicationBuilder(YEngBackendApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + DATABASE_URL,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--spring.flyway.enabled=false",
+                "--invalidation.transport=jvm",
+                "--invalidation.channel=invalidation_test",
+                "--invalidation.batch-ms=3600000",
+                "--invalidation.heartbeat-ms=3600000",
+                "--logging.level.root=WARN");
+    }
+
+    private static Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("1500.00"));
+        product.setStockQty(5);
+        return product;
+    }
+
+    private static Order order(String orderNumber) {
+        Order order = new Order();
+        order.setUserId(UUID.randomUUID());
+        order.setOrderNumber(orderNumber);
+        order.setTotalAmount(new BigDecimal("2500.00"));
+        order.setPaymentMethod("cash_on_delivery");
+        order.setShippingAddress("12 Pump Street");
+        order.setCustomerName("Ama Mensah");
+        order.setCustomerPhone("0241234567");
+        return order;
+    }
+}
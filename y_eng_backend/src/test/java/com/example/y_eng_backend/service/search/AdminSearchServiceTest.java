@@ -0,0 +1,127 @@
+package com.example.y_eng_backend.service.search;
+
+import com.example.y_eng_backend.entity.RepairRequest;
+import com.example.y_eng_backend.repository.OrderRepository;
+import com.example.y_eng_backend.repository.RepairRequestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Index writes made inside a transaction only land once it commits; patches keep the indexed issue text
+class AdminSearchServiceTest {
+
+    private AdminSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        OrderRepository orders = mock(OrderRepository.class);
+        RepairRequestRepository repairs = mock(RepairRequestRepository.class);
+        when(orders.findAllBy()).thenReturn(List.of());
+        when(repairs.findAll()).thenReturn(List.of());
+
+        service = new AdminSearchService();
+        ReflectionTestUtils.setField(service, "orderRepository", orders);
+        ReflectionTestUtils.setField(service, "repairRequestRepository", repairs);
+        ReflectionTestUtils.setField(service, "minMatch", 0.75);
+        ReflectionTestUtils.setField(service, "maxTextLength", 500);
+        service.init();
+        service.search("warm up", null, 0, 20); // load the (empty) index
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void savesOutsideATransactionApplyAtOnce() {
+        service.onRepairSaved(repair("Marguerite Okafor"));
+
+        assertEquals(1, service.search("Okafor", null, 0, 20).getTotal());
+    }
+
+    @Test
+    void savesInsideATransactionWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        service.onRepairSaved(repair("Marguerite Okafor"));
+
+        assertEquals(0, service.search("Okafor", null, 0, 20).getTotal());
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        assertEquals(1, service.search("Okafor", null, 0, 20).getTotal());
+    }
+
+    @Test
+    void rolledBackSavesNeverReachTheIndex() {
+        TransactionSynchronizationManager.initSynchronization();
+        service.onRepairSaved(repair("Marguerite Okafor"));
+        TransactionSynchronizationManager.clearSynchronization(); // rollback: afterCommit never runs
+
+        assertEquals(0, service.search("Okafor", null, 0, 20).getTotal());
+    }
+
+    @Test
+    void deletesInsideATransactionWaitForCommit() {
+        RepairRequest repair = repair("Marguerite Okafor");
+        service.onRepairSaved(repair);
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.onRepairDeleted(repair.getId());
+        assertEquals(1, service.search("Okafor", null, 0, 20).getTotal());
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        assertEquals(0, service.search("Okafor", null, 0, 20).getTotal());
+    }
+
+    @Test
+    void patchesThatLeaveTheIssueAloneKeepTheIndexedText() {
+        RepairRequest repair = repair("Marguerite Okafor");
+        service.onRepairSaved(repair);
+
+        RepairRequest patched = repair("Marguerite Okafor-Reyes"); // as returned by the patch: no issue text
+        patched.setId(repair.getId());
+        patched.setIssueDescription(null);
+        service.onRepairPatched(patched, false);
+
+        assertEquals(1, service.search("Reyes", null, 0, 20).getTotal());
+        assertEquals(1, service.search("flickers", null, 0, 20).getTotal());
+    }
+
+    @Test
+    void patchesThatChangeTheIssueReindexIt() {
+        RepairRequest repair = repair("Marguerite Okafor");
+        service.onRepairSaved(repair);
+
+        repair.setIssueDescription("Battery swollen");
+        service.onRepairPatched(repair, true);
+
+        assertEquals(0, service.search("flickers", null, 0, 20).getTotal());
+        assertEquals(1, service.search("swollen", null, 0, 20).getTotal());
+    }
+
+    private RepairRequest repair(String customerName) {
+        RepairRequest repair = new RepairRequest();
+        repair.setId(UUID.randomUUID());
+        repair.setCustomerName(customerName);
+        repair.setCustomerPhone("+15550100");
+        repair.setEquipmentType("Laptop");
+        repair.setBrand("Lenovo");
+        repair.setIssueDescription("Screen flickers");
+        repair.setStatus("pending");
+        repair.setCreatedAt(OffsetDateTime.now());
+        return repair;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.y_eng_backend.service.singleflight;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The leader's loader is held on a latch until every other caller has joined its flight, so each
+// test knows exactly which calls were coalesced
+class SingleFlightTest {
+
+    private static final int CALLERS = 5;
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        List<Future<String>> results = startCallers("k", () -> "value");
+
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.getLeaders());
+        assertEquals(CALLERS - 1, flight.getCoalesced());
+    }
+
+    @Test
+    void everyCallerOfAFailedLoadGetsTheLeadersException() throws Exception {
+        IllegalStateException failure = new IllegalStateException("database down");
+        List<Future<String>> results = startCallers("k", () -> {
+            throw failure;
+        });
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void errorsAreSharedAsWell() throws Exception {
+        Error failure = new Error("simulated");
+        List<Future<String>> results = startCallers("k", () -> {
+            throw failure;
+        });
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    void aFailureIsNotRememberedForLaterCalls() throws Exception {
+        List<Future<String>> results = startCallers("k", () -> {
+            throw new IllegalStateException("database down");
+        });
+        for (Future<String> result : results) {
+            assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(0, flight.getInFlight());
+        assertEquals("recovered", flight.load("k", () -> "recovered"));
+    }
+
+    @Test
+    void differentKeysLoadSeparately() {
+        assertEquals("a", flight.load("a", () -> "a"));
+        assertEquals("b", flight.load("b", () -> "b"));
+
+        assertEquals(2, flight.getLeaders());
+        assertEquals(0, flight.getCoalesced());
+    }
+
+    // Starts CALLERS loads of the key; the first one leads and finishes only after all others joined
+    private List<Future<String>> startCallers(String key, Supplier<String> outcome) throws InterruptedException {
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return outcome.get();
+        };
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> flight.load(key, loader)));
+        while (flight.getInFlight() == 0) {
+            Thread.sleep(1);
+        }
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flight.load(key, loader)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getCoalesced() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(flight.getCoalesced() >= CALLERS - 1, "callers did not join the flight");
+        release.countDown();
+        return results;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.y_eng_backend.service.sync;
+
+import com.example.y_eng_backend.entity.Order;
+import com.example.y_eng_backend.repository.DeletedRecordRepository;
+import com.example.y_eng_backend.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Page splitting when several orders share an updated_at. The order repository is an in-memory
+// list answering the derived query the way the database does: (since, upTo], by updated_at then id.
+class DeltaSyncServiceTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.now(ZoneOffset.UTC).minusHours(1).truncatedTo(ChronoUnit.MICROS);
+
+    private final List<Order> orders = new ArrayList<>();
+    private DeltaSyncService service;
+
+    @BeforeEach
+    void setUp() {
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findByUpdatedAtGreaterThanAndUpdatedAtLessThanEqualOrderByUpdatedAtAscIdAsc(any(), any(), any()))
+                .thenAnswer(invocation -> find(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+
+        service = new DeltaSyncService();
+        ReflectionTestUtils.setField(service, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(service, "deletedRecordRepository", mock(DeletedRecordRepository.class));
+        ReflectionTestUtils.setField(service, "settle", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(service, "tombstoneRetention", Duration.ofDays(30));
+        ReflectionTestUtils.setField(service, "maxLimit", 1000);
+    }
+
+    @Test
+    void pageEndsBeforeATimestampItWouldSplit() {
+        addOrders(1, 1, 2, 2);
+
+        ChangeSet<Order> page = service.getOrderChanges(at(0), 3);
+
+        assertEquals(List.of(1L, 2L), ids(page));
+        assertEquals(at(1), page.getWatermark());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void pageThatWouldHoldOnlyOneTimestampReturnsAllRowsWithIt() {
+        addOrders(2, 2, 2, 2, 2, 3);
+
+        ChangeSet<Order> page = service.getOrderChanges(at(0), 3);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(page));
+        assertEquals(at(2), page.getWatermark());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void pagingThroughSharedTimestampsReturnsEveryRowOnce() {
+        addOrders(1, 1, 2, 2, 2, 2, 2, 3, 4, 4, 5, 6, 6, 6);
+
+        List<Long> seen = new ArrayList<>();
+        OffsetDateTime watermark = at(0);
+        boolean hasMore = true;
+        int calls = 0;
+        while (hasMore) {
+            ChangeSet<Order> page = service.getOrderChanges(watermark, 3);
+            seen.addAll(ids(page));
+            assertTrue(page.getWatermark().isAfter(watermark), "watermark must advance");
+            watermark = page.getWatermark();
+            hasMore = page.isHasMore();
+            assertTrue(++calls < 20);
+        }
+
+        assertEquals(orders.stream().map(Order::getId).toList(), seen);
+        assertEquals(List.of(), ids(service.getOrderChanges(watermark, 3)));
+    }
+
+    @Test
+    void rowsInsideTheSettleWindowWaitForALaterCall() {
+        addOrders(1);
+        Order recent = order(99L, OffsetDateTime.now(ZoneOffset.UTC));
+        orders.add(recent);
+
+        ChangeSet<Order> page = service.getOrderChanges(at(0), 10);
+
+        assertEquals(List.of(1L), ids(page));
+        assertFalse(page.isHasMore());
+        assertTrue(page.getWatermark().isBefore(recent.getUpdatedAt()));
+    }
+
+    @Test
+    void watermarksOlderThanTheTombstoneRetentionAreRefused() {
+        assertThrows(WatermarkExpiredException.class,
+                () -> service.getOrderChanges(OffsetDateTime.now(ZoneOffset.UTC).minusDays(31), 10));
+    }
+
+    // One order per argument, ids from 1, updated_at BASE + that many seconds
+    private void addOrders(int... seconds) {
+        for (int second : seconds) {
+            orders.add(order(orders.size() + 1L, at(second)));
+        }
+    }
+
+    private List<Order> find(OffsetDateTime since, OffsetDateTime upTo, Limit limit) {
+        return orders.stream()
+                .filter(o -> o.getUpdatedAt().isAfter(since) && !o.getUpdatedAt().isAfter(upTo))
+                .sorted(Comparator.comparing(Order::getUpdatedAt).thenComparing(Order::getId))
+                .limit(limit.isUnlimited() ? Long.MAX_VALUE : limit.max())
+                .toList();
+    }
+
+    private static OffsetDateTime at(int second) {
+        return BASE.plusSeconds(second);
+    }
+
+    private static Order order(long id, OffsetDateTime updatedAt) {
+        Order order = new Order();
+        order.setId(id);
+        order.setUpdatedAt(updatedAt);
+        return order;
+    }
+
+    private static List<Long> ids(ChangeSet<Order> page) {
+        return page.getChanged().stream().map(Order::getId).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.y_eng_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Inputs are fixed (name-based UUIDs, like revoked token ids), so the measured rates are repeatable
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 20_000;
+    private static final int PROBES = 200_000;
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.add(tokenId("revoked", i));
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain(tokenId("revoked", i)));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        for (double target : new double[] {0.01, 0.001}) {
+            double rate = falsePositiveRate(new BloomFilter(INSERTIONS, target), INSERTIONS);
+            assertTrue(rate <= target * 1.5, "target " + target + ", measured " + rate);
+        }
+    }
+
+    @Test
+    void overfillingRaisesTheFalsePositiveRate() {
+        double atCapacity = falsePositiveRate(new BloomFilter(INSERTIONS, 0.01), INSERTIONS);
+        double overfilled = falsePositiveRate(new BloomFilter(INSERTIONS, 0.01), 4 * INSERTIONS);
+
+        assertTrue(overfilled > 10 * atCapacity, atCapacity + " at capacity, " + overfilled + " at 4x");
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(filter.mightContain(tokenId("live", i)));
+        }
+    }
+
+    @Test
+    void concurrentAddsLoseNoBits() throws Exception {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = thread; i < INSERTIONS; i += 4) {
+                        filter.add(tokenId("revoked", i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain(tokenId("revoked", i)));
+        }
+    }
+
+    private static double falsePositiveRate(BloomFilter filter, int insertions) {
+        for (int i = 0; i < insertions; i++) {
+            filter.add(tokenId("revoked", i));
+        }
+        int positives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(tokenId("live", i))) {
+                positives++;
+            }
+        }
+        return (double) positives / PROBES;
+    }
+
+    private static String tokenId(String prefix, int i) {
+        return UUID.nameUUIDFromBytes((prefix + i).getBytes()).toString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.y_eng_backend.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A 4-slot wheel with 10 ms ticks turns once every 40 ms, so most delays below need several rounds.
+// The wheel runs on the real clock: assertions only rely on it never firing early and firing
+// within a generous bound.
+class HashedTimingWheelTest {
+
+    private final HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", 10, TimeUnit.MILLISECONDS, 4);
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void timersSpanningSeveralRoundsFireOnceAndNotEarly() throws InterruptedException {
+        long[] delays = {5, 25, 45, 85, 165, 325};
+        CountDownLatch fired = new CountDownLatch(delays.length);
+        Map<Long, Long> elapsed = new ConcurrentHashMap<>();
+        List<Long> order = Collections.synchronizedList(new ArrayList<>());
+        for (long delay : delays) {
+            long scheduledAt = System.nanoTime();
+            wheel.schedule(() -> {
+                elapsed.merge(delay, System.nanoTime() - scheduledAt, (a, b) -> -1L);
+                order.add(delay);
+                fired.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        for (long delay : delays) {
+            long nanos = elapsed.get(delay);
+            assertTrue(nanos >= TimeUnit.MILLISECONDS.toNanos(delay), delay + " ms timer fired after " + nanos + " ns");
+        }
+        assertEquals(List.of(5L, 25L, 45L, 85L, 165L, 325L), order);
+        Thread.sleep(100);
+        assertEquals(delays.length, order.size()); // each once
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test
+    void timersLandingInTheSameSlotWaitForTheirOwnRound() throws InterruptedException {
+        // 30 ms and 70 ms are one turn of the wheel apart, so they hash to the same slot; the later
+        // one must sit out the first pass instead of firing early or being dropped
+        CountDownLatch fired = new CountDownLatch(2);
+        Map<Long, Long> elapsed = new ConcurrentHashMap<>();
+        for (long delay : new long[] {30, 70}) {
+            long scheduledAt = System.nanoTime();
+            wheel.schedule(() -> {
+                elapsed.put(delay, System.nanoTime() - scheduledAt);
+                fired.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(elapsed.get(30L) >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(elapsed.get(70L) >= TimeUnit.MILLISECONDS.toNanos(70));
+    }
+
+    @Test
+    void cancelledTimersNeverFire() throws InterruptedException {
+        CountDownLatch cancelledFired = new CountDownLatch(1);
+        CountDownLatch keptFired = new CountDownLatch(1);
+        HashedTimingWheel.Timeout cancelled = wheel.schedule(cancelledFired::countDown, 60, TimeUnit.MILLISECONDS);
+        wheel.schedule(keptFired::countDown, 120, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertEquals(1, wheel.pendingTimeouts());
+
+        assertTrue(keptFired.await(2, TimeUnit.SECONDS));
+        assertEquals(1, cancelledFired.getCount());
+        assertTrue(cancelled.isCancelled());
+        assertFalse(cancelled.isExpired());
+    }
+
+    @Test
+    void aFailingTaskDoesNotStopTheWheel() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        wheel.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, 10, TimeUnit.MILLISECONDS);
+        wheel.schedule(fired::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+    }
+}
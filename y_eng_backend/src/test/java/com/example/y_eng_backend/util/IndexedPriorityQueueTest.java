@@ -0,0 +1,118 @@
+package com.example.y_eng_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// peek(n) walks the heap array, so a slot index that drifted from the heap shows up as a wrong
+// order or as remove/get hitting the wrong entry
+class IndexedPriorityQueueTest {
+
+    private final IndexedPriorityQueue<String, Integer> queue = new IndexedPriorityQueue<>(Comparator.naturalOrder());
+
+    @Test
+    void peekReturnsValuesInPriorityOrder() {
+        queue.put("c", 30);
+        queue.put("a", 10);
+        queue.put("d", 40);
+        queue.put("b", 20);
+
+        assertEquals(List.of(10, 20), queue.peek(2));
+        assertEquals(List.of(10, 20, 30, 40), queue.peek(10));
+        assertEquals(4, queue.size());
+    }
+
+    @Test
+    void reprioritisingMovesAnEntryUpOrDown() {
+        queue.put("a", 10);
+        queue.put("b", 20);
+        queue.put("c", 30);
+
+        queue.put("c", 5);
+        assertEquals(List.of(5, 10, 20), queue.peek(3));
+
+        queue.put("c", 50);
+        assertEquals(List.of(10, 20, 50), queue.peek(3));
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    void removeByKeyTakesOutThatEntryOnly() {
+        for (int i = 0; i < 10; i++) {
+            queue.put("k" + i, i);
+        }
+
+        assertEquals(3, queue.remove("k3"));
+        assertEquals(0, queue.remove("k0"));
+        assertEquals(9, queue.remove("k9")); // last slot
+        assertNull(queue.remove("k3"));
+
+        assertFalse(queue.contains("k3"));
+        assertEquals(List.of(1, 2, 4, 5, 6, 7, 8), queue.peek(10));
+        for (int i : new int[] {1, 2, 4, 5, 6, 7, 8}) {
+            assertEquals(i, queue.get("k" + i));
+        }
+    }
+
+    @Test
+    void removedSlotIsRefilledFromTheEndInEitherDirection() {
+        // Heap array: 1, 100, 2, 101, 102, 3, 4. Removing 101 moves 4 into its slot and up past 100;
+        // removing the root then moves 3 into it and down past 2
+        int[] values = {1, 100, 2, 101, 102, 3, 4};
+        for (int value : values) {
+            queue.put("v" + value, value);
+        }
+
+        queue.remove("v101");
+        assertEquals(List.of(1, 2, 3, 4, 100, 102), queue.peek(10));
+        queue.remove("v1");
+        assertEquals(List.of(2, 3, 4, 100, 102), queue.peek(10));
+        assertEquals(100, queue.get("v100"));
+    }
+
+    @Test
+    void randomOperationsMatchAPlainMap() {
+        Random random = new Random(42);
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            String key = "k" + random.nextInt(200);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), queue.remove(key));
+            } else {
+                int value = random.nextInt(1_000);
+                expected.put(key, value);
+                queue.put(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), queue.size());
+        expected.forEach((key, value) -> {
+            assertTrue(queue.contains(key));
+            assertEquals(value, queue.get(key));
+        });
+        List<Integer> sorted = new ArrayList<>(expected.values());
+        sorted.sort(Comparator.naturalOrder());
+        assertEquals(sorted, queue.peek(expected.size()));
+    }
+
+    @Test
+    void clearEmptiesTheIndexToo() {
+        queue.put("a", 1);
+        queue.clear();
+
+        assertFalse(queue.contains("a"));
+        assertEquals(List.of(), queue.peek(1));
+        queue.put("a", 2);
+        assertEquals(2, queue.get("a"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.y_eng_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+    @Test
+    void capacityRoundsUpToAPowerOfTwo() {
+        assertEquals(2, new RingBuffer<>(2).capacity());
+        assertEquals(4, new RingBuffer<>(3).capacity());
+        assertEquals(4, new RingBuffer<>(4).capacity());
+        assertEquals(1024, new RingBuffer<>(1000).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(1));
+    }
+
+    @Test
+    void fullBufferRejectsWithoutOverwriting() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4)); // the freed slot is reused
+        assertFalse(buffer.offer(5));
+    }
+
+    @Test
+    void emptyBufferPollsNull() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+
+        assertNull(buffer.poll());
+        buffer.offer(1);
+        buffer.poll();
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void orderSurvivesManyLapsOfTheRing() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+        // Uneven batches so head and tail wrap at different points of each lap
+        for (int lap = 0; lap < 1_000; lap++) {
+            int batch = Math.min(1 + lap % 4, buffer.capacity() - buffer.size());
+            for (int i = 0; i < batch; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            int take = Math.min(1 + lap % 3, buffer.size());
+            for (int i = 0; i < take; i++) {
+                assertEquals(expected++, buffer.poll());
+            }
+        }
+        Integer rest;
+        while ((rest = buffer.poll()) != null) {
+            assertEquals(expected++, rest);
+        }
+        assertEquals(next, expected);
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 10_000;
+        RingBuffer<long[]> buffer = new RingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(executor.submit(() -> {
+                    for (long i = 0; i < perProducer; i++) {
+                        long[] element = {producer, i};
+                        while (!buffer.offer(element)) {
+                            Thread.yield();
+                        }
+                    }
+                }));
+            }
+
+            long[] lastSeen = new long[producers];
+            Arrays.fill(lastSeen, -1);
+            int received = 0;
+            while (received < producers * perProducer) {
+                long[] element = buffer.poll();
+                if (element == null) {
+                    Thread.yield();
+                    continue;
+                }
+                int producer = (int) element[0];
+                assertEquals(lastSeen[producer] + 1, element[1], "producer " + producer + " out of order");
+                lastSeen[producer] = element[1];
+                received++;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertNull(buffer.poll());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+-- Production-like volumes and skew for RepositoryQueryPlanTest. User n has id md5('user' || n)::uuid;
+-- most orders and repairs are finished, so the statuses the application filters by are rare.
+
+INSERT INTO public.categories (name)
+SELECT 'Category ' || g FROM generate_series(1, 40) g;
+
+-- One product in a hundred is a pump, the rest have names no search term matches
+INSERT INTO public.products (name, description, price, stock_qty, category_id)
+SELECT CASE WHEN g % 100 = 0 THEN 'Grundfos water pump ' || g ELSE 'Item ' || md5(g::text) END,
+       'Description ' || g, 100 + g % 5000, g % 50, 1 + g % 40
+FROM generate_series(1, 20000) g;
+
+INSERT INTO public.orders (user_id, order_number, total_amount, status, payment_method, shipping_address,
+                           customer_name, customer_phone, created_at, updated_at)
+SELECT md5('user' || g % 5000)::uuid, 'ORD-' || g, 250.00,
+       CASE WHEN g % 100 < 90 THEN 'delivered'
+            WHEN g % 100 < 95 THEN 'cancelled'
+            WHEN g % 100 < 97 THEN 'shipped'
+            WHEN g % 100 < 98 THEN 'processing'
+            WHEN g % 100 < 99 THEN 'confirmed'
+            ELSE 'pending' END,
+       'cash_on_delivery', 'Street ' || g, 'Customer ' || g, '0700' || g,
+       now() - g * interval '5 minutes', now() - g * interval '5 minutes'
+FROM generate_series(1, 50000) g;
+
+INSERT INTO public.order_items (order_id, product_id, product_name, quantity, price_at_purchase)
+SELECT o.id, 1 + (o.id * i) % 20000, 'Item', i, 125.00
+FROM public.orders o, generate_series(1, 2) i;
+
+INSERT INTO public.cart_items (user_id, product_id, quantity)
+SELECT md5('user' || g % 5000)::uuid, 1 + g % 20000, 1
+FROM generate_series(1, 20000) g;
+
+INSERT INTO public.repair_requests (user_id, customer_name, customer_phone, equipment_type, brand, issue_description,
+                                    status, urgency, service_type, preferred_date, preferred_time, created_at, updated_at)
+SELECT md5('user' || g % 5000)::uuid, 'Customer ' || g, '0700' || g, 'Pump', 'Grundfos', 'Leaking seal',
+       CASE WHEN g % 100 < 85 THEN 'completed'
+            WHEN g % 100 < 90 THEN 'rejected'
+            WHEN g % 100 < 93 THEN 'ready'
+            WHEN g % 100 < 96 THEN 'in_progress'
+            WHEN g % 100 < 98 THEN 'approved'
+            ELSE 'pending' END,
+       'normal', CASE WHEN g % 2 = 0 THEN 'pickup' ELSE 'dropoff' END,
+       current_date - g % 700, '8:00 AM - 10:00 AM',
+       now() - g * interval '10 minutes', now() - g * interval '10 minutes'
+FROM generate_series(1, 30000) g;
+
+INSERT INTO public.repair_slots (slot_date, time_window, service_type, capacity, reserved)
+SELECT current_date - 365 + d, w, t, 10, 0
+FROM generate_series(0, 729) d,
+     unnest(ARRAY['8:00 AM - 10:00 AM', '10:00 AM - 12:00 PM', '1:00 PM - 3:00 PM', '3:00 PM - 5:00 PM']) w,
+     unnest(ARRAY['pickup', 'dropoff']) t;
+
+-- Tokens revoked one a minute over the last two weeks, expiring over the next two; one in a hundred
+-- is already past
+INSERT INTO public.revoked_tokens (token_id, user_id, revoked_at, expires_at)
+SELECT md5(g::text), 'user' || g % 5000, now() - g * interval '1 minute', now() + (g % 100 - 1) * interval '200 minutes'
+FROM generate_series(1, 20000) g;
+
+-- Tombstones of deletes spread over the 30-day retention window
+INSERT INTO public.deleted_records (entity_type, record_id, deleted_at)
+SELECT CASE WHEN g % 2 = 0 THEN 'order' ELSE 'repair' END, md5(g::text), now() - g * interval '2 minutes'
+FROM generate_series(1, 20000) g;
+
+-- Rows inserted after a GIN index is built wait in its pending list, which makes the planner shy away
+-- from the index; in a running database autovacuum merges them
+SELECT gin_clean_pending_list('public.idx_products_name_trgm'::regclass);
+ANALYZE;
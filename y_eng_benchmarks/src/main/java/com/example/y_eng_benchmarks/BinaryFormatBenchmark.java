@@ -0,0 +1,104 @@
+package com.example.y_eng_benchmarks;
+
+import com.example.y_eng_backend.entity.Category;
+import com.example.y_eng_backend.entity.Order;
+import com.example.y_eng_backend.entity.Product;
+import com.example.y_eng_backend.entity.RepairRequest;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encode and decode of the list responses in each representation the API negotiates. Payload
+// sizes are printed once per fork, they do not change between iterations.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private List<Product> products;
+    private List<Order> orders;
+    private List<RepairRequest> repairs;
+    private byte[] productBytes;
+    private byte[] orderBytes;
+    private byte[] repairBytes;
+
+    @Setup
+    public void setUp() {
+        mapper = switch (format) {
+            case "json" -> JsonMapper.builder().build();
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+
+        Category category = new Category();
+        category.setId(3L);
+        category.setName("Water Pumps");
+        category.setCreatedAt(OffsetDateTime.now());
+
+        // The shapes of /api/products, /api/orders and /api/repair-requests
+        products = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            products.add(JsonSerializationBenchmark.product(i, category));
+        }
+        orders = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            orders.add(JsonSerializationBenchmark.order(1000L + i));
+        }
+        repairs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            repairs.add(JsonSerializationBenchmark.repair(i));
+        }
+
+        productBytes = mapper.writeValueAsBytes(products);
+        orderBytes = mapper.writeValueAsBytes(orders);
+        repairBytes = mapper.writeValueAsBytes(repairs);
+        System.out.printf("%n%s payload bytes: products=%d orders=%d repairs=%d%n",
+                format, productBytes.length, orderBytes.length, repairBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeProducts() {
+        return mapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public List<Product> decodeProducts() {
+        return mapper.readValue(productBytes, new TypeReference<List<Product>>() {});
+    }
+
+    @Benchmark
+    public byte[] encodeOrders() {
+        return mapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public List<Order> decodeOrders() {
+        return mapper.readValue(orderBytes, new TypeReference<List<Order>>() {});
+    }
+
+    @Benchmark
+    public byte[] encodeRepairs() {
+        return mapper.writeValueAsBytes(repairs);
+    }
+
+    @Benchmark
+    public List<RepairRequest> decodeRepairs() {
+        return mapper.readValue(repairBytes, new TypeReference<List<RepairRequest>>() {});
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.y_eng_benchmarks;
+
+import com.example.y_eng_backend.util.BloomFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Revocation fast path: a Bloom filter lookup for a token id that was never revoked
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BloomFilterBenchmark {
+
+    private BloomFilter filter;
+    private String notRevoked;
+    private String revoked;
+
+    @Setup
+    public void setUp() {
+        filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+        revoked = UUID.randomUUID().toString();
+        filter.add(revoked);
+        notRevoked = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean lookupNotRevoked() {
+        return filter.mightContain(notRevoked);
+    }
+
+    @Benchmark
+    public boolean lookupRevoked() {
+        return filter.mightContain(revoked);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.y_eng_benchmarks;
+
+import com.example.y_eng_backend.entity.CartItem;
+import com.example.y_eng_backend.entity.Order;
+import com.example.y_eng_backend.service.CartService;
+import com.example.y_eng_backend.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// CartService / OrderService flows through the real Spring beans, JPA and transactions, on H2.
+// Orders placed during an iteration are deleted afterwards so every iteration starts from the
+// same seeded table (order numbering scans it).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartOrderFlowBenchmark {
+
+    private static final int SEEDED_ORDERS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private CartService cartService;
+    private OrderService orderService;
+    private List<Long> productIds;
+    private UUID browsingUser;
+    private long lastSeededOrderId;
+
+    @Setup
+    public void setUp() {
+        context = InMemoryBackend.start("flows");
+        jdbc = context.getBean(JdbcTemplate.class);
+        cartService = context.getBean(CartService.class);
+        orderService = context.getBean(OrderService.class);
+        productIds = InMemoryBackend.seedCatalog(jdbc, 10, 50);
+        InMemoryBackend.seedOrders(jdbc, SEEDED_ORDERS, 50);
+        lastSeededOrderId = jdbc.queryForObject("select max(id) from orders", Long.class);
+
+        browsingUser = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            cartService.addToCart(browsingUser, productIds.get(i), 1);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void resetOrders() {
+        jdbc.update("delete from order_items where order_id > ?", lastSeededOrderId);
+        jdbc.update("delete from orders where id > ?", lastSeededOrderId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // GET /api/cart/{userId}
+    @Benchmark
+    public List<CartItem> viewCart() {
+        return cartService.getUserCart(browsingUser);
+    }
+
+    // POST /api/cart for a product already in the cart (quantity update path)
+    @Benchmark
+    public CartItem addExistingItem() {
+        return cartService.addToCart(browsingUser, productIds.get(0), 1);
+    }
+
+    // Add two products to a fresh cart, then check out (order + items + cart clear)
+    @Benchmark
+    public Order checkout() {
+        UUID userId = UUID.randomUUID();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        cartService.addToCart(userId, productIds.get(random.nextInt(productIds.size())), 1);
+        cartService.addToCart(userId, productIds.get(random.nextInt(productIds.size())), 2);
+        List<CartItem> cart = cartService.getUserCart(userId);
+
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setTotalAmount(cart.stream()
+                .map(item -> item.getProduct().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        order.setPaymentMethod("cash_on_delivery");
+        order.setShippingAddress("12 Main Street, Colombo");
+        order.setCustomerName("Benchmark Customer");
+        order.setCustomerPhone("0771234567");
+        return orderService.createOrder(order, cart);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.y_eng_benchmarks;
+
+import com.example.y_eng_backend.YEngBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Starts the full backend (services, repositories, listeners) against an in-memory H2 database in
+// PostgreSQL mode, without a web server. The schema comes from the entities, and the seed helpers
+// write with plain JDBC batches so setup stays fast even for large datasets.
+final class InMemoryBackend {
+
+    private InMemoryBackend() {
+    }
+
+    static ConfigurableApplicationContext start(String name) {
+        return new SpringApplicationBuilder(YEngBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments outrank the backend's application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.flyway.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--ratelimit.enabled=false");
+    }
+
+    // Categories and products; returns the product ids
+    static List<Long> seedCatalog(JdbcTemplate jdbc, int categories, int productsPerCategory) {
+        List<Object[]> categoryRows = new ArrayList<>();
+        for (int c = 1; c <= categories; c++) {
+            categoryRows.add(new Object[]{"Category " + c, Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbc.batchUpdate("insert into categories (name, created_at) values (?, ?)", categoryRows);
+        List<Long> categoryIds = jdbc.queryForList("select id from categories order by id", Long.class);
+
+        List<Object[]> productRows = new ArrayList<>();
+        for (Long categoryId : categoryIds) {
+            for (int p = 1; p <= productsPerCategory; p++) {
+                productRows.add(new Object[]{
+                        "Product " + categoryId + "-" + p,
+                        "Industrial spare part " + p + " for category " + categoryId,
+                        BigDecimal.valueOf(1000 + p * 25L, 2),
+                        100,
+                        categoryId});
+            }
+        }
+        jdbc.batchUpdate("insert into products (name, description, price, stock_qty, category_id) values (?, ?, ?, ?, ?)", productRows);
+        return jdbc.queryForList("select id from products order by id", Long.class);
+    }
+
+    // Orders spread over the last days, with today's share numbered like OrderService does
+    static void seedOrders(JdbcTemplate jdbc, int count, int todayShare) {
+        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boolean isToday = i < todayShare;
+            String date = isToday ? today : LocalDate.now().minusDays(1 + i % 30).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+            Timestamp createdAt = Timestamp.valueOf(isToday ? LocalDateTime.now() : LocalDateTime.now().minusDays(1 + i % 30));
+            rows.add(new Object[]{
+                    UUID.randomUUID(),
+                    String.format("YE-%s-%04d", date, i + 1),
+                    BigDecimal.valueOf(25000, 2),
+                    "pending",
+                    "cash_on_delivery",
+                    "12 Main Street, Colombo",
+                    "Customer " + i,
+                    "0771234567",
+                    createdAt,
+                    createdAt});
+        }
+        jdbc.batchUpdate("insert into orders (user_id, order_number, total_amount, status, payment_method, shipping_address,"
+                + " customer_name, customer_phone, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+}
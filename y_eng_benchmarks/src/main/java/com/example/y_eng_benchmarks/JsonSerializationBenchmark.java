@@ -0,0 +1,135 @@
+package com.example.y_eng_benchmarks;
+
+import com.example.y_eng_backend.entity.Category;
+import com.example.y_eng_backend.entity.Order;
+import com.example.y_eng_backend.entity.OrderItem;
+import com.example.y_eng_backend.entity.Product;
+import com.example.y_eng_backend.entity.RepairRequest;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of the entity graphs the controllers return
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private JsonMapper mapper;
+    private Product product;
+    private List<Product> productPage;
+    private Order order;
+    private List<RepairRequest> repairs;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+
+        Category category = new Category();
+        category.setId(3L);
+        category.setName("Water Pumps");
+        category.setCreatedAt(OffsetDateTime.now());
+
+        productPage = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            productPage.add(product(i, category));
+        }
+        product = productPage.get(0);
+
+        order = order(1042L);
+
+        repairs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            repairs.add(repair(i));
+        }
+    }
+
+    @Benchmark
+    public byte[] product() {
+        return mapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] productPage() {
+        return mapper.writeValueAsBytes(productPage);
+    }
+
+    @Benchmark
+    public byte[] orderWithItems() {
+        return mapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] repairRequestList() {
+        return mapper.writeValueAsBytes(repairs);
+    }
+
+    static Product product(int i, Category category) {
+        Product product = new Product();
+        product.setId((long) i);
+        product.setName("Submersible Pump " + i);
+        product.setDescription("1.5 HP stainless steel submersible pump, 40 m head, model SP-" + i);
+        product.setPrice(BigDecimal.valueOf(4500000 + i * 1000L, 2));
+        product.setStockQty(10 + i);
+        product.setCategoryId(category.getId());
+        product.setImageUrl("https://example.com/images/pump-" + i + ".jpg");
+        product.setCategory(category);
+        return product;
+    }
+
+    static Order order(long id) {
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId(UUID.randomUUID());
+        order.setOrderNumber("YE-20261019-" + String.format("%04d", id % 10000));
+        order.setTotalAmount(new BigDecimal("48750.00"));
+        order.setPaymentMethod("cash_on_delivery");
+        order.setShippingAddress("12 Main Street, Colombo 03");
+        order.setCustomerName("Nimal Perera");
+        order.setCustomerPhone("0771234567");
+        order.setCreatedAt(OffsetDateTime.now());
+        order.setUpdatedAt(OffsetDateTime.now());
+        for (int i = 1; i <= 5; i++) {
+            OrderItem item = new OrderItem();
+            item.setId(id * 10 + i);
+            item.setOrderId(id);
+            item.setProductId((long) i);
+            item.setProductName("Product " + i);
+            item.setQuantity(i);
+            item.setPriceAtPurchase(new BigDecimal("9750.00"));
+            order.getItems().add(item);
+        }
+        return order;
+    }
+
+    static RepairRequest repair(int i) {
+        RepairRequest repair = new RepairRequest();
+        repair.setId(UUID.randomUUID());
+        repair.setUserId(UUID.randomUUID());
+        repair.setCustomerName("Customer " + i);
+        repair.setCustomerPhone("07712345" + (10 + i));
+        repair.setCustomerEmail("customer" + i + "@example.com");
+        repair.setEquipmentType("Generator");
+        repair.setBrand("Honda");
+        repair.setIssueDescription("Engine starts but stalls after a few minutes under load; carburettor may need cleaning.");
+        repair.setUrgency(i % 4 == 0 ? "urgent" : "normal");
+        repair.setServiceType(i % 2 == 0 ? "pickup" : "dropoff");
+        repair.setPickupAddress("45 Temple Road, Kandy");
+        repair.setPreferredDate(LocalDate.now().plusDays(2));
+        repair.setPreferredTime("10:00 AM - 12:00 PM");
+        repair.setCreatedAt(OffsetDateTime.now());
+        repair.setUpdatedAt(OffsetDateTime.now());
+        repair.setVersion(0L);
+        return repair;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.y_eng_benchmarks;
+
+import com.example.y_eng_backend.security.jwt.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Per-request JWT cost: the old four-parse filter path vs. one parse vs. the verified-claims cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    // Same length as the production secret so HMAC work matches
+    private static final String LEGACY_SECRET = "BenchmarkSecretKeyForJWTAuthenticationSystemBaseline2024-HS512-Key";
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private String legacyToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken("4f1c2a8e-5d2b-4c55-9a7e-1d2f3c4b5a69", "customer@example.com", "customer");
+        legacyToken = Jwts.builder()
+                .claim("userId", "4f1c2a8e-5d2b-4c55-9a7e-1d2f3c4b5a69")
+                .claim("email", "customer@example.com")
+                .claim("role", "customer")
+                .setSubject("4f1c2a8e-5d2b-4c55-9a7e-1d2f3c4b5a69")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+                .signWith(Keys.hmacShaKeyFor(LEGACY_SECRET.getBytes()), SignatureAlgorithm.HS512)
+                .compact();
+        jwtUtil.verify(token); // warm the cache
+    }
+
+    // What JwtAuthFilter used to do: userId, validate, isExpired and role, each rebuilding key + parser
+    @Benchmark
+    public void legacyFourParses(Blackhole bh) {
+        bh.consume(legacyParse().getSubject());
+        bh.consume(legacyParse() != null);
+        bh.consume(legacyParse().getExpiration().before(new Date()));
+        bh.consume(legacyParse().get("role", String.class));
+    }
+
+    // Cache miss: one signature check and one claims parse with the prebuilt parser
+    @Benchmark
+    public Object singleParse() {
+        return jwtUtil.parse(token);
+    }
+
+    // Cache hit: SHA-256 of the token and a map lookup
+    @Benchmark
+    public Object cachedVerify() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("4f1c2a8e-5d2b-4c55-9a7e-1d2f3c4b5a69", "customer@example.com", "customer");
+    }
+
+    private Claims legacyParse() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(LEGACY_SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(legacyToken)
+                .getBody();
+    }
+}
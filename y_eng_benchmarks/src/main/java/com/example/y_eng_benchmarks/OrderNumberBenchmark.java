@@ -0,0 +1,44 @@
+package com.example.y_eng_benchmarks;
+
+import com.example.y_eng_backend.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// OrderService.generateOrderNumber against order tables of growing size (one fork per size)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderNumberBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int orders;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+
+    @Setup
+    public void setUp() {
+        context = InMemoryBackend.start("orders" + orders);
+        InMemoryBackend.seedOrders(context.getBean(JdbcTemplate.class), orders, orders / 10);
+        // The method is private; call it on the target behind the transactional proxy
+        orderService = AopTestUtils.getTargetObject(context.getBean(OrderService.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateOrderNumber() {
+        return ReflectionTestUtils.invokeMethod(orderService, "generateOrderNumber");
+    }
+}
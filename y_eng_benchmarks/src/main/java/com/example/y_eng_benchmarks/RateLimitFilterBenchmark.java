@@ -0,0 +1,91 @@
+package com.example.y_eng_benchmarks;
+
+import com.example.y_eng_backend.security.ratelimit.RateLimitFilter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of RateLimitFilter with the production group layout. Capacity is set high
+// enough that every request is admitted, so this is the overhead paid by normal traffic.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    private RateLimitFilter filter;
+    private RateLimitFilter disabledFilter;
+    private MockHttpServletRequest searchRequest;
+    private MockHttpServletRequest apiRequest;
+    private MockHttpServletRequest unmatchedRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        filter = newFilter(true);
+        disabledFilter = newFilter(false);
+        searchRequest = request("GET", "/api/products/search");
+        apiRequest = request("GET", "/api/orders/user/4f1c2a8e-5d2b-4c55-9a7e-1d2f3c4b5a69");
+        unmatchedRequest = request("GET", "/favicon.ico");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public int disabled() throws Exception {
+        disabledFilter.doFilter(apiRequest, response, NO_OP);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int searchGroup() throws Exception {
+        filter.doFilter(searchRequest, response, NO_OP);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int catchAllGroup() throws Exception {
+        filter.doFilter(apiRequest, response, NO_OP);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int noGroup() throws Exception {
+        filter.doFilter(unmatchedRequest, response, NO_OP);
+        return response.getStatus();
+    }
+
+    private static RateLimitFilter newFilter(boolean enabled) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("ratelimit.enabled", Boolean.toString(enabled))
+                .withProperty("ratelimit.groups", "login,search,api")
+                .withProperty("ratelimit.group.login.paths", "/api/auth/login")
+                .withProperty("ratelimit.group.login.methods", "POST")
+                .withProperty("ratelimit.group.login.capacity", "5")
+                .withProperty("ratelimit.group.login.refill-per-second", "0.1")
+                .withProperty("ratelimit.group.search.paths", "/api/products/search,/api/admin/search")
+                .withProperty("ratelimit.group.search.capacity", "1000000000")
+                .withProperty("ratelimit.group.search.refill-per-second", "1000000000")
+                .withProperty("ratelimit.group.api.paths", "/api/**")
+                .withProperty("ratelimit.group.api.capacity", "1000000000")
+                .withProperty("ratelimit.group.api.refill-per-second", "1000000000");
+        RateLimitFilter filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "environment", environment);
+        ReflectionTestUtils.invokeMethod(filter, "init");
+        return filter;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("203.0.113.7");
+        return request;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.y_eng_benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Cold-start comparison of the plain executable jar and the fast-startup build (AOT-processed,
+// extracted, CDS archive; mvn -Pfast-startup package). Not a JMH benchmark: every run is a fresh
+// JVM, timed from process launch to the first 2xx answer on the probe path, and the process RSS is
+// read at that moment. Runs alternate between the two builds so machine drift hits both alike.
+//
+//   java -cp y_eng_benchmarks/target/benchmarks.jar com.example.y_eng_benchmarks.StartupBenchmark \
+//       --runs=5 --probe=/api/categories
+//
+// Options are --name=value; --app.<property>=<value> is passed to both builds as --<property>=<value>.
+// The application needs its usual DB_* environment, as in production.
+public class StartupBenchmark {
+
+    private static final String JAR = "y_eng_backend-0.0.1-SNAPSHOT-exec.jar";
+
+    public static void main(String[] args) throws Exception {
+        String baseline = "y_eng_backend/target/" + JAR;
+        String fastDir = "y_eng_backend/target/fast-startup";
+        int runs = 5;
+        String probe = "/api/categories";
+        Duration timeout = Duration.ofMinutes(2);
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (name.startsWith("app.")) {
+                appArgs.add("--" + name.substring("app.".length()) + "=" + value);
+                continue;
+            }
+            switch (name) {
+                case "baseline" -> baseline = value;
+                case "fast" -> fastDir = value;
+                case "runs" -> runs = Integer.parseInt(value);
+                case "probe" -> probe = value;
+                case "timeout" -> timeout = Duration.ofSeconds(Long.parseLong(value));
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("baseline", List.of(java, "-jar", requireFile(baseline)));
+        variants.put("aot+cds", List.of(java, "-XX:SharedArchiveFile=" + requireFile(fastDir + "/app.jsa"),
+                "-Dspring.aot.enabled=true", "-jar", requireFile(fastDir + "/" + JAR)));
+
+        Path logs = Files.createTempDirectory("startup-benchmark");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        Map<String, List<double[]>> results = new LinkedHashMap<>();
+        for (int run = 1; run <= runs; run++) {
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                File log = logs.resolve(variant.getKey().replace('+', '-') + "-" + run + ".log").toFile();
+                double[] sample = measure(client, variant.getValue(), appArgs, probe, timeout, log);
+                results.computeIfAbsent(variant.getKey(), k -> new ArrayList<>()).add(sample);
+                System.out.printf("run %d %-9s first success %6.0f ms, RSS %5.0f MB%n", run, variant.getKey(), sample[0], sample[1]);
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-9s %12s %12s %12s %12s%n", "Build", "median ms", "min ms", "max ms", "median MB");
+        results.forEach((name, samples) -> System.out.printf("%-9s %12.0f %12.0f %12.0f %12.0f%n", name,
+                median(samples, 0), samples.stream().mapToDouble(s -> s[0]).min().orElse(0),
+                samples.stream().mapToDouble(s -> s[0]).max().orElse(0), median(samples, 1)));
+        System.out.println("Application logs: " + logs);
+    }
+
+    // {milliseconds to first 2xx on the probe, RSS in MB at that point}
+    private static double[] measure(HttpClient client, List<String> command, List<String> appArgs, String probe,
+                                    Duration timeout, File log) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> full = new ArrayList<>(command);
+        full.add("--server.port=" + port);
+        full.addAll(appArgs);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + probe))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(full).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 == 2) {
+                        double millis = (System.nanoTime() - start) / 1e6;
+                        return new double[] {millis, rssMegabytes(process.pid())};
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("No 2xx from " + probe + " within " + timeout.toSeconds() + "s, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Resident set size from /proc; 0 where there is none
+    private static double rssMegabytes(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", "")) / 1024.0;
+            }
+        }
+        return 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String requireFile(String path) {
+        if (!new File(path).isFile()) {
+            throw new IllegalArgumentException(path + " not found; build with mvn -B -pl y_eng_backend -Pfast-startup package first");
+        }
+        return path;
+    }
+
+    private static double median(List<double[]> samples, int index) {
+        double[] values = samples.stream().mapToDouble(s -> s[index]).sorted().toArray();
+        return values.length % 2 == 1 ? values[values.length / 2]
+                : (values[values.length / 2 - 1] + values[values.length / 2]) / 2;
+    }
+}
@@ -2,7 +2,7 @@
 import { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { supabase } from '../supabaseClient';
-import { productAPI, categoryAPI, orderAPI, repairAPI } from '../services/api';
+import { productAPI, categoryAPI, orderAPI, repairAPI, adminAPI } from '../services/api';
 
 export default function Dashboard() {
   const navigate = useNavigate();
@@ -79,17 +79,12 @@ export default function Dashboard() {
 
   const fetchAdminData = async () => {
     try {
-      const [productsRes, categoriesRes, ordersRes, repairsRes] = await Promise.all([
-        productAPI.getAll(),
-        categoryAPI.getAll(),
-        orderAPI.getAll(),
-        repairAPI.getAll(),
-      ]);
-      
-      setProducts(productsRes.data || []);
-      setCategories(categoriesRes.data || []);
-      setAllOrders(ordersRes.data || []);
-      setAllRepairs(repairsRes.data || []);
+      const { data } = await adminAPI.getDashboard();
+
+      setProducts(data.products || []);
+      setCategories(data.categories || []);
+      setAllOrders(data.orders || []);
+      setAllRepairs(data.repairs || []);
     } catch (err) {
       console.error('Error fetching admin data:', err);
     }
@@ -355,7 +350,7 @@ function ProductsTab({ products, categories, onRefresh, showAddForm, setShowAddF
               </div>
               <div style={styles.productInfo}>
                 <h3 style={styles.productName}>{product.name}</h3>
-                <p style={styles.productCategory}>{product.category?.name || 'No category'}</p>
+                <p style={styles.productCategory}>{product.categoryName || 'No category'}</p>
                 <p style={styles.productDesc}>{product.description}</p>
               </div>
               <div style={styles.productStats}>
@@ -94,8 +94,21 @@ export const repairAPI = {
   getByUser: (userId) => api.get(`/repair-requests/user/${userId}`),
   getAll: () => api.get('/repair-requests'),
   create: (repairRequest) => api.post('/repair-requests', repairRequest),
-  updateStatus: (id, status, adminNotes) => 
-    api.patch(`/repair-requests/${id}/status`, { status, adminNotes }),
+  updateStatus: (id, status, adminNotes) =>
+    api.patch(`/repair-requests/${id}`, adminNotes ? { status, adminNotes } : { status },
+      { headers: { 'Content-Type': 'application/merge-patch+json' } }),
+  patch: (id, fields, version) =>
+    api.patch(`/repair-requests/${id}`, fields, {
+      headers: {
+        'Content-Type': 'application/merge-patch+json',
+        ...(version != null ? { 'If-Match': `"${version}"` } : {}),
+      },
+    }),
+};
+
+export const adminAPI = {
+  // Products, categories, orders, repairs and KPIs in one request
+  getDashboard: () => api.get('/admin/dashboard'),
 };
 
 export default api;
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.example.y_eng_loadtest;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Hit ratios of the embedded backend's second-level cache regions, from Hibernate's statistics.
+// Counting restarts when the measured window begins. Against --url, the same numbers are the
+// hibernate.second.level.cache.requests and hibernate.cache.query.requests meters.
+class CacheStats {
+
+    private final Statistics statistics;
+
+    CacheStats(ConfigurableApplicationContext context) {
+        this.statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    void reset() {
+        statistics.clear();
+    }
+
+    // Region -> hits, misses, puts, hitRatio; the update-timestamps region is bookkeeping and left out
+    Map<String, Map<String, Object>> regions() {
+        Map<String, Map<String, Object>> regions = new LinkedHashMap<>();
+        String[] names = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(names);
+        for (String name : names) {
+            if (name.equals("default-update-timestamps-region")) {
+                continue;
+            }
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region == null) {
+                continue;
+            }
+            long lookups = region.getHitCount() + region.getMissCount();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("hits", region.getHitCount());
+            row.put("misses", region.getMissCount());
+            row.put("puts", region.getPutCount());
+            row.put("hitRatio", lookups == 0 ? 0.0 : Math.round(1000.0 * region.getHitCount() / lookups) / 1000.0);
+            regions.put(name, row);
+        }
+        return regions;
+    }
+}
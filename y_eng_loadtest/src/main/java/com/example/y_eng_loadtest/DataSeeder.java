@@ -0,0 +1,206 @@
+package com.example.y_eng_loadtest;
+
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+// Writes a realistic shop with plain JDBC batches: a catalogue built from a small vocabulary (so
+// searches hit), a year of orders with one to three items each, and repair requests in every
+// status. A fixed seed makes runs comparable.
+class DataSeeder {
+
+    static final String[] EQUIPMENT = {"pump", "generator", "motor", "drill", "grinder", "compressor",
+            "welder", "mixer", "saw", "blower", "sprayer", "chainsaw", "inverter", "cutter", "vibrator"};
+    static final String[] BRANDS = {"Honda", "Makita", "Bosch", "Kirloskar", "Crompton", "Stanley",
+            "Dewalt", "Hitachi", "Yamaha", "Lakshmi"};
+    static final String[] TIME_WINDOWS = {"8:00 AM - 10:00 AM", "10:00 AM - 12:00 PM", "12:00 PM - 2:00 PM",
+            "2:00 PM - 4:00 PM", "4:00 PM - 6:00 PM"};
+    private static final String[] ORDER_STATUSES = {"delivered", "delivered", "delivered", "shipped",
+            "processing", "confirmed", "pending", "cancelled"};
+    private static final String[] REPAIR_STATUSES = {"completed", "completed", "completed", "ready",
+            "in_progress", "approved", "pending", "rejected"};
+    private static final int BATCH = 5_000;
+
+    private final JdbcTemplate jdbc;
+    private final Environment environment;
+    private final Random random = new Random(42);
+
+    DataSeeder(JdbcTemplate jdbc, Environment environment) {
+        this.jdbc = jdbc;
+        this.environment = environment;
+    }
+
+    SeedData seed(LoadTestConfig config) {
+        List<UUID> users = new ArrayList<>(config.users);
+        for (int i = 0; i < config.users; i++) {
+            users.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        List<Long> categoryIds = seedCategories(config.categories);
+        Map<Long, BigDecimal> prices = seedProducts(config.products, categoryIds);
+        List<Long> productIds = new ArrayList<>(prices.keySet());
+        seedOrders(config.orders, users, productIds, prices);
+        seedRepairs(config.repairs, users);
+        seedSlotCalendar();
+        return new SeedData(users, categoryIds, productIds);
+    }
+
+    private List<Long> seedCategories(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = capitalize(EQUIPMENT[i % EQUIPMENT.length]) + (i < EQUIPMENT.length ? "s" : "s " + (i / EQUIPMENT.length + 1));
+            rows.add(new Object[]{name, Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbc.batchUpdate("insert into categories (name, created_at) values (?, ?)", rows);
+        return jdbc.queryForList("select id from categories order by id", Long.class);
+    }
+
+    private Map<Long, BigDecimal> seedProducts(int count, List<Long> categoryIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int c = i % categoryIds.size();
+            String equipment = EQUIPMENT[c % EQUIPMENT.length];
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            String name = brand + " " + equipment + " " + (char) ('A' + random.nextInt(26)) + (100 + random.nextInt(900));
+            rows.add(new Object[]{
+                    name,
+                    capitalize(equipment) + " by " + brand + ", " + (1 + random.nextInt(5)) + " HP, industrial grade. Spare parts available.",
+                    BigDecimal.valueOf(150_000 + random.nextInt(20_000_000), 2),
+                    random.nextInt(10) == 0 ? 0 : random.nextInt(200),
+                    categoryIds.get(c),
+                    "https://example.com/images/" + equipment + "-" + i + ".jpg"});
+            flush(rows, "insert into products (name, description, price, stock_qty, category_id, image_url) values (?, ?, ?, ?, ?, ?)", false);
+        }
+        flush(rows, "insert into products (name, description, price, stock_qty, category_id, image_url) values (?, ?, ?, ?, ?, ?)", true);
+
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        jdbc.query("select id, price from products", rs -> {
+            prices.put(rs.getLong(1), rs.getBigDecimal(2));
+        });
+        return prices;
+    }
+
+    private void seedOrders(int count, List<UUID> users, List<Long> productIds, Map<Long, BigDecimal> prices) {
+        String insertOrder = "insert into orders (id, user_id, order_number, total_amount, status, payment_method, shipping_address,"
+                + " customer_name, customer_phone, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String insertItem = "insert into order_items (order_id, product_id, product_name, quantity, price_at_purchase) values (?, ?, ?, ?, ?)";
+        Map<LocalDate, Integer> perDay = new HashMap<>();
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= count; id++) {
+            // Older days first, today last, like real ids
+            LocalDateTime createdAt = now.minusMinutes((long) ((count - id) * (525_600.0 / count)));
+            LocalDate day = createdAt.toLocalDate();
+            int sequence = perDay.merge(day, 1, Integer::sum);
+            BigDecimal total = BigDecimal.ZERO;
+            int lines = 1 + random.nextInt(3);
+            for (int l = 0; l < lines; l++) {
+                Long productId = productIds.get(random.nextInt(productIds.size()));
+                int quantity = 1 + random.nextInt(3);
+                BigDecimal price = prices.get(productId);
+                total = total.add(price.multiply(BigDecimal.valueOf(quantity)));
+                items.add(new Object[]{id, productId, "Product " + productId, quantity, price});
+            }
+            boolean recent = createdAt.isAfter(now.minusDays(2));
+            orders.add(new Object[]{
+                    id,
+                    users.get(random.nextInt(users.size())),
+                    "YE-" + day.format(DateTimeFormatter.BASIC_ISO_DATE) + "-" + String.format("%04d", sequence),
+                    total,
+                    recent ? "pending" : ORDER_STATUSES[random.nextInt(ORDER_STATUSES.length)],
+                    random.nextBoolean() ? "cash_on_delivery" : "bank_transfer",
+                    (1 + random.nextInt(300)) + " Galle Road, Colombo " + (1 + random.nextInt(15)),
+                    "Customer " + id,
+                    "07" + (10_000_000 + random.nextInt(90_000_000)),
+                    Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(createdAt)});
+            // Items reference their orders, so orders always go first
+            if (items.size() >= BATCH) {
+                flush(orders, insertOrder, true);
+                flush(items, insertItem, true);
+            }
+        }
+        flush(orders, insertOrder, true);
+        flush(items, insertItem, true);
+        // Ids were written explicitly; move the identity past them so the app can insert
+        jdbc.execute("alter table orders alter column id restart with " + (count + 1));
+    }
+
+    private void seedRepairs(int count, List<UUID> users) {
+        String insert = "insert into repair_requests (id, user_id, customer_name, customer_phone, customer_email, equipment_type,"
+                + " brand, issue_description, status, urgency, service_type, pickup_address, preferred_date, preferred_time,"
+                + " created_at, updated_at, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime createdAt = now.minusMinutes((long) ((count - i) * (525_600.0 / count)));
+            boolean recent = createdAt.isAfter(now.minusDays(3));
+            String serviceType = random.nextInt(3) == 0 ? "pickup" : "dropoff";
+            String equipment = EQUIPMENT[random.nextInt(EQUIPMENT.length)];
+            rows.add(new Object[]{
+                    new UUID(random.nextLong(), random.nextLong()),
+                    users.get(random.nextInt(users.size())),
+                    "Customer " + i,
+                    "07" + (10_000_000 + random.nextInt(90_000_000)),
+                    "customer" + i + "@example.com",
+                    capitalize(equipment),
+                    BRANDS[random.nextInt(BRANDS.length)],
+                    capitalize(equipment) + " stops after a few minutes under load, makes a grinding noise.",
+                    recent ? (random.nextBoolean() ? "pending" : "approved") : REPAIR_STATUSES[random.nextInt(REPAIR_STATUSES.length)],
+                    random.nextInt(5) == 0 ? "urgent" : "normal",
+                    serviceType,
+                    "pickup".equals(serviceType) ? (1 + random.nextInt(200)) + " Temple Road, Kandy" : null,
+                    Date.valueOf(createdAt.toLocalDate().plusDays(1 + random.nextInt(5))),
+                    TIME_WINDOWS[random.nextInt(TIME_WINDOWS.length)],
+                    Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(createdAt),
+                    0L});
+            flush(rows, insert, false);
+        }
+        flush(rows, insert, true);
+    }
+
+    // Slot rows for the whole booking horizon. The backend creates missing rows with INSERT ... ON
+    // CONFLICT, which H2 does not parse, so on the embedded database they must exist up front.
+    private void seedSlotCalendar() {
+        int days = environment.getProperty("booking.horizon-days", Integer.class, 30);
+        List<String> windows = List.of(environment.getRequiredProperty("booking.time-windows").split(","));
+        List<Object[]> rows = new ArrayList<>();
+        for (int d = 0; d <= days; d++) {
+            for (String window : windows) {
+                for (String serviceType : List.of("pickup", "dropoff")) {
+                    int capacity = environment.getProperty("booking.capacity." + serviceType, Integer.class, 0);
+                    rows.add(new Object[]{Date.valueOf(LocalDate.now().plusDays(d)), window.trim(), serviceType, capacity});
+                }
+            }
+        }
+        jdbc.batchUpdate("insert into repair_slots (slot_date, time_window, service_type, capacity, reserved) values (?, ?, ?, ?, 0)", rows);
+    }
+
+    private void flush(List<Object[]> rows, String sql, boolean force) {
+        if (rows.isEmpty() || (!force && rows.size() < BATCH)) {
+            return;
+        }
+        jdbc.batchUpdate(sql, rows);
+        rows.clear();
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    record SeedData(List<UUID> users, List<Long> categoryIds, List<Long> productIds) {
+    }
+}
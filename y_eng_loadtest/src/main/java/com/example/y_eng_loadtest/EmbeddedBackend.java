@@ -0,0 +1,68 @@
+package com.example.y_eng_loadtest;
+
+import com.example.y_eng_backend.YEngBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Boots the real backend on a random port against an in-memory H2 database in PostgreSQL mode.
+// The schema is created from the entities. Rate limits are off and slot capacity is effectively
+// unlimited so a single load generator on localhost measures the application, not its guards;
+// both can be turned back on with --backend.* options.
+class EmbeddedBackend implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+
+    private EmbeddedBackend(ConfigurableApplicationContext context) {
+        this.context = context;
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    static EmbeddedBackend start(List<String> extraArgs) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        // The Flyway migrations are PostgreSQL-only; Hibernate creates the H2 schema from the entities
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("ratelimit.enabled", "false");
+        // LISTEN/NOTIFY needs PostgreSQL; a single embedded node has no one to notify anyway
+        properties.put("invalidation.transport", "jvm");
+        properties.put("booking.capacity.pickup", "1000000");
+        properties.put("booking.capacity.dropoff", "1000000");
+        // --backend.* options override the defaults above
+        for (String arg : extraArgs) {
+            properties.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        // Command-line arguments outrank the backend's application.properties
+        String[] args = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(YEngBackendApplication.class).run(args);
+        return new EmbeddedBackend(context);
+    }
+
+    String getBaseUrl() {
+        return baseUrl;
+    }
+
+    ConfigurableApplicationContext getContext() {
+        return context;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
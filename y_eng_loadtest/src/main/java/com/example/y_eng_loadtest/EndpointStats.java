@@ -0,0 +1,59 @@
+package com.example.y_eng_loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency and outcome counters for one endpoint label such as "GET /api/products/{id}".
+// Latencies are recorded in microseconds, up to one minute, with three significant digits.
+class EndpointStats {
+
+    private final String endpoint;
+    private final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder httpErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    // status < 0 means the request never got a response (timeout, connection refused)
+    void record(int status, long nanos) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), latency.getHighestTrackableValue()));
+        if (status < 0) {
+            failures.increment();
+        } else if (status >= 400) {
+            httpErrors.increment();
+        } else {
+            ok.increment();
+        }
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    long getCount() {
+        return ok.sum() + httpErrors.sum() + failures.sum();
+    }
+
+    long getOk() {
+        return ok.sum();
+    }
+
+    long getHttpErrors() {
+        return httpErrors.sum();
+    }
+
+    long getFailures() {
+        return failures.sum();
+    }
+
+    // Journeys still draining may record while the report is built, so report from a copy
+    Histogram snapshot() {
+        return latency.copy();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.y_eng_loadtest;
+
+import com.example.y_eng_backend.service.booking.SlotCalendarService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// End-to-end load test. By default boots the backend on an embedded database, seeds it, and drives
+// the scenario mix over real HTTP; with --url it only drives traffic against a running instance.
+// See README.md for the options.
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        for (String name : config.mix.keySet()) {
+            if (!Scenarios.NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown scenario " + name + ", expected one of " + Scenarios.NAMES);
+            }
+        }
+
+        EmbeddedBackend backend = null;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            String baseUrl = config.url;
+            if (baseUrl == null) {
+                System.out.println("Starting embedded backend...");
+                backend = EmbeddedBackend.start(config.backendArgs);
+                baseUrl = backend.getBaseUrl();
+            }
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+            Scenarios scenarios = new Scenarios(client, baseUrl, config.requestTimeout);
+
+            if (backend != null) {
+                System.out.printf("Seeding %d categories, %d products, %d orders, %d repairs...%n",
+                        config.categories, config.products, config.orders, config.repairs);
+                long seedStart = System.nanoTime();
+                JdbcTemplate jdbc = backend.getContext().getBean(JdbcTemplate.class);
+                scenarios.useData(new DataSeeder(jdbc, backend.getContext().getEnvironment()).seed(config));
+                // Load the seeded slot rows into the booking calendar before traffic starts
+                backend.getContext().getBean(SlotCalendarService.class).availability(1, null);
+                System.out.printf("Seeded in %.1fs%n", (System.nanoTime() - seedStart) / 1e9);
+            } else {
+                scenarios.discoverData(config.users);
+            }
+            scenarios.login();
+
+            OpenModelDriver driver = new OpenModelDriver(config, scenarios);
+            CacheStats cacheStats = backend != null ? new CacheStats(backend.getContext()) : null;
+            if (cacheStats != null) {
+                driver.onMeasureStart(cacheStats::reset);
+            }
+            driver.run();
+
+            Report report = new Report(config, driver, scenarios, cacheStats);
+            report.print();
+            report.write();
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+        }
+        // The backend's scheduler and log writer threads are not all daemons
+        System.exit(0);
+    }
+}
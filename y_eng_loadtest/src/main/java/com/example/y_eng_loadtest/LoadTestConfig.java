@@ -0,0 +1,101 @@
+package com.example.y_eng_loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Command-line options, all --name=value. Options starting with --backend. are passed on to the
+// embedded backend without the prefix (e.g. --backend.spring.threads.virtual.enabled=true).
+class LoadTestConfig {
+
+    // Target: embedded backend unless --url points at a running one (then nothing is seeded)
+    String url;
+
+    // Seed volumes
+    int categories = 50;
+    int products = 20_000;
+    int orders = 200_000;
+    int repairs = 100_000;
+    int users = 5_000;
+
+    // Traffic
+    double rate = 100;
+    Duration warmup = Duration.ofSeconds(15);
+    Duration duration = Duration.ofSeconds(60);
+    Duration requestTimeout = Duration.ofSeconds(30);
+    int maxInFlight = 5_000;
+    Map<String, Integer> mix = parseMix("browse=45,search=20,cart=15,checkout=8,repair=10,admin=2");
+
+    String report = "loadtest-report.json";
+    List<String> backendArgs = new ArrayList<>();
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (name.startsWith("backend.")) {
+                config.backendArgs.add("--" + name.substring("backend.".length()) + "=" + value);
+                continue;
+            }
+            switch (name) {
+                case "url" -> config.url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "categories" -> config.categories = Integer.parseInt(value);
+                case "products" -> config.products = Integer.parseInt(value);
+                case "orders" -> config.orders = Integer.parseInt(value);
+                case "repairs" -> config.repairs = Integer.parseInt(value);
+                case "users" -> config.users = Integer.parseInt(value);
+                case "rate" -> config.rate = Double.parseDouble(value);
+                case "warmup" -> config.warmup = parseDuration(value);
+                case "duration" -> config.duration = parseDuration(value);
+                case "timeout" -> config.requestTimeout = parseDuration(value);
+                case "max-in-flight" -> config.maxInFlight = Integer.parseInt(value);
+                case "mix" -> config.mix = parseMix(value);
+                case "report" -> config.report = value;
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (config.rate <= 0 || config.users < 1 || config.products < 1 || config.categories < 1) {
+            throw new IllegalArgumentException("rate, users, products and categories must be positive");
+        }
+        return config;
+    }
+
+    // 30s, 2m, 500ms or plain seconds
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    // browse=45,search=20,... (weights, not percentages)
+    static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry " + part);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(kv[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Scenario mix is empty");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.y_eng_loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open workload model: journeys arrive as a Poisson process at a fixed rate, whether or not earlier
+// ones have finished, so a slow server builds a queue instead of quietly slowing the generator
+// down (no coordinated omission). Each arrival runs on its own virtual thread. Arrivals beyond
+// maxInFlight are dropped and counted; that is a saturated run, not a data point.
+class OpenModelDriver {
+
+    private final LoadTestConfig config;
+    private final Scenarios scenarios;
+    private final Map<String, LongAdder> started = new LinkedHashMap<>();
+    private final Map<String, LongAdder> aborted = new LinkedHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private Runnable onMeasureStart = () -> {};
+
+    OpenModelDriver(LoadTestConfig config, Scenarios scenarios) {
+        this.config = config;
+        this.scenarios = scenarios;
+        for (String name : config.mix.keySet()) {
+            started.put(name, new LongAdder());
+            aborted.put(name, new LongAdder());
+        }
+    }
+
+    void run() throws InterruptedException {
+        List<String> names = new ArrayList<>(config.mix.keySet());
+        int[] cumulative = new int[names.size()];
+        int total = 0;
+        for (int i = 0; i < names.size(); i++) {
+            total += config.mix.get(names.get(i));
+            cumulative[i] = total;
+        }
+
+        Semaphore inFlight = new Semaphore(config.maxInFlight);
+        long meanGapNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate);
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup.toNanos();
+        long end = measureFrom + config.duration.toNanos();
+        long nextProgress = measureFrom;
+        boolean measuring = false;
+        System.out.printf("Warming up for %ds, then measuring for %ds at %.1f journeys/s%n",
+                config.warmup.toSeconds(), config.duration.toSeconds(), config.rate);
+
+        // Arrivals are scheduled on the ideal timeline; if the loop falls behind it catches up at once
+        for (long next = start; next < end; next += nextGap(meanGapNanos)) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = next >= measureFrom;
+            if (measured && !measuring) {
+                measuring = true;
+                onMeasureStart.run();
+            }
+            if (measured && next >= nextProgress) {
+                System.out.printf("  %3ds measured, %d in flight%n", TimeUnit.NANOSECONDS.toSeconds(next - measureFrom),
+                        config.maxInFlight - inFlight.availablePermits());
+                nextProgress += TimeUnit.SECONDS.toNanos(10);
+            }
+            String scenario = pick(names, cumulative, total);
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            if (measured) {
+                started.get(scenario).increment();
+            }
+            Thread.ofVirtual().name("journey-" + scenario).start(() -> {
+                try {
+                    scenarios.run(scenario, measured);
+                } catch (Exception e) {
+                    if (measured) {
+                        aborted.get(scenario).increment();
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        // Let in-flight journeys finish; their latencies belong to the measured window
+        Duration drain = config.requestTimeout.multipliedBy(2);
+        if (!inFlight.tryAcquire(config.maxInFlight, drain.toMillis(), TimeUnit.MILLISECONDS)) {
+            System.out.printf("%d journeys still running after %ds drain%n",
+                    config.maxInFlight - inFlight.availablePermits(), drain.toSeconds());
+        }
+    }
+
+    // Called once, on the generator thread, when the warmup ends
+    void onMeasureStart(Runnable onMeasureStart) {
+        this.onMeasureStart = onMeasureStart;
+    }
+
+    Map<String, LongAdder> getStarted() {
+        return started;
+    }
+
+    Map<String, LongAdder> getAborted() {
+        return aborted;
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    // Exponentially distributed inter-arrival time
+    private static long nextGap(long meanGapNanos) {
+        return (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos);
+    }
+
+    private static String pick(List<String> names, int[] cumulative, int total) {
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return names.get(i);
+            }
+        }
+        return names.get(names.size() - 1);
+    }
+}
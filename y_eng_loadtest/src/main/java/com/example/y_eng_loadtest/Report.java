@@ -0,0 +1,132 @@
+package com.example.y_eng_loadtest;
+
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Prints the per-endpoint table and writes the same numbers, plus the run settings, as JSON so runs
+// can be compared between releases.
+class Report {
+
+    private final LoadTestConfig config;
+    private final OpenModelDriver driver;
+    private final Scenarios scenarios;
+    // null when driving a running instance
+    private final CacheStats cacheStats;
+
+    Report(LoadTestConfig config, OpenModelDriver driver, Scenarios scenarios, CacheStats cacheStats) {
+        this.config = config;
+        this.driver = driver;
+        this.scenarios = scenarios;
+        this.cacheStats = cacheStats;
+    }
+
+    void print() {
+        double seconds = config.duration.toMillis() / 1000.0;
+        System.out.println();
+        System.out.printf("%-40s %8s %8s %8s %8s %8s %8s %9s %7s%n",
+                "Endpoint", "Count", "Req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "Max ms", "Err %");
+        for (EndpointStats stats : sortedStats()) {
+            Histogram latency = stats.snapshot();
+            System.out.printf("%-40s %8d %8.1f %8.1f %8.1f %8.1f %8.1f %9.1f %7.2f%n",
+                    stats.getEndpoint(), stats.getCount(), stats.getCount() / seconds,
+                    millis(latency, 50), millis(latency, 90), millis(latency, 95),
+                    millis(latency, 99), latency.getMaxValue() / 1000.0, errorPercent(stats));
+        }
+        System.out.println();
+        System.out.printf("%-12s %8s %8s%n", "Journey", "Started", "Aborted");
+        driver.getStarted().forEach((name, count) ->
+                System.out.printf("%-12s %8d %8d%n", name, count.sum(), driver.getAborted().get(name).sum()));
+        if (cacheStats != null) {
+            System.out.println();
+            System.out.printf("%-32s %10s %10s %10s %7s%n", "Second-level cache region", "Hits", "Misses", "Puts", "Hit %");
+            cacheStats.regions().forEach((name, row) -> System.out.printf("%-32s %10d %10d %10d %7.1f%n",
+                    name, row.get("hits"), row.get("misses"), row.get("puts"), 100 * (double) row.get("hitRatio")));
+        }
+        if (driver.getDropped() > 0) {
+            System.out.printf("%nDropped arrivals (over --max-in-flight=%d): %d. The target is saturated at this rate.%n",
+                    config.maxInFlight, driver.getDropped());
+        }
+    }
+
+    void write() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("target", config.url != null ? config.url : "embedded");
+        settings.put("rate", config.rate);
+        settings.put("warmupSeconds", config.warmup.toSeconds());
+        settings.put("durationSeconds", config.duration.toSeconds());
+        settings.put("mix", config.mix);
+        if (config.url == null) {
+            settings.put("seed", Map.of("categories", config.categories, "products", config.products,
+                    "orders", config.orders, "repairs", config.repairs, "users", config.users));
+            settings.put("backendArgs", config.backendArgs);
+        }
+
+        double seconds = config.duration.toMillis() / 1000.0;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (EndpointStats stats : sortedStats()) {
+            Histogram latency = stats.snapshot();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", stats.getEndpoint());
+            row.put("count", stats.getCount());
+            row.put("throughput", round(stats.getCount() / seconds));
+            row.put("ok", stats.getOk());
+            row.put("httpErrors", stats.getHttpErrors());
+            row.put("failures", stats.getFailures());
+            row.put("errorRate", round(errorPercent(stats) / 100));
+            row.put("meanMs", round(latency.getMean() / 1000.0));
+            row.put("p50Ms", millis(latency, 50));
+            row.put("p90Ms", millis(latency, 90));
+            row.put("p95Ms", millis(latency, 95));
+            row.put("p99Ms", millis(latency, 99));
+            row.put("p999Ms", millis(latency, 99.9));
+            row.put("maxMs", latency.getMaxValue() / 1000.0);
+            endpoints.add(row);
+        }
+
+        Map<String, Object> journeys = new LinkedHashMap<>();
+        driver.getStarted().forEach((name, count) -> journeys.put(name,
+                Map.of("started", count.sum(), "aborted", driver.getAborted().get(name).sum())));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", OffsetDateTime.now().toString());
+        report.put("settings", settings);
+        report.put("endpoints", endpoints);
+        report.put("journeys", journeys);
+        report.put("droppedArrivals", driver.getDropped());
+        if (cacheStats != null) {
+            report.put("secondLevelCache", cacheStats.regions());
+        }
+
+        File file = new File(config.report);
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+
+    private List<EndpointStats> sortedStats() {
+        List<EndpointStats> sorted = new ArrayList<>(scenarios.getStats().values());
+        sorted.sort(Comparator.comparing(EndpointStats::getEndpoint));
+        return sorted;
+    }
+
+    // Latencies are recorded in microseconds
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static double errorPercent(EndpointStats stats) {
+        long count = stats.getCount();
+        return count == 0 ? 0 : 100.0 * (stats.getHttpErrors() + stats.getFailures()) / count;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
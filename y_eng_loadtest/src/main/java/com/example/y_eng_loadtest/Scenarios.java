@@ -0,0 +1,266 @@
+package com.example.y_eng_loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// The user journeys the driver starts, one per arrival. Each step is an HTTP call recorded under a
+// templated endpoint label, so all product ids share "GET /api/products/{id}". A failed step ends
+// its journey, like a user giving up.
+class Scenarios {
+
+    static final Set<String> NAMES = Set.of("browse", "search", "cart", "checkout", "repair", "admin");
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final Map<UUID, String> tokens = new ConcurrentHashMap<>();
+
+    private List<UUID> users;
+    private List<Long> categoryIds;
+    private List<Long> productIds;
+    private String adminToken;
+
+    Scenarios(HttpClient client, String baseUrl, Duration timeout) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+    }
+
+    // Ids from the seeder (embedded mode)
+    void useData(DataSeeder.SeedData data) {
+        this.users = data.users();
+        this.categoryIds = data.categoryIds();
+        this.productIds = data.productIds();
+    }
+
+    // Ids discovered through the API (external target); users are fresh ids with no history
+    void discoverData(int userCount) throws IOException, InterruptedException {
+        JsonNode categories = json.readTree(get("/api/categories"));
+        List<Long> foundCategories = new ArrayList<>();
+        categories.forEach(c -> foundCategories.add(c.get("id").asLong()));
+        List<Long> foundProducts = new ArrayList<>();
+        for (Long categoryId : foundCategories) {
+            json.readTree(get("/api/products/category/" + categoryId)).forEach(p -> foundProducts.add(p.get("id").asLong()));
+        }
+        if (foundCategories.isEmpty() || foundProducts.isEmpty()) {
+            throw new IllegalStateException("Target at " + baseUrl + " has no categories or products");
+        }
+        List<UUID> freshUsers = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            freshUsers.add(UUID.randomUUID());
+        }
+        this.users = freshUsers;
+        this.categoryIds = foundCategories;
+        this.productIds = foundProducts;
+    }
+
+    void login() throws IOException, InterruptedException {
+        adminToken = token(UUID.randomUUID(), "admin", false);
+        if (adminToken == null) {
+            throw new IllegalStateException("Admin login failed against " + baseUrl);
+        }
+    }
+
+    Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    void run(String scenario, boolean measured) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID user = users.get(random.nextInt(users.size()));
+        switch (scenario) {
+            case "browse" -> browse(random, measured);
+            case "search" -> search(random, measured);
+            case "cart" -> cart(user, random, measured);
+            case "checkout" -> checkout(user, random, measured);
+            case "repair" -> repair(user, random, measured);
+            case "admin" -> admin(random, measured);
+            default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+        }
+    }
+
+    // Home page categories, one category listing, two product pages
+    private void browse(ThreadLocalRandom random, boolean measured) throws IOException, InterruptedException {
+        if (call(measured, "GET /api/categories", "GET", "/api/categories", null, null) == null) {
+            return;
+        }
+        Long categoryId = categoryIds.get(random.nextInt(categoryIds.size()));
+        if (call(measured, "GET /api/products/category/{id}", "GET", "/api/products/category/" + categoryId, null, null) == null) {
+            return;
+        }
+        for (int i = 0; i < 2; i++) {
+            Long productId = productIds.get(random.nextInt(productIds.size()));
+            if (call(measured, "GET /api/products/{id}", "GET", "/api/products/" + productId, null, null) == null) {
+                return;
+            }
+        }
+    }
+
+    private void search(ThreadLocalRandom random, boolean measured) throws IOException, InterruptedException {
+        String q = searchTerm(random);
+        if (call(measured, "GET /api/products/search", "GET", "/api/products/search?q=" + encode(q), null, null) == null) {
+            return;
+        }
+        Long productId = productIds.get(random.nextInt(productIds.size()));
+        call(measured, "GET /api/products/{id}", "GET", "/api/products/" + productId, null, null);
+    }
+
+    private void cart(UUID user, ThreadLocalRandom random, boolean measured) throws IOException, InterruptedException {
+        String token = token(user, "user", measured);
+        if (token == null
+                || call(measured, "GET /api/cart/user/{userId}", "GET", "/api/cart/user/" + user, null, token) == null
+                || !addToCart(user, token, random, measured)) {
+            return;
+        }
+        call(measured, "GET /api/cart/user/{userId}", "GET", "/api/cart/user/" + user, null, token);
+    }
+
+    private void checkout(UUID user, ThreadLocalRandom random, boolean measured) throws IOException, InterruptedException {
+        String token = token(user, "user", measured);
+        if (token == null || !addToCart(user, token, random, measured) || !addToCart(user, token, random, measured)
+                || call(measured, "GET /api/cart/user/{userId}", "GET", "/api/cart/user/" + user, null, token) == null) {
+            return;
+        }
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("userId", user.toString());
+        order.put("totalAmount", 10_000 + random.nextInt(500_000));
+        order.put("paymentMethod", random.nextBoolean() ? "cash_on_delivery" : "bank_transfer");
+        order.put("shippingAddress", (1 + random.nextInt(300)) + " Galle Road, Colombo");
+        order.put("customerName", "Load Test");
+        order.put("customerPhone", "0771234567");
+        if (call(measured, "POST /api/orders", "POST", "/api/orders", order, token) == null) {
+            return;
+        }
+        call(measured, "GET /api/orders/user/{userId}", "GET", "/api/orders/user/" + user, null, token);
+    }
+
+    private void repair(UUID user, ThreadLocalRandom random, boolean measured) throws IOException, InterruptedException {
+        String token = token(user, "user", measured);
+        if (token == null) {
+            return;
+        }
+        boolean pickup = random.nextInt(3) == 0;
+        String equipment = DataSeeder.EQUIPMENT[random.nextInt(DataSeeder.EQUIPMENT.length)];
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("userId", user.toString());
+        request.put("customerName", "Load Test");
+        request.put("customerPhone", "0771234567");
+        request.put("customerEmail", "loadtest@example.com");
+        request.put("equipmentType", equipment);
+        request.put("brand", DataSeeder.BRANDS[random.nextInt(DataSeeder.BRANDS.length)]);
+        request.put("issueDescription", "Does not start after rain");
+        request.put("urgency", random.nextInt(5) == 0 ? "urgent" : "normal");
+        request.put("serviceType", pickup ? "pickup" : "dropoff");
+        if (pickup) {
+            request.put("pickupAddress", "14 Temple Road, Kandy");
+        }
+        request.put("preferredDate", LocalDate.now().plusDays(1 + random.nextInt(20)).toString());
+        request.put("preferredTime", DataSeeder.TIME_WINDOWS[random.nextInt(DataSeeder.TIME_WINDOWS.length)]);
+        if (call(measured, "POST /api/repair-requests", "POST", "/api/repair-requests", request, token) == null) {
+            return;
+        }
+        call(measured, "GET /api/repair-requests/user/{userId}", "GET", "/api/repair-requests/user/" + user, null, token);
+    }
+
+    // What the admin dashboard loads on open, then one search
+    private void admin(ThreadLocalRandom random, boolean measured) throws IOException, InterruptedException {
+        if (call(measured, "GET /api/admin/dashboard", "GET", "/api/admin/dashboard", null, adminToken) == null) {
+            return;
+        }
+        call(measured, "GET /api/admin/search", "GET", "/api/admin/search?q=" + encode(searchTerm(random)), null, adminToken);
+    }
+
+    private boolean addToCart(UUID user, String token, ThreadLocalRandom random, boolean measured) throws IOException, InterruptedException {
+        Map<String, Object> body = Map.of(
+                "userId", user.toString(),
+                "productId", productIds.get(random.nextInt(productIds.size())),
+                "quantity", 1 + random.nextInt(2));
+        return call(measured, "POST /api/cart", "POST", "/api/cart", body, token) != null;
+    }
+
+    // One login per user for the whole run, like a browser keeping its token
+    private String token(UUID user, String role, boolean measured) throws IOException, InterruptedException {
+        String cached = tokens.get(user);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, Object> body = Map.of("userId", user.toString(), "email", user + "@example.com", "role", role);
+        String response = call(measured, "POST /api/auth/login", "POST", "/api/auth/login", body, null);
+        if (response == null) {
+            return null;
+        }
+        String token = json.readTree(response).get("token").asString();
+        tokens.put(user, token);
+        return token;
+    }
+
+    private static String searchTerm(ThreadLocalRandom random) {
+        return random.nextBoolean()
+                ? DataSeeder.EQUIPMENT[random.nextInt(DataSeeder.EQUIPMENT.length)]
+                : DataSeeder.BRANDS[random.nextInt(DataSeeder.BRANDS.length)];
+    }
+
+    // Returns the response body, or null when the call failed (non-2xx or no response)
+    private String call(boolean measured, String label, String method, String path, Object body, String token)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        int status;
+        String responseBody = null;
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            responseBody = response.body();
+        } catch (IOException e) {
+            status = -1;
+        }
+        if (measured) {
+            stats.computeIfAbsent(label, EndpointStats::new).record(status, System.nanoTime() - start);
+        }
+        return status >= 200 && status < 300 ? responseBody : null;
+    }
+
+    private String get(String path) throws IOException, InterruptedException {
+        String body = call(false, "GET " + path, "GET", path, null, null);
+        if (body == null) {
+            throw new IOException("GET " + path + " failed");
+        }
+        return body;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}